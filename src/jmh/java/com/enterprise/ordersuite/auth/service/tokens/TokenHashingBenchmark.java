@@ -0,0 +1,23 @@
+package com.enterprise.ordersuite.auth.service.tokens;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class TokenHashingBenchmark {
+
+    private String refreshToken;
+
+    @Setup
+    public void setUp() {
+        refreshToken = new RefreshTokenGenerator().generate();
+    }
+
+    @Benchmark
+    public byte[] sha256() {
+        return TokenHashing.sha256(refreshToken);
+    }
+}
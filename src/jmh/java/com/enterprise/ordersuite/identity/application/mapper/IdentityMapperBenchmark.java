@@ -0,0 +1,64 @@
+package com.enterprise.ordersuite.identity.application.mapper;
+
+import com.enterprise.ordersuite.identity.api.dto.IdentityAuditEventResponse;
+import com.enterprise.ordersuite.identity.api.dto.UserSummaryResponse;
+import com.enterprise.ordersuite.identity.domain.IdentityAuditEvent;
+import com.enterprise.ordersuite.identity.domain.IdentityAuditEventType;
+import com.enterprise.ordersuite.identity.domain.Role;
+import com.enterprise.ordersuite.identity.domain.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row mapping cost of the paged admin listings (/admin/identity-audit, /users).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class IdentityMapperBenchmark {
+
+    private IdentityAuditMapper auditMapper;
+    private UserMapper userMapper;
+
+    private IdentityAuditEvent auditEvent;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        auditMapper = new IdentityAuditMapper(new ObjectMapper());
+        userMapper = new UserMapper();
+
+        auditEvent = new IdentityAuditEvent(
+                IdentityAuditEventType.USER_ROLE_CHANGED,
+                1L,
+                2L,
+                "{\"role\":{\"from\":\"USER\",\"to\":\"ADMIN\"}}"
+        );
+        auditEvent.setId(10L);
+        auditEvent.setCreatedAt(LocalDateTime.now());
+
+        Role role = new Role();
+        role.setName("USER");
+
+        user = new User();
+        user.setId(2L);
+        user.setEmail("bench@example.com");
+        user.setRole(role);
+        user.setActive(true);
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+    }
+
+    @Benchmark
+    public IdentityAuditEventResponse auditToResponse() {
+        return auditMapper.toResponse(auditEvent);
+    }
+
+    @Benchmark
+    public UserSummaryResponse userToSummary() {
+        return userMapper.toSummary(user);
+    }
+}
@@ -0,0 +1,62 @@
+package com.enterprise.ordersuite.security.jwt;
+
+import com.enterprise.ordersuite.identity.domain.Role;
+import com.enterprise.ordersuite.identity.domain.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of issuing and verifying access tokens.
+ * verifyCold disables the verified-token cache, so every call does the full parse + HMAC.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private JwtService cachingService;
+    private JwtService nonCachingService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        Role role = new Role();
+        role.setName("USER");
+
+        user = new User();
+        user.setId(1L);
+        user.setEmail("bench@example.com");
+        user.setRole(role);
+
+        cachingService = new JwtService(properties(10_000), Clock.systemUTC());
+        nonCachingService = new JwtService(properties(0), Clock.systemUTC());
+        token = cachingService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generate() {
+        return cachingService.generateToken(user);
+    }
+
+    @Benchmark
+    public Object verifyCold() {
+        return nonCachingService.verify(token);
+    }
+
+    @Benchmark
+    public Object verifyHot() {
+        return cachingService.verify(token);
+    }
+
+    private static JwtProperties properties(int cacheEntries) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(Base64.getEncoder().encodeToString("benchmark-secret-benchmark-secret-0123".getBytes()));
+        properties.setExpiration(3_600_000);
+        properties.setVerifiedCacheMaxEntries(cacheEntries);
+        return properties;
+    }
+}
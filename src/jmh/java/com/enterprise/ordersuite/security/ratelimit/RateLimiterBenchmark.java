@@ -0,0 +1,91 @@
+package com.enterprise.ordersuite.security.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Clock;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RateLimiter.check under contention.
+
+ * - hot: every thread hits the same key (shared NAT / corporate egress IP)
+ * - cold: keys drawn from a large space, mostly uncontended
+ *
+ * Run all implementations side by side:
+ * ./gradlew jmh -PjmhIncludes=RateLimiterBenchmark
+ *
+ * Only run so far on a single CPU, where SYNCHRONIZED and ATOMIC are level and hotKey_8/64threads
+ * measure time slicing, not contention. Run it on multi-core hardware before making ATOMIC the default.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+    private static final int COLD_KEY_SPACE = 100_000;
+
+    @Param({"SYNCHRONIZED", "ATOMIC", "GCRA", "MAPPED"})
+    private RateLimitProperties.Implementation implementation;
+
+    private RateLimiter limiter;
+    private String[] coldKeys;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Limit high enough that the benchmark measures bookkeeping, not denials
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setImplementation(implementation);
+        properties.setMappedDirectory(Files.createTempDirectory("ratelimit-benchmark"));
+        limiter = new RateLimiterFactory(properties, Clock.systemUTC(), new SimpleMeterRegistry())
+                .create("benchmark", Integer.MAX_VALUE, 10);
+
+        coldKeys = new String[COLD_KEY_SPACE];
+        for (int i = 0; i < COLD_KEY_SPACE; i++) {
+            coldKeys[i] = "REFRESH:ip:10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public RateLimitDecision hotKey_1thread() {
+        return limiter.check("REFRESH:ip:10.0.0.1");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public RateLimitDecision hotKey_8threads() {
+        return limiter.check("REFRESH:ip:10.0.0.1");
+    }
+
+    @Benchmark
+    @Threads(64)
+    public RateLimitDecision hotKey_64threads() {
+        return limiter.check("REFRESH:ip:10.0.0.1");
+    }
+
+    @Benchmark
+    @Threads(1)
+    public RateLimitDecision coldKeys_1thread() {
+        return limiter.check(randomColdKey());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public RateLimitDecision coldKeys_8threads() {
+        return limiter.check(randomColdKey());
+    }
+
+    @Benchmark
+    @Threads(64)
+    public RateLimitDecision coldKeys_64threads() {
+        return limiter.check(randomColdKey());
+    }
+
+    private String randomColdKey() {
+        return coldKeys[ThreadLocalRandom.current().nextInt(COLD_KEY_SPACE)];
+    }
+}
@@ -3,6 +3,8 @@ package com.enterprise.ordersuite.api.errors;
 import com.enterprise.ordersuite.auth.service.exceptions.InvalidCredentialsException;
 import com.enterprise.ordersuite.auth.service.exceptions.InvalidPasswordResetTokenException;
 import com.enterprise.ordersuite.auth.service.exceptions.InvalidRefreshTokenException;
+import com.enterprise.ordersuite.security.password.PasswordHashingRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -65,6 +67,20 @@ public class AuthExceptionHandler {
         );
     }
 
+    // -------- Load shedding --------
+
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<ApiErrorResponse> handlePasswordHashingRejected(PasswordHashingRejectedException ex) {
+        ApiErrorResponse body = new ApiErrorResponse(
+                "SERVICE_BUSY",
+                "Too many concurrent requests. Please try again later.",
+                Instant.now(clock)
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(body);
+    }
+
     // -------- Validation / bad input --------
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
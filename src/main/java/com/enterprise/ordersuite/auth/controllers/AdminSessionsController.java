@@ -0,0 +1,37 @@
+package com.enterprise.ordersuite.auth.controllers;
+
+import com.enterprise.ordersuite.auth.dtos.SessionResponse;
+import com.enterprise.ordersuite.auth.dtos.SessionsRevokedResponse;
+import com.enterprise.ordersuite.auth.service.SessionRegistry;
+import com.enterprise.ordersuite.identity.application.UserAdminService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Admin sessions", description = "Active refresh token sessions per user")
+public class AdminSessionsController {
+
+    private final SessionRegistry sessionRegistry;
+    private final UserAdminService userAdminService;
+
+    @Operation(summary = "List a user's active sessions")
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/admin/users/{id}/sessions")
+    public ResponseEntity<List<SessionResponse>> list(@PathVariable("id") long id) {
+        return ResponseEntity.ok(sessionRegistry.activeSessions(id));
+    }
+
+    @Operation(summary = "Revoke all of a user's active sessions")
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/admin/users/{id}/sessions")
+    public ResponseEntity<SessionsRevokedResponse> revokeAll(@PathVariable("id") long id) {
+        return ResponseEntity.ok(userAdminService.revokeSessions(id));
+    }
+}
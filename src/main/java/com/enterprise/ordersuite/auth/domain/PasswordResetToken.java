@@ -22,10 +22,10 @@ public class PasswordResetToken {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    // SHA-256 hex (64 chars)
+    // Raw SHA-256 (32 bytes)
     @Setter
-    @Column(name = "token_hash", nullable = false, length = 64, unique = true)
-    private String tokenHash;
+    @Column(name = "token_hash", nullable = false, length = 32, unique = true)
+    private byte[] tokenHash;
 
     @Setter
     @Column(name = "expires_at", nullable = false)
@@ -40,7 +40,7 @@ public class PasswordResetToken {
 
     public PasswordResetToken() {}
 
-    public PasswordResetToken(User user, String tokenHash, LocalDateTime expiresAt) {
+    public PasswordResetToken(User user, byte[] tokenHash, LocalDateTime expiresAt) {
         this.user = user;
         this.tokenHash = tokenHash;
         this.expiresAt = expiresAt;
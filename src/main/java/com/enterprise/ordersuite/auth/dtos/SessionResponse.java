@@ -0,0 +1,7 @@
+package com.enterprise.ordersuite.auth.dtos;
+
+import java.time.LocalDateTime;
+
+public record SessionResponse(Long id, LocalDateTime createdAt, LocalDateTime expiresAt) {
+
+}
@@ -0,0 +1,5 @@
+package com.enterprise.ordersuite.auth.dtos;
+
+public record SessionsRevokedResponse(Long userId, int revoked) {
+
+}
@@ -2,9 +2,32 @@ package com.enterprise.ordersuite.auth.persistence;
 
 import com.enterprise.ordersuite.auth.domain.PasswordResetToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
-    Optional<PasswordResetToken> findByTokenHash(String tokenHash);
+    Optional<PasswordResetToken> findByTokenHash(byte[] tokenHash);
+
+    /**
+     * Issues the user's outstanding token, or supersedes it (new hash and expiry) when it was issued
+     * before coalesceBefore or has expired. Returns 0 when a token issued within the window is
+     * still outstanding: that request is coalesced and nothing is sent.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO password_reset_tokens (user_id, token_hash, expires_at, created_at)
+            VALUES (:userId, :tokenHash, :expiresAt, :now)
+            ON CONFLICT (user_id) WHERE used_at IS NULL
+            DO UPDATE SET token_hash = EXCLUDED.token_hash,
+                          expires_at = EXCLUDED.expires_at,
+                          created_at = EXCLUDED.created_at
+            WHERE password_reset_tokens.created_at <= :coalesceBefore
+               OR password_reset_tokens.expires_at <= :now
+            """, nativeQuery = true)
+    int upsertOutstanding(Long userId, byte[] tokenHash, LocalDateTime expiresAt, LocalDateTime now, LocalDateTime coalesceBefore);
 }
@@ -0,0 +1,84 @@
+package com.enterprise.ordersuite.auth.persistence;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Daily partitions of refresh_tokens by expires_at, named refresh_tokens_pYYYYMMDD.
+ * Only used once the table has been converted with db/partitioning/refresh_tokens_partition_by_expires_at.sql.
+ */
+@Component
+public class RefreshTokenPartitionManager {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final Pattern PARTITION_NAME = Pattern.compile("refresh_tokens_p(\\d{8})");
+
+    // DDL waits at most this long for lookups holding the parent table, then the run moves on
+    private static final String LOCK_TIMEOUT = "SET LOCAL lock_timeout = '2s'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public RefreshTokenPartitionManager(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isPartitioned() {
+        Boolean partitioned = jdbcTemplate.queryForObject("""
+                SELECT EXISTS (
+                    SELECT 1 FROM pg_partitioned_table
+                    WHERE partrelid = to_regclass('refresh_tokens')
+                )
+                """, Boolean.class);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    // Days with a partition, the default partition is not included
+    public List<LocalDate> partitionDays() {
+        List<String> names = jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = to_regclass('refresh_tokens')
+                """, String.class);
+
+        return names.stream()
+                .map(PARTITION_NAME::matcher)
+                .filter(Matcher::matches)
+                .map(m -> LocalDate.parse(m.group(1), SUFFIX))
+                .sorted()
+                .toList();
+    }
+
+    // Holds rows with expires_at in [day, day + 1)
+    public void createPartition(LocalDate day) {
+        String sql = "CREATE TABLE IF NOT EXISTS " + partitionName(day)
+                + " PARTITION OF refresh_tokens FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')";
+        inShortLockTransaction(sql);
+    }
+
+    public void dropPartition(LocalDate day) {
+        inShortLockTransaction("DROP TABLE IF EXISTS " + partitionName(day));
+    }
+
+    static String partitionName(LocalDate day) {
+        return "refresh_tokens_p" + day.format(SUFFIX);
+    }
+
+    private void inShortLockTransaction(String ddl) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute(LOCK_TIMEOUT);
+            jdbcTemplate.execute(Objects.requireNonNull(ddl));
+        });
+    }
+}
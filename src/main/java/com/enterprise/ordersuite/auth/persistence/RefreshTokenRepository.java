@@ -1,33 +1,120 @@
 package com.enterprise.ordersuite.auth.persistence;
 
 import com.enterprise.ordersuite.auth.domain.RefreshToken;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long>, RefreshTokenRotation {
+
+    Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
 
-    Optional<RefreshToken> findByTokenHash(String tokenHash);
     @Modifying
     @Transactional
     @Query("""
-            delete from RefreshToken rt
-            where rt.expiresAt < :now
+            update RefreshToken rt
+            set rt.revokedAt = :now
+            where rt.id = :id and rt.revokedAt is null
+            """)
+    int revokeById(Long id, LocalDateTime now);
+
+    // Refresh token filter: full rebuild, then catch-up by created_at for tokens issued on other nodes
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("""
+            select rt.id as id, rt.tokenHash as tokenHash
+            from RefreshToken rt
+            where rt.usedAt is null
+              and rt.revokedAt is null
+              and rt.expiresAt > :now
+            """)
+    Stream<TokenHashView> streamActiveTokenHashes(LocalDateTime now);
+
+    // Served by idx_refresh_tokens_active_created
+    @Query("""
+            select rt.id as id, rt.tokenHash as tokenHash
+            from RefreshToken rt
+            where rt.createdAt > :createdAfter
+              and rt.usedAt is null
+              and rt.revokedAt is null
+              and rt.expiresAt > :now
+            """)
+    List<TokenHashView> findActiveTokenHashesCreatedAfter(LocalDateTime createdAfter, LocalDateTime now);
+
+    // Both served by idx_refresh_tokens_active_user
+
+    @Query("""
+            select rt.id as id, rt.createdAt as createdAt, rt.expiresAt as expiresAt
+            from RefreshToken rt
+            where rt.user.id = :userId
+              and rt.usedAt is null
+              and rt.revokedAt is null
+              and rt.expiresAt > :now
+            order by rt.createdAt desc
             """)
-    int deleteExpired(LocalDateTime now);
+    List<ActiveSessionView> findActiveSessions(Long userId, LocalDateTime now);
 
     @Modifying
     @Transactional
     @Query("""
-            delete from RefreshToken rt
-            where (rt.usedAt is not null and rt.usedAt < :cutoff)
-               or (rt.revokedAt is not null and rt.revokedAt < :cutoff)
+            update RefreshToken rt
+            set rt.revokedAt = :now
+            where rt.user.id = :userId
+              and rt.usedAt is null
+              and rt.revokedAt is null
+              and rt.expiresAt > :now
             """)
-    int deleteUsedOrRevokedBefore(LocalDateTime cutoff);
+    int revokeAllActiveForUser(Long userId, LocalDateTime now);
+
+    // Chunked deletes: each call is one short transaction touching at most :limit rows
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM refresh_tokens
+            WHERE id IN (
+                SELECT id FROM refresh_tokens
+                WHERE expires_at < :now
+                LIMIT :limit
+            )
+            """, nativeQuery = true)
+    int deleteExpiredChunk(LocalDateTime now, int limit);
+
+    // Same predicate as idx_refresh_tokens_retired_at
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM refresh_tokens
+            WHERE id IN (
+                SELECT id FROM refresh_tokens
+                WHERE (used_at IS NOT NULL OR revoked_at IS NOT NULL)
+                  AND LEAST(used_at, revoked_at) < :cutoff
+                LIMIT :limit
+            )
+            """, nativeQuery = true)
+    int deleteUsedOrRevokedChunk(LocalDateTime cutoff, int limit);
+
+    interface TokenHashView {
+        Long getId();
+
+        byte[] getTokenHash();
+    }
+
+    interface ActiveSessionView {
+        Long getId();
+
+        LocalDateTime getCreatedAt();
+
+        LocalDateTime getExpiresAt();
+    }
 
 }
@@ -0,0 +1,15 @@
+package com.enterprise.ordersuite.auth.persistence;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Refresh token rotation as a single conditional UPDATE, see {@link RefreshTokenRotationImpl}.
+ */
+public interface RefreshTokenRotation {
+
+    // Marks the token used if it is still active, empty if it was unknown, used, revoked or expired
+    Optional<ConsumedRefreshToken> consumeActive(byte[] tokenHash, LocalDateTime now);
+
+    record ConsumedRefreshToken(long id, long userId) {}
+}
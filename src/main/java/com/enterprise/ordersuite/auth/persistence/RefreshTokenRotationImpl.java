@@ -0,0 +1,43 @@
+package com.enterprise.ordersuite.auth.persistence;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Plain JDBC because the statement is an UPDATE that returns rows.
+ * Concurrent refreshes with the same token queue on the row lock; under READ COMMITTED the
+ * losers re-check the WHERE clause against the committed row, see used_at set and update nothing.
+ */
+class RefreshTokenRotationImpl implements RefreshTokenRotation {
+
+    private static final String CONSUME_ACTIVE = """
+            UPDATE refresh_tokens
+            SET used_at = ?, updated_at = ?
+            WHERE token_hash = ?
+              AND used_at IS NULL
+              AND revoked_at IS NULL
+              AND expires_at > ?
+            RETURNING id, user_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    RefreshTokenRotationImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public Optional<ConsumedRefreshToken> consumeActive(byte[] tokenHash, LocalDateTime now) {
+        List<ConsumedRefreshToken> consumed = jdbcTemplate.query(
+                CONSUME_ACTIVE,
+                (rs, rowNum) -> new ConsumedRefreshToken(rs.getLong("id"), rs.getLong("user_id")),
+                now, now, tokenHash, now
+        );
+        return consumed.stream().findFirst();
+    }
+}
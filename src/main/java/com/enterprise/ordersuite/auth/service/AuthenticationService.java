@@ -6,6 +6,7 @@ import com.enterprise.ordersuite.auth.dtos.LogoutRequest;
 import com.enterprise.ordersuite.auth.dtos.RefreshRequest;
 import com.enterprise.ordersuite.auth.dtos.RegisterRequest;
 import com.enterprise.ordersuite.auth.domain.RefreshToken;
+import com.enterprise.ordersuite.auth.persistence.RefreshTokenRotation.ConsumedRefreshToken;
 import com.enterprise.ordersuite.auth.service.exceptions.InvalidCredentialsException;
 import com.enterprise.ordersuite.auth.service.exceptions.InvalidRefreshTokenException;
 import com.enterprise.ordersuite.identity.domain.Role;
@@ -13,10 +14,14 @@ import com.enterprise.ordersuite.identity.domain.User;
 import com.enterprise.ordersuite.identity.persistence.RoleRepository;
 import com.enterprise.ordersuite.identity.persistence.UserRepository;
 import com.enterprise.ordersuite.security.jwt.JwtService;
+import com.enterprise.ordersuite.security.password.PasswordHashingRejectedException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuthenticationService {
@@ -29,7 +34,7 @@ public class AuthenticationService {
 
     public AuthResponse register(RegisterRequest request) {
 
-        if (userRepository.existsByEmail(request.getEmail())) {
+        if (userRepository.existsByEmailIgnoreCase(request.getEmail())) {
             throw new RuntimeException("Email already in use.");
         }
 
@@ -54,7 +59,7 @@ public class AuthenticationService {
 
     public AuthResponse authenticate(AuthRequest request) {
 
-        User user = userRepository.findByEmail(request.getEmail())
+        User user = userRepository.findByEmailIgnoreCase(request.getEmail())
                 .orElseThrow(InvalidCredentialsException::new);
 
         // Do not allow inactive users to login, and do not reveal that the account is disabled
@@ -66,29 +71,52 @@ public class AuthenticationService {
             throw new InvalidCredentialsException();
         }
 
+        rehashIfCostChanged(user, request.getPassword());
+
         String accessToken = jwtService.generateToken(user);
         var issuedRefresh = refreshTokenService.issueFor(user);
 
         return new AuthResponse(accessToken, issuedRefresh.rawToken());
     }
 
+    /**
+     * The raw password is only available at login, so this is where stored hashes
+     * move to the cluster's BCrypt cost, up or down.
+     */
+    private void rehashIfCostChanged(User user, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+        try {
+            user.setPassword(passwordEncoder.encode(rawPassword));
+            userRepository.save(user);
+        } catch (PasswordHashingRejectedException ex) {
+            // Hashing pool is saturated, keep the old hash and retry on the next login
+            log.debug("Skipped password rehash for userId={}, hashing pool saturated", user.getId());
+        }
+    }
+
+    /**
+     * One transaction: conditional UPDATE of the old token (returns its owner), user with role, insert of the new token.
+     * Kept on failure so a refresh by a deactivated user still revokes the token.
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
     public AuthResponse refresh(RefreshRequest request) {
-        RefreshToken existing = refreshTokenService.getActiveTokenOrNull(request.refreshToken());
-        if (existing == null) {
+        // rotation: old token becomes unusable, concurrent reuse loses here
+        ConsumedRefreshToken consumed = refreshTokenService.consumeOrNull(request.refreshToken());
+        if (consumed == null) {
             throw new InvalidRefreshTokenException();
         }
 
-        User user = existing.getUser();
+        User user = userRepository.findByIdFetchingRole(consumed.userId())
+                .orElseThrow(InvalidRefreshTokenException::new);
 
         // If user is inactive, block refresh and revoke the token as a safety measure
         if (!Boolean.TRUE.equals(user.getActive())) {
-            refreshTokenService.revoke(existing);
+            refreshTokenService.revoke(consumed);
             throw new InvalidRefreshTokenException();
         }
 
-        // rotation: old token becomes unusable
-        refreshTokenService.markUsed(existing);
-
         String newAccessToken = jwtService.generateToken(user);
         var newRefresh = refreshTokenService.issueFor(user);
 
@@ -96,7 +124,7 @@ public class AuthenticationService {
     }
 
     public void logout(LogoutRequest request) {
-        String hash = refreshTokenService.hash(request.refreshToken());
+        byte[] hash = refreshTokenService.hash(request.refreshToken());
         RefreshToken token = refreshTokenService.findByHashOrNull(hash);
 
         if (token == null) {
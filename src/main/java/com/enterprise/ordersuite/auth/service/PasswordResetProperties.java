@@ -0,0 +1,24 @@
+package com.enterprise.ordersuite.auth.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "auth.password-reset")
+public class PasswordResetProperties {
+
+    // Repeated requests for one account within this window reuse the outstanding token and send nothing.
+    // 0 supersedes the token and sends an email on every request
+    private Duration coalesceWindow = Duration.ofMinutes(2);
+
+    // Tokens are deleted by the reaper this long after they expired, used ones included
+    private Duration reaperRetention = Duration.ofDays(1);
+
+    private int reaperBatchSize = 1_000;
+}
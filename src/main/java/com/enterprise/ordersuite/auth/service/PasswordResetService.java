@@ -3,21 +3,23 @@ package com.enterprise.ordersuite.auth.service;
 import com.enterprise.ordersuite.auth.domain.PasswordResetToken;
 import com.enterprise.ordersuite.auth.persistence.PasswordResetTokenRepository;
 import com.enterprise.ordersuite.auth.service.exceptions.InvalidPasswordResetTokenException;
+import com.enterprise.ordersuite.auth.service.tokens.TokenHashing;
 import com.enterprise.ordersuite.identity.domain.User;
+import com.enterprise.ordersuite.identity.domain.UserSecurityChangedEvent;
 import com.enterprise.ordersuite.identity.persistence.UserRepository;
-import com.enterprise.ordersuite.notifications.service.EmailService;
+import com.enterprise.ordersuite.notifications.service.NotificationOutbox;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.security.SecureRandom;
 import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.Base64;
-import java.util.HexFormat;
 import java.util.Optional;
 
 @Service
@@ -31,27 +33,40 @@ public class PasswordResetService {
     private final PasswordEncoder passwordEncoder;
     private final Clock clock;
 
-    private final EmailService emailService;
+    private final NotificationOutbox notificationOutbox;
     private final PasswordResetLinkBuilder linkBuilder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PasswordResetProperties properties;
+
+    private final Counter issuedCounter;
+    private final Counter coalescedCounter;
 
     public PasswordResetService(
             UserRepository userRepository,
             PasswordResetTokenRepository passwordResetTokenRepository,
             PasswordEncoder passwordEncoder,
             Clock clock,
-            EmailService emailService,
-            PasswordResetLinkBuilder linkBuilder
+            NotificationOutbox notificationOutbox,
+            PasswordResetLinkBuilder linkBuilder,
+            ApplicationEventPublisher eventPublisher,
+            PasswordResetProperties properties,
+            MeterRegistry meterRegistry
     ) {
         this.userRepository = userRepository;
         this.passwordResetTokenRepository = passwordResetTokenRepository;
         this.passwordEncoder = passwordEncoder;
         this.clock = clock;
-        this.emailService = emailService;
+        this.notificationOutbox = notificationOutbox;
         this.linkBuilder = linkBuilder;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+
+        this.issuedCounter = requestCounter(meterRegistry, "issued");
+        this.coalescedCounter = requestCounter(meterRegistry, "coalesced");
     }
 
     /**
-     * Returns Optional raw token for existing users.
+     * Returns Optional raw token for existing users, empty when coalesced into a recent request.
      * Caller must always respond success to avoid email enumeration.
      */
     @Transactional
@@ -69,24 +84,37 @@ public class PasswordResetService {
         }
 
         String rawToken = generateRawToken();
-        String tokenHash = sha256Hex(rawToken);
+        byte[] tokenHash = TokenHashing.sha256(rawToken);
 
         LocalDateTime now = LocalDateTime.now(clock);
         LocalDateTime expiresAt = now.plusMinutes(EXPIRY_MINUTES);
 
-        PasswordResetToken entity = new PasswordResetToken(user, tokenHash, expiresAt);
-        passwordResetTokenRepository.save(entity);
+        // One row per account: a repeat within the window keeps the token already on its way, the caller sees no difference
+        int issued = passwordResetTokenRepository.upsertOutstanding(
+                user.getId(),
+                tokenHash,
+                expiresAt,
+                now,
+                now.minus(properties.getCoalesceWindow())
+        );
+        if (issued == 0) {
+            coalescedCounter.increment();
+            return Optional.empty();
+        }
+        issuedCounter.increment();
 
+        // Sent after commit by the outbox dispatcher, this request does not wait for the email provider
         String resetUrl = linkBuilder.build(rawToken);
-        emailService.sendPasswordResetEmail(user.getEmail(), resetUrl);
+        notificationOutbox.enqueuePasswordResetEmail(user.getEmail(), resetUrl, expiresAt);
 
         return Optional.of(rawToken);
     }
 
+    // False when nothing was sent: user not found, inactive, or coalesced into a link already on its way
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void sendPasswordSetupForNewUser(String email) {
+    public boolean sendPasswordSetupForNewUser(String email) {
         // Reuse existing secure behavior, still silent no-op if user not found or inactive.
-        requestPasswordReset(email);
+        return requestPasswordReset(email).isPresent();
     }
 
     @Transactional
@@ -99,7 +127,7 @@ public class PasswordResetService {
             throw new IllegalArgumentException("New password must not be blank");
         }
 
-        String tokenHash = sha256Hex(rawToken);
+        byte[] tokenHash = TokenHashing.sha256(rawToken);
 
         PasswordResetToken prt = passwordResetTokenRepository.findByTokenHash(tokenHash)
                 .orElseThrow(InvalidPasswordResetTokenException::generic);
@@ -125,6 +153,19 @@ public class PasswordResetService {
 
         prt.setUsedAt(now);
         passwordResetTokenRepository.save(prt);
+
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(
+                user.getId(),
+                user.getEmail(),
+                UserSecurityChangedEvent.Change.PASSWORD_RESET
+        ));
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("auth.password_reset.requests")
+                .tag("outcome", outcome)
+                .description("Password reset requests for active accounts, coalesced ones send no email")
+                .register(meterRegistry);
     }
 
     private String generateRawToken() {
@@ -132,14 +173,4 @@ public class PasswordResetService {
         new SecureRandom().nextBytes(bytes);
         return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
     }
-
-    private String sha256Hex(String rawToken) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hashed = digest.digest(rawToken.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(hashed);
-        } catch (Exception e) {
-            throw new IllegalStateException("Unable to hash reset token", e);
-        }
-    }
 }
\ No newline at end of file
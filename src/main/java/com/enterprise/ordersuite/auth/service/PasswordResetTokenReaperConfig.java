@@ -0,0 +1,20 @@
+package com.enterprise.ordersuite.auth.service;
+
+import com.enterprise.ordersuite.common.reaper.ExpiringTable;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PasswordResetTokenReaperConfig {
+
+    // Every token expires within minutes of being issued, so expires_at alone covers used and unused rows
+    @Bean
+    public ExpiringTable passwordResetTokensExpiringTable(PasswordResetProperties properties) {
+        return new ExpiringTable(
+                "password_reset_tokens",
+                "expires_at",
+                properties.getReaperRetention(),
+                properties.getReaperBatchSize()
+        );
+    }
+}
@@ -0,0 +1,36 @@
+package com.enterprise.ordersuite.auth.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "auth.refresh-token-cleanup")
+public class RefreshTokenCleanupProperties {
+
+    private Mode mode = Mode.CHUNKED;
+
+    // Rows per DELETE, each chunk commits on its own
+    private int chunkSize = 5_000;
+
+    // A run stops after the chunk that crosses the budget, the next run continues
+    private Duration timeBudget = Duration.ofMinutes(5);
+
+    // keep used/revoked tokens for troubleshooting/audit
+    private Duration usedRevokedRetention = Duration.ofDays(7);
+
+    // PARTITION only: daily partitions created ahead, must exceed the refresh token TTL
+    private int partitionsAheadDays = 21;
+
+    public enum Mode {
+        // chunked DELETEs only
+        CHUNKED,
+        // refresh_tokens is range-partitioned by expires_at (db/partitioning), expired days are dropped whole
+        PARTITION
+    }
+}
@@ -1,5 +1,6 @@
 package com.enterprise.ordersuite.auth.service;
 
+import com.enterprise.ordersuite.common.jobs.ClusterJobRunner;
 import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -8,11 +9,17 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class RefreshTokenCleanupScheduler {
 
+    static final String JOB_NAME = "refresh-token-cleanup";
+
     private final RefreshTokenCleanupService cleanupService;
+    private final ClusterJobRunner jobRunner;
 
-    // every day at 03:15
-    @Scheduled(cron = "0 15 3 * * *")
+    // every day at 03:15 by default, on one node only
+    @Scheduled(cron = "${auth.refresh-token-cleanup.cron:0 15 3 * * *}")
     public void cleanupRefreshTokens() {
-        cleanupService.cleanupNow();
+        jobRunner.run(JOB_NAME, () -> {
+            RefreshTokenCleanupService.CleanupResult result = cleanupService.cleanupNow();
+            return (long) result.expiredDeleted() + result.usedRevokedDeleted();
+        });
     }
 }
@@ -1,32 +1,151 @@
 package com.enterprise.ordersuite.auth.service;
 
+import com.enterprise.ordersuite.auth.persistence.RefreshTokenPartitionManager;
 import com.enterprise.ordersuite.auth.persistence.RefreshTokenRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.Clock;
-import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.function.IntUnaryOperator;
 
+/**
+ * Deletes expired and retired refresh tokens in chunks of chunk-size rows, each in its own short transaction,
+ * so a run never holds a long transaction or produces one huge burst of WAL and dead tuples.
+ * A run stops once time-budget is spent; whatever is left is picked up by the next run.
+ * In PARTITION mode expired days are dropped as whole partitions first.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class RefreshTokenCleanupService {
 
+    private static final String METRIC_PREFIX = "auth.refresh_tokens.cleanup";
+
     private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenPartitionManager partitionManager;
+    private final RefreshTokenCleanupProperties properties;
     private final Clock clock;
 
-    // keep used/revoked tokens for 7 days (for troubleshooting/audit)
-    private final Duration usedRevokedRetention = Duration.ofDays(7);
+    private final Counter expiredDeleted;
+    private final Counter usedRevokedDeleted;
+    private final Counter chunks;
+    private final Counter partitionsDropped;
+    private final MeterRegistry meterRegistry;
+
+    public RefreshTokenCleanupService(RefreshTokenRepository refreshTokenRepository,
+                                      RefreshTokenPartitionManager partitionManager,
+                                      RefreshTokenCleanupProperties properties,
+                                      Clock clock,
+                                      MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.partitionManager = partitionManager;
+        this.properties = properties;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+
+        // Incremented per chunk, so a long run shows progress while it is still going
+        this.expiredDeleted = deletedCounter("expired");
+        this.usedRevokedDeleted = deletedCounter("used_revoked");
+        this.chunks = Counter.builder(METRIC_PREFIX + ".chunks")
+                .description("DELETE chunks executed")
+                .register(meterRegistry);
+        this.partitionsDropped = Counter.builder(METRIC_PREFIX + ".partitions.dropped")
+                .description("Expired refresh_tokens partitions dropped")
+                .register(meterRegistry);
+    }
 
     public CleanupResult cleanupNow() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Instant deadline = clock.instant().plus(properties.getTimeBudget());
         LocalDateTime now = LocalDateTime.now(clock);
-        LocalDateTime cutoff = now.minus(usedRevokedRetention);
+        LocalDateTime cutoff = now.minus(properties.getUsedRevokedRetention());
+
+        int dropped = properties.getMode() == RefreshTokenCleanupProperties.Mode.PARTITION
+                ? maintainPartitions(now.toLocalDate())
+                : 0;
 
-        int expiredDeleted = refreshTokenRepository.deleteExpired(now);
-        int usedRevokedDeleted = refreshTokenRepository.deleteUsedOrRevokedBefore(cutoff);
+        Progress expired = deleteInChunks(limit -> refreshTokenRepository.deleteExpiredChunk(now, limit), expiredDeleted, deadline);
+        Progress usedRevoked = expired.completed()
+                ? deleteInChunks(limit -> refreshTokenRepository.deleteUsedOrRevokedChunk(cutoff, limit), usedRevokedDeleted, deadline)
+                : new Progress(0, false);
 
-        return new CleanupResult(expiredDeleted, usedRevokedDeleted);
+        boolean completed = expired.completed() && usedRevoked.completed();
+        sample.stop(Timer.builder(METRIC_PREFIX + ".duration")
+                .tag("outcome", completed ? "completed" : "budget_exhausted")
+                .description("Refresh token cleanup runs")
+                .register(meterRegistry));
+
+        if (!completed) {
+            log.warn("Refresh token cleanup stopped after its {} budget, the next run continues", properties.getTimeBudget());
+        }
+        return new CleanupResult(expired.deleted(), usedRevoked.deleted(), dropped, completed);
     }
 
-    public record CleanupResult(int expiredDeleted, int usedRevokedDeleted) {}
+    // Stops on a short chunk (nothing left) or once the deadline has passed
+    private Progress deleteInChunks(IntUnaryOperator deleteChunk, Counter deletedCounter, Instant deadline) {
+        int chunkSize = properties.getChunkSize();
+        int total = 0;
+
+        while (true) {
+            int deleted = deleteChunk.applyAsInt(chunkSize);
+            chunks.increment();
+            deletedCounter.increment(deleted);
+            total += deleted;
+
+            if (deleted < chunkSize) {
+                return new Progress(total, true);
+            }
+            if (!clock.instant().isBefore(deadline)) {
+                return new Progress(total, false);
+            }
+        }
+    }
+
+    // Creates the partitions ahead and drops every day that ended before today: all of its rows have expired
+    private int maintainPartitions(LocalDate today) {
+        if (!partitionManager.isPartitioned()) {
+            log.warn("auth.refresh-token-cleanup.mode=partition but refresh_tokens is not partitioned, using chunked deletes only");
+            return 0;
+        }
+
+        for (int i = 0; i <= properties.getPartitionsAheadDays(); i++) {
+            try {
+                partitionManager.createPartition(today.plusDays(i));
+            } catch (RuntimeException e) {
+                log.error("Could not create refresh_tokens partition for {}", today.plusDays(i), e);
+            }
+        }
+
+        int dropped = 0;
+        for (LocalDate day : partitionManager.partitionDays()) {
+            if (!day.isBefore(today)) {
+                break;
+            }
+            try {
+                partitionManager.dropPartition(day);
+                partitionsDropped.increment();
+                dropped++;
+            } catch (RuntimeException e) {
+                // Usually the lock timeout under load, retried on the next run
+                log.warn("Could not drop refresh_tokens partition for {}", day, e);
+            }
+        }
+        return dropped;
+    }
+
+    private Counter deletedCounter(String reason) {
+        return Counter.builder(METRIC_PREFIX + ".deleted")
+                .tag("reason", reason)
+                .description("Refresh tokens deleted by cleanup")
+                .register(meterRegistry);
+    }
+
+    private record Progress(int deleted, boolean completed) {}
+
+    public record CleanupResult(int expiredDeleted, int usedRevokedDeleted, int partitionsDropped, boolean completed) {}
 }
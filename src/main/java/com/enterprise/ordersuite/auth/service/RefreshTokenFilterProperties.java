@@ -0,0 +1,34 @@
+package com.enterprise.ordersuite.auth.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "auth.refresh-token-filter")
+public class RefreshTokenFilterProperties {
+
+    // false sends every refresh lookup to the database
+    private boolean enabled = true;
+
+    // Active refresh tokens the filter is sized for, it is resized on rebuild when there are more
+    private long expectedTokens = 1_000_000;
+
+    // Share of unknown tokens that still reach the database. 1% at 1M tokens is about 1.2 MB
+    private double falsePositiveRate = 0.01;
+
+    // Tokens issued on other nodes are added by a sync this often
+    private long syncIntervalMs = 2_000;
+
+    // Each sync re-reads tokens created this long before the previous one started: covers inserts that
+    // commit late and clock differences between the nodes writing created_at
+    private Duration syncOverlap = Duration.ofSeconds(5);
+
+    // Without a successful sync for this many intervals, lookups skip the filter and go to the database
+    private int staleAfterSyncIntervals = 3;
+}
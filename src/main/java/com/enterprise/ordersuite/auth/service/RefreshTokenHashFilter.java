@@ -0,0 +1,249 @@
+package com.enterprise.ordersuite.auth.service;
+
+import com.enterprise.ordersuite.auth.persistence.RefreshTokenRepository;
+import com.enterprise.ordersuite.auth.service.tokens.TokenHashBloomFilter;
+import com.enterprise.ordersuite.config.SchedulingConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory pre-check for refresh: a token whose hash is not in the filter was never issued
+ * (or is no longer active), so it is rejected without a database query. Logout does not use it,
+ * a false miss there would skip a revocation.
+
+ * - Tokens issued on this node are added right away, tokens issued on other nodes by a sync every
+ *   sync-interval-ms. A miss first waits for a sync that started after it, so a token another node
+ *   has just issued is found. Misses arriving together share that sync.
+ * - A sync reads active tokens created since the previous sync started, minus sync-overlap,
+ *   so an insert that commits late is still picked up.
+ * - Rebuilt from the table every rebuild-interval-ms, which drops used, revoked and expired tokens.
+ *   Tokens issued between two rebuilds go into both the live filter and the next one, so a token
+ *   whose transaction commits while the table is being scanned is never lost.
+ * - Until the first rebuild has finished every hash passes through to the database.
+ * - So does every hash while the last sync is older than stale-after-sync-intervals sync intervals:
+ *   a miss is only trusted while tokens from other nodes are known to have been picked up.
+ */
+@Slf4j
+@Component
+public class RefreshTokenHashFilter {
+
+    private static final String METRIC_PREFIX = "auth.refresh_tokens.filter";
+
+    // Headroom over the active tokens counted by the last rebuild
+    private static final double GROWTH_HEADROOM = 2.0;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenFilterProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+
+    private volatile TokenHashBloomFilter current;
+    private volatile TokenHashBloomFilter next;
+
+    // Start of the latest rebuild or sync that completed, rows committed before it are in the filter.
+    // Max, not last write: a rebuild on the default scheduler may finish after a newer sync
+    private final AtomicLong lastSyncedAtMillis = new AtomicLong();
+
+    // One sync at a time, scheduled or triggered by a miss
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    private final Counter absent;
+    private final Counter present;
+    private final Counter stale;
+    private final Counter missSyncs;
+
+    public RefreshTokenHashFilter(RefreshTokenRepository refreshTokenRepository,
+                                  RefreshTokenFilterProperties properties,
+                                  PlatformTransactionManager transactionManager,
+                                  Clock clock,
+                                  MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+
+        this.next = newFilter(properties.getExpectedTokens());
+
+        this.absent = lookupCounter("absent");
+        this.present = lookupCounter("maybe_present");
+        this.stale = lookupCounter("stale");
+        this.missSyncs = Counter.builder(METRIC_PREFIX + ".miss_syncs")
+                .description("Syncs run because a lookup missed, before rejecting the token")
+                .register(meterRegistry);
+        registerGauges();
+    }
+
+    // next before current: paired with the publish order in rebuild, the hash always lands in the filter that goes live
+    public void add(byte[] tokenHash) {
+        next.put(tokenHash);
+        TokenHashBloomFilter live = current;
+        if (live != null) {
+            live.put(tokenHash);
+        }
+    }
+
+    // false means the token is definitely not an active refresh token
+    public boolean mightContain(byte[] tokenHash) {
+        long arrivedAt = clock.millis();
+        TokenHashBloomFilter live = current;
+        if (!properties.isEnabled() || live == null) {
+            return true;
+        }
+        if (isStale()) {
+            stale.increment();
+            return true;
+        }
+
+        if (live.mightContain(tokenHash)) {
+            present.increment();
+            return true;
+        }
+
+        // Possibly issued on another node since the last sync
+        try {
+            syncSince(arrivedAt, true);
+        } catch (RuntimeException e) {
+            log.debug("Refresh token filter sync after a miss failed, passing the lookup to the database", e);
+            return true;
+        }
+        if (current.mightContain(tokenHash)) {
+            present.increment();
+            return true;
+        }
+        absent.increment();
+        return false;
+    }
+
+    @PostConstruct
+    @Scheduled(
+            fixedDelayString = "${auth.refresh-token-filter.rebuild-interval-ms:600000}",
+            initialDelayString = "${auth.refresh-token-filter.rebuild-interval-ms:600000}"
+    )
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long startedAt = clock.millis();
+        TokenHashBloomFilter building = next;
+        long[] active = new long[1];
+
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<RefreshTokenRepository.TokenHashView> hashes =
+                         refreshTokenRepository.streamActiveTokenHashes(LocalDateTime.now(clock))) {
+                hashes.forEach(view -> {
+                    building.put(view.getTokenHash());
+                    active[0]++;
+                });
+            }
+        });
+
+        // Publish the new filter, later issues go into it and into the one after it
+        current = building;
+        next = newFilter(Math.max(properties.getExpectedTokens(), (long) (active[0] * GROWTH_HEADROOM)));
+        lastSyncedAtMillis.accumulateAndGet(startedAt, Math::max);
+
+        sample.stop(Timer.builder(METRIC_PREFIX + ".rebuild")
+                .description("Full rebuilds of the refresh token filter from the table")
+                .register(meterRegistry));
+        log.debug("Refresh token filter rebuilt with {} active tokens", active[0]);
+    }
+
+    // Picks up tokens issued on other nodes, a range scan over the active tokens' created_at.
+    // On the refresh scheduler: a sync queued behind a long job would make every lookup stale
+    @Scheduled(
+            scheduler = SchedulingConfig.REFRESH_SCHEDULER,
+            fixedDelayString = "${auth.refresh-token-filter.sync-interval-ms:2000}",
+            initialDelayString = "${auth.refresh-token-filter.sync-interval-ms:2000}"
+    )
+    public void syncRecent() {
+        if (!properties.isEnabled() || current == null) {
+            return;
+        }
+        syncSince(clock.millis(), false);
+    }
+
+    // Returns once a sync that started at or after the given time has completed, running one if none has
+    private void syncSince(long millis, boolean afterMiss) {
+        syncLock.lock();
+        try {
+            // Another miss or the scheduler synced while this one waited for the lock
+            if (lastSyncedAtMillis.get() > millis) {
+                return;
+            }
+            if (afterMiss) {
+                missSyncs.increment();
+            }
+            long startedAt = clock.millis();
+            LocalDateTime createdAfter = LocalDateTime.ofInstant(Instant.ofEpochMilli(lastSyncedAtMillis.get()), clock.getZone())
+                    .minus(properties.getSyncOverlap());
+            for (RefreshTokenRepository.TokenHashView view :
+                    refreshTokenRepository.findActiveTokenHashesCreatedAfter(createdAfter, LocalDateTime.now(clock))) {
+                add(view.getTokenHash());
+            }
+            lastSyncedAtMillis.accumulateAndGet(startedAt, Math::max);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private boolean isStale() {
+        long maxAgeMillis = properties.getSyncIntervalMs() * properties.getStaleAfterSyncIntervals();
+        return clock.millis() - lastSyncedAtMillis.get() > maxAgeMillis;
+    }
+
+    private TokenHashBloomFilter newFilter(long expectedTokens) {
+        return TokenHashBloomFilter.create(expectedTokens, properties.getFalsePositiveRate());
+    }
+
+    private Counter lookupCounter(String result) {
+        return Counter.builder(METRIC_PREFIX + ".lookups")
+                .tag("result", result)
+                .description("Refresh and logout token pre-checks, absent ones skip the database, stale ones bypass the filter")
+                .register(meterRegistry);
+    }
+
+    private void registerGauges() {
+        Gauge.builder(METRIC_PREFIX + ".memory", this, f -> f.memoryBytes())
+                .baseUnit("bytes")
+                .description("Bit tables of the live filter and the one being filled for the next rebuild")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".false_positive_rate.configured", properties, RefreshTokenFilterProperties::getFalsePositiveRate)
+                .register(meterRegistry);
+        // Scans the bit table on every scrape, about 1 MB at the default size
+        Gauge.builder(METRIC_PREFIX + ".false_positive_rate.estimated", this, f -> f.current == null ? 0 : f.current.estimatedFalsePositiveRate())
+                .description("Expected share of unknown tokens that still reach the database, from the live filter's fill ratio")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".sync.age", this, f -> f.current == null ? 0 : f.clock.millis() - f.lastSyncedAtMillis.get())
+                .baseUnit("milliseconds")
+                .description("Time since the last rebuild or sync, lookups skip the filter once it exceeds the stale limit")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".insertions", this, f -> f.current == null ? 0 : f.current.insertions())
+                .description("Hashes added to the live filter since it was built")
+                .register(meterRegistry);
+    }
+
+    private long memoryBytes() {
+        TokenHashBloomFilter live = current;
+        return next.memoryBytes() + (live == null ? 0 : live.memoryBytes());
+    }
+}
@@ -2,6 +2,7 @@ package com.enterprise.ordersuite.auth.service;
 
 import com.enterprise.ordersuite.auth.domain.RefreshToken;
 import com.enterprise.ordersuite.auth.persistence.RefreshTokenRepository;
+import com.enterprise.ordersuite.auth.persistence.RefreshTokenRotation.ConsumedRefreshToken;
 import com.enterprise.ordersuite.auth.service.tokens.RefreshTokenGenerator;
 import com.enterprise.ordersuite.auth.service.tokens.TokenHashing;
 import com.enterprise.ordersuite.identity.domain.User;
@@ -18,13 +19,14 @@ public class RefreshTokenService {
 
     private final RefreshTokenRepository refreshTokenRepository;
     private final RefreshTokenGenerator refreshTokenGenerator;
+    private final RefreshTokenHashFilter refreshTokenHashFilter;
     private final Clock clock;
 
     private final Duration refreshTtl = Duration.ofDays(14);
 
     public IssuedRefreshToken issueFor(User user) {
         String raw = refreshTokenGenerator.generate();
-        String hash = TokenHashing.sha256Hex(raw);
+        byte[] hash = TokenHashing.sha256(raw);
 
         LocalDateTime now = LocalDateTime.now(clock);
 
@@ -36,26 +38,30 @@ public class RefreshTokenService {
         token.setExpiresAt(now.plus(refreshTtl));
 
         refreshTokenRepository.save(token);
+        refreshTokenHashFilter.add(hash);
 
         return new IssuedRefreshToken(raw, token.getExpiresAt());
     }
 
-    public RefreshToken getActiveTokenOrNull(String rawRefreshToken) {
+    /**
+     * Rotation step: marks the token used in one conditional UPDATE and returns its owner.
+     * Null when the token is unknown, already used, revoked or expired, so of two concurrent
+     * refreshes with the same token exactly one gets the user id.
+     */
+    public ConsumedRefreshToken consumeOrNull(String rawRefreshToken) {
         if (rawRefreshToken == null || rawRefreshToken.isBlank()) {
             return null;
         }
 
-        String hash = TokenHashing.sha256Hex(rawRefreshToken);
-        LocalDateTime now = LocalDateTime.now(clock);
-
-        return refreshTokenRepository.findByTokenHash(hash)
-                .filter(t -> t.isActive(now))
-                .orElse(null);
+        byte[] hash = TokenHashing.sha256(rawRefreshToken);
+        if (!refreshTokenHashFilter.mightContain(hash)) {
+            return null;
+        }
+        return refreshTokenRepository.consumeActive(hash, LocalDateTime.now(clock)).orElse(null);
     }
 
-    public void markUsed(RefreshToken token) {
-        token.setUsedAt(LocalDateTime.now(clock));
-        refreshTokenRepository.save(token);
+    public void revoke(ConsumedRefreshToken token) {
+        refreshTokenRepository.revokeById(token.id(), LocalDateTime.now(clock));
     }
 
     public void revoke(RefreshToken token) {
@@ -65,15 +71,16 @@ public class RefreshTokenService {
 
     // ---------- Helpers for refresh/logout flows ----------
 
-    public String hash(String rawRefreshToken) {
+    public byte[] hash(String rawRefreshToken) {
         if (rawRefreshToken == null) {
             return null;
         }
-        return TokenHashing.sha256Hex(rawRefreshToken);
+        return TokenHashing.sha256(rawRefreshToken);
     }
 
-    public RefreshToken findByHashOrNull(String hash) {
-        if (hash == null || hash.isBlank()) {
+    // Logout: no filter pre-check, a false miss would report success without revoking the token
+    public RefreshToken findByHashOrNull(byte[] hash) {
+        if (hash == null || hash.length == 0) {
             return null;
         }
         return refreshTokenRepository.findByTokenHash(hash).orElse(null);
@@ -0,0 +1,60 @@
+package com.enterprise.ordersuite.auth.service;
+
+import com.enterprise.ordersuite.auth.dtos.SessionResponse;
+import com.enterprise.ordersuite.auth.persistence.RefreshTokenRepository;
+import com.enterprise.ordersuite.identity.domain.UserSecurityChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A session is an active refresh token (not used, not revoked, not expired).
+ * Revocation is one set-based UPDATE per user, no entities are loaded.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SessionRegistry {
+
+    // Changes after which no existing session may outlive the change
+    private static final Set<UserSecurityChangedEvent.Change> REVOKING_CHANGES = EnumSet.of(
+            UserSecurityChangedEvent.Change.DEACTIVATED,
+            UserSecurityChangedEvent.Change.ROLE_CHANGED,
+            UserSecurityChangedEvent.Change.PASSWORD_RESET
+    );
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Clock clock;
+
+    @Transactional(readOnly = true)
+    public List<SessionResponse> activeSessions(long userId) {
+        return refreshTokenRepository.findActiveSessions(userId, LocalDateTime.now(clock)).stream()
+                .map(s -> new SessionResponse(s.getId(), s.getCreatedAt(), s.getExpiresAt()))
+                .toList();
+    }
+
+    @Transactional
+    public int revokeAll(long userId) {
+        return refreshTokenRepository.revokeAllActiveForUser(userId, LocalDateTime.now(clock));
+    }
+
+    // Before commit, so the change and the revocation commit (or roll back) together
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        if (event.userId() == null || !REVOKING_CHANGES.contains(event.change())) {
+            return;
+        }
+
+        int revoked = revokeAll(event.userId());
+        log.info("Revoked {} sessions of userId={} after {}", revoked, event.userId(), event.change());
+    }
+}
@@ -0,0 +1,105 @@
+package com.enterprise.ordersuite.auth.service.tokens;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filter over SHA-256 token hashes: no false negatives, false positives at about the configured rate.
+ *
+ * - The input is already a uniformly distributed digest, so the k bit positions come straight from
+ *   its first 16 bytes (double hashing h1 + i * h2), no further hashing.
+ * - Bits live in an AtomicLongArray, put and mightContain are lock-free and safe from any thread.
+ */
+public final class TokenHashBloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final LongAdder insertions = new LongAdder();
+
+    private TokenHashBloomFilter(long bitSize, int hashFunctions) {
+        this.words = new AtomicLongArray(Math.toIntExact(bitSize / Long.SIZE));
+        this.bitSize = bitSize;
+        this.hashFunctions = hashFunctions;
+    }
+
+    // m = -n ln p / (ln 2)^2 bits, k = m / n ln 2 hash functions
+    public static TokenHashBloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) throw new IllegalArgumentException("expectedInsertions must be > 0");
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be in (0, 1)");
+        }
+
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (LN2 * LN2));
+        long bitSize = Math.max(Long.SIZE, (bits + Long.SIZE - 1) / Long.SIZE * Long.SIZE);
+        int hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * LN2));
+        return new TokenHashBloomFilter(bitSize, hashFunctions);
+    }
+
+    public void put(byte[] tokenHash) {
+        long h1 = readLong(tokenHash, 0);
+        long h2 = readLong(tokenHash, 8) | 1;
+
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitSize);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            // Plain read first: most puts during a rebuild hit bits that are already set
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, m) -> current | m);
+            }
+        }
+        insertions.increment();
+    }
+
+    public boolean mightContain(byte[] tokenHash) {
+        long h1 = readLong(tokenHash, 0);
+        long h2 = readLong(tokenHash, 8) | 1;
+
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitSize);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // (fraction of bits set)^k, scans the whole table
+    public double estimatedFalsePositiveRate() {
+        long set = 0;
+        for (int i = 0; i < words.length(); i++) {
+            set += Long.bitCount(words.get(i));
+        }
+        return Math.pow((double) set / bitSize, hashFunctions);
+    }
+
+    public long insertions() {
+        return insertions.sum();
+    }
+
+    public long bitSize() {
+        return bitSize;
+    }
+
+    public int hashFunctions() {
+        return hashFunctions;
+    }
+
+    public long memoryBytes() {
+        return bitSize / Byte.SIZE;
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        if (bytes.length < offset + Long.BYTES) {
+            throw new IllegalArgumentException("expected a SHA-256 digest");
+        }
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+}
@@ -4,26 +4,61 @@ import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
+/**
+ * SHA-256 of opaque tokens (refresh tokens, password reset tokens, access tokens for caching).
+ *
+ * - Digests and the input scratch buffer are reused per thread, so a hash allocates only its 32-byte result.
+ * - Tokens are base64url / JWT compact strings (ASCII), so chars are copied as bytes without
+ *   going through a charset encoder; anything non-ASCII falls back to UTF-8.
+ */
 public final class TokenHashing {
 
+    public static final int SHA256_BYTES = 32;
+
+    private static final ThreadLocal<HashingState> STATE = ThreadLocal.withInitial(HashingState::new);
+
     private TokenHashing() {}
 
-    public static String sha256Hex(String rawToken) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hashed = digest.digest(rawToken.getBytes(StandardCharsets.UTF_8));
-            return toHex(hashed);
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("SHA-256 not available", e);
+    public static byte[] sha256(String rawToken) {
+        HashingState state = STATE.get();
+        MessageDigest digest = state.digest;
+
+        int length = rawToken.length();
+        byte[] buffer = state.buffer(length);
+
+        for (int i = 0; i < length; i++) {
+            char c = rawToken.charAt(i);
+            if (c > 0x7F) {
+                digest.reset();
+                return digest.digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            }
+            buffer[i] = (byte) c;
         }
+
+        digest.update(buffer, 0, length);
+        return digest.digest();
     }
 
-    private static String toHex(byte[] bytes) {
-        StringBuilder sb = new StringBuilder(bytes.length * 2);
-        for (byte b : bytes) {
-            sb.append(Character.forDigit((b >> 4) & 0xF, 16));
-            sb.append(Character.forDigit(b & 0xF, 16));
+    private static final class HashingState {
+        // Tokens we issue are well below this, longer inputs grow the buffer once
+        private static final int INITIAL_BUFFER_BYTES = 512;
+
+        final MessageDigest digest;
+        byte[] buffer = new byte[INITIAL_BUFFER_BYTES];
+
+        HashingState() {
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        byte[] buffer(int length) {
+            if (buffer.length < length) {
+                buffer = new byte[Math.max(length, buffer.length * 2)];
+            }
+            return buffer;
         }
-        return sb.toString();
     }
 }
@@ -0,0 +1,8 @@
+package com.enterprise.ordersuite.common.jobs;
+
+// Work run by ClusterJobRunner on one node at a time, returns the rows it affected for the run history
+@FunctionalInterface
+public interface ClusterJob {
+
+    long run();
+}
@@ -0,0 +1,29 @@
+package com.enterprise.ordersuite.common.jobs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "jobs")
+public class ClusterJobProperties {
+
+    // Recorded as lock holder and in the run history, pid@host by default
+    private String nodeId = ManagementFactory.getRuntimeMXBean().getName();
+
+    // Lease taken for a run, must exceed the longest run: a crashed node's lease is taken over after this
+    private Duration lockAtMost = Duration.ofMinutes(30);
+
+    // Lease kept after a short run, so nodes whose cron fires slightly later skip instead of running again
+    private Duration lockAtLeast = Duration.ofMinutes(1);
+
+    private Duration historyRetention = Duration.ofDays(30);
+
+    private int historyReaperBatchSize = 1_000;
+}
@@ -0,0 +1,105 @@
+package com.enterprise.ordersuite.common.jobs;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Runs a @Scheduled job on one node of the cluster. Every node's scheduler calls run(...),
+ * the node that takes the job's lease runs it and records the run, the others skip.
+ * Jobs that are safe to run everywhere (per-node caches, SKIP LOCKED dispatchers) do not need this.
+ */
+@Slf4j
+@Service
+public class ClusterJobRunner {
+
+    private static final String METRIC_PREFIX = "jobs";
+
+    private final JobLocks jobLocks;
+    private final JobRunHistory history;
+    private final ClusterJobProperties properties;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+
+    public ClusterJobRunner(JobLocks jobLocks,
+                            JobRunHistory history,
+                            ClusterJobProperties properties,
+                            Clock clock,
+                            MeterRegistry meterRegistry) {
+        this.jobLocks = jobLocks;
+        this.history = history;
+        this.properties = properties;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Returns the outcome when this node ran the job, empty when another node holds the lease.
+     * A failing job is logged and recorded as FAILED, it does not throw.
+     */
+    public Optional<JobRun.Outcome> run(String jobName, ClusterJob job) {
+        String node = properties.getNodeId();
+
+        if (!tryAcquire(jobName, node)) {
+            Counter.builder(METRIC_PREFIX + ".skipped")
+                    .tag("job", jobName)
+                    .description("Scheduled runs skipped because another node held the lease")
+                    .register(meterRegistry)
+                    .increment();
+            return Optional.empty();
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        JobRun.Outcome outcome = JobRun.Outcome.FAILED;
+        try {
+            long runId = history.started(jobName, node, LocalDateTime.now(clock));
+            Long rowsAffected = null;
+            String error = null;
+            try {
+                rowsAffected = job.run();
+                outcome = JobRun.Outcome.SUCCEEDED;
+            } catch (RuntimeException e) {
+                error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+                log.error("Scheduled job {} failed", jobName, e);
+            }
+            history.finished(runId, LocalDateTime.now(clock), outcome, rowsAffected, error);
+        } catch (RuntimeException e) {
+            // The history table is unreachable, the lease still has to be released below
+            log.error("Could not record a run of scheduled job {}", jobName, e);
+        } finally {
+            release(jobName, node);
+            sample.stop(Timer.builder(METRIC_PREFIX + ".runs")
+                    .tag("job", jobName)
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .description("Scheduled job runs on this node")
+                    .register(meterRegistry));
+        }
+        return Optional.of(outcome);
+    }
+
+    private boolean tryAcquire(String jobName, String node) {
+        try {
+            return jobLocks.tryAcquire(jobName, node, properties.getLockAtMost());
+        } catch (RuntimeException e) {
+            // Without the database no node can run the job, the next trigger tries again
+            log.warn("Could not acquire the lease of scheduled job {}, skipping this run", jobName, e);
+            return false;
+        }
+    }
+
+    private void release(String jobName, String node) {
+        try {
+            jobLocks.release(jobName, node, properties.getLockAtLeast());
+        } catch (RuntimeException e) {
+            // The lease runs out after lock-at-most
+            log.warn("Could not release the lease of scheduled job {}", jobName, e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.enterprise.ordersuite.common.jobs;
+
+import com.enterprise.ordersuite.common.reaper.ExpiringTable;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JobHistoryReaperConfig {
+
+    @Bean
+    public ExpiringTable scheduledJobRunsExpiringTable(ClusterJobProperties properties) {
+        return new ExpiringTable(
+                "scheduled_job_runs",
+                "started_at",
+                properties.getHistoryRetention(),
+                properties.getHistoryReaperBatchSize()
+        );
+    }
+}
@@ -0,0 +1,60 @@
+package com.enterprise.ordersuite.common.jobs;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Leases in scheduled_job_locks. A lease is taken with one upsert that only succeeds when the row is new
+ * or its previous lease has run out, so concurrent nodes cannot both get it. Times use the database clock.
+ */
+@Component
+public class JobLocks {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JobLocks(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean tryAcquire(String jobName, String node, Duration lockAtMost) {
+        int acquired = jdbcTemplate.update("""
+                INSERT INTO scheduled_job_locks (job_name, locked_by, locked_at, locked_until)
+                VALUES (?, ?, now(), now() + make_interval(secs => ?))
+                ON CONFLICT (job_name) DO UPDATE
+                SET locked_by = EXCLUDED.locked_by,
+                    locked_at = EXCLUDED.locked_at,
+                    locked_until = EXCLUDED.locked_until
+                WHERE scheduled_job_locks.locked_until <= now()
+                """, jobName, node, (double) lockAtMost.toMillis() / 1000);
+        return acquired == 1;
+    }
+
+    // Ends the lease, but not before lockAtLeast after it was taken. No-op if another node has taken it over
+    public void release(String jobName, String node, Duration lockAtLeast) {
+        jdbcTemplate.update("""
+                UPDATE scheduled_job_locks
+                SET locked_until = GREATEST(now(), locked_at + make_interval(secs => ?))
+                WHERE job_name = ? AND locked_by = ?
+                """, (double) lockAtLeast.toMillis() / 1000, jobName, node);
+    }
+
+    public List<Lease> leases() {
+        return jdbcTemplate.query("""
+                SELECT job_name, locked_by, locked_at, locked_until, locked_until > now() AS held
+                FROM scheduled_job_locks
+                """, (rs, i) -> new Lease(
+                rs.getString("job_name"),
+                rs.getString("locked_by"),
+                rs.getObject("locked_at", OffsetDateTime.class),
+                rs.getObject("locked_until", OffsetDateTime.class),
+                rs.getBoolean("held")
+        ));
+    }
+
+    public record Lease(String jobName, String lockedBy, OffsetDateTime lockedAt, OffsetDateTime lockedUntil, boolean held) {
+    }
+}
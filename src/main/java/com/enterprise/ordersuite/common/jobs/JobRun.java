@@ -0,0 +1,22 @@
+package com.enterprise.ordersuite.common.jobs;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// duration is null while the run is still going (or its node died mid-run)
+public record JobRun(long id,
+                     String jobName,
+                     String node,
+                     LocalDateTime startedAt,
+                     LocalDateTime finishedAt,
+                     Duration duration,
+                     Outcome outcome,
+                     Long rowsAffected,
+                     String error) {
+
+    public enum Outcome {
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+}
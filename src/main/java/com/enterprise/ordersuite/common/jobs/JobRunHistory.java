@@ -0,0 +1,82 @@
+package com.enterprise.ordersuite.common.jobs;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Runs in scheduled_job_runs: a RUNNING row is inserted once the lease is held and completed when the run ends,
+ * so a run whose node died shows up as RUNNING with no finished_at.
+ */
+@Component
+public class JobRunHistory {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private static final RowMapper<JobRun> JOB_RUN = (rs, i) -> {
+        LocalDateTime startedAt = rs.getObject("started_at", LocalDateTime.class);
+        LocalDateTime finishedAt = rs.getObject("finished_at", LocalDateTime.class);
+        long rows = rs.getLong("rows_affected");
+        return new JobRun(
+                rs.getLong("id"),
+                rs.getString("job_name"),
+                rs.getString("node"),
+                startedAt,
+                finishedAt,
+                finishedAt != null ? Duration.between(startedAt, finishedAt) : null,
+                JobRun.Outcome.valueOf(rs.getString("outcome")),
+                rs.wasNull() ? null : rows,
+                rs.getString("error")
+        );
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JobRunHistory(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long started(String jobName, String node, LocalDateTime startedAt) {
+        Long id = jdbcTemplate.queryForObject("""
+                INSERT INTO scheduled_job_runs (job_name, node, started_at, outcome)
+                VALUES (?, ?, ?, 'RUNNING')
+                RETURNING id
+                """, Long.class, jobName, node, startedAt);
+        return id != null ? id : 0L;
+    }
+
+    public void finished(long runId, LocalDateTime finishedAt, JobRun.Outcome outcome, Long rowsAffected, String error) {
+        jdbcTemplate.update("""
+                UPDATE scheduled_job_runs
+                SET finished_at = ?, outcome = ?, rows_affected = ?, error = ?
+                WHERE id = ?
+                """, finishedAt, outcome.name(), rowsAffected, truncate(error), runId);
+    }
+
+    // Latest run of every job
+    public List<JobRun> lastRuns() {
+        return jdbcTemplate.query("""
+                SELECT DISTINCT ON (job_name) id, job_name, node, started_at, finished_at, outcome, rows_affected, error
+                FROM scheduled_job_runs
+                ORDER BY job_name, started_at DESC
+                """, JOB_RUN);
+    }
+
+    public List<JobRun> recentRuns(String jobName, int limit) {
+        return jdbcTemplate.query("""
+                SELECT id, job_name, node, started_at, finished_at, outcome, rows_affected, error
+                FROM scheduled_job_runs
+                WHERE job_name = ?
+                ORDER BY started_at DESC
+                LIMIT ?
+                """, JOB_RUN, jobName, limit);
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
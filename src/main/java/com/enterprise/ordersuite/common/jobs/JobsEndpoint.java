@@ -0,0 +1,49 @@
+package com.enterprise.ordersuite.common.jobs;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * /actuator/jobs (ADMIN only): per scheduled job, its last run on any node and who holds its lease.
+ * /actuator/jobs/{job} lists that job's most recent runs.
+ */
+@Component
+@Endpoint(id = "jobs")
+public class JobsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final JobRunHistory history;
+    private final JobLocks jobLocks;
+
+    public JobsEndpoint(JobRunHistory history, JobLocks jobLocks) {
+        this.history = history;
+        this.jobLocks = jobLocks;
+    }
+
+    @ReadOperation
+    public List<JobStatus> jobs() {
+        Map<String, JobLocks.Lease> leases = jobLocks.leases().stream()
+                .collect(Collectors.toMap(JobLocks.Lease::jobName, Function.identity()));
+
+        return history.lastRuns().stream()
+                .map(run -> new JobStatus(run.jobName(), run, leases.get(run.jobName())))
+                .toList();
+    }
+
+    @ReadOperation
+    public List<JobRun> runs(@Selector String job, @Nullable Integer limit) {
+        return history.recentRuns(job, limit != null && limit > 0 ? limit : DEFAULT_LIMIT);
+    }
+
+    public record JobStatus(String job, JobRun lastRun, JobLocks.Lease lease) {
+    }
+}
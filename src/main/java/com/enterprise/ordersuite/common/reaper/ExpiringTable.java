@@ -0,0 +1,34 @@
+package com.enterprise.ordersuite.common.reaper;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * A table whose rows can be deleted once expiryColumn is older than retention.
+ * Register one as a bean and ExpiringTableReaper picks it up. The table needs an id primary key
+ * and an index on expiryColumn, otherwise every batch scans the table.
+ */
+public record ExpiringTable(String table, String expiryColumn, Duration retention, int batchSize) {
+
+    // Names end up in the DELETE statement, only plain lower-case identifiers are accepted
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    public ExpiringTable {
+        requireIdentifier(table, "table");
+        requireIdentifier(expiryColumn, "expiryColumn");
+        Objects.requireNonNull(retention, "retention");
+        if (retention.isNegative()) {
+            throw new IllegalArgumentException("retention must not be negative: " + retention);
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+    }
+
+    private static void requireIdentifier(String name, String what) {
+        if (name == null || !IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalArgumentException(what + " is not a plain identifier: " + name);
+        }
+    }
+}
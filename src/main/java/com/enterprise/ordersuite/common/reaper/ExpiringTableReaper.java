@@ -0,0 +1,159 @@
+package com.enterprise.ordersuite.common.reaper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deletes expired rows from every registered ExpiringTable in batches of batchSize.
+ * Each batch is one index-driven DELETE that commits on its own, so a run never holds a long transaction.
+ * Tables are reaped one after another, a failing table does not stop the others.
+ */
+@Slf4j
+@Service
+public class ExpiringTableReaper {
+
+    private static final String METRIC_PREFIX = "reaper";
+
+    private final List<ExpiringTable> tables;
+    private final JdbcTemplate jdbcTemplate;
+    private final ExpiringTableReaperProperties properties;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+
+    // Per table name, replaced at the end of every run
+    private final Map<String, TableStats> stats = new ConcurrentHashMap<>();
+
+    public ExpiringTableReaper(List<ExpiringTable> tables,
+                               JdbcTemplate jdbcTemplate,
+                               ExpiringTableReaperProperties properties,
+                               Clock clock,
+                               MeterRegistry meterRegistry) {
+        this.tables = List.copyOf(tables);
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public List<RunResult> reapAll() {
+        return tables.stream().map(this::reap).toList();
+    }
+
+    public RunResult reap(ExpiringTable table) {
+        Instant startedAt = clock.instant();
+        Instant deadline = startedAt.plus(properties.getTimeBudget());
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(table.retention());
+        String sql = deleteSql(table);
+
+        Counter deletedCounter = Counter.builder(METRIC_PREFIX + ".deleted")
+                .tag("table", table.table())
+                .description("Expired rows deleted by the reaper")
+                .register(meterRegistry);
+
+        long deleted = 0;
+        int batches = 0;
+        Outcome outcome;
+        String error = null;
+        try {
+            while (true) {
+                int n = jdbcTemplate.update(sql, cutoff, table.batchSize());
+                batches++;
+                deleted += n;
+                deletedCounter.increment(n);
+
+                if (n < table.batchSize()) {
+                    outcome = Outcome.COMPLETED;
+                    break;
+                }
+                if (!clock.instant().isBefore(deadline)) {
+                    outcome = Outcome.BUDGET_EXHAUSTED;
+                    log.warn("Reaping {} stopped after its {} budget, the next run continues", table.table(), properties.getTimeBudget());
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            // Batches already deleted stay deleted, the next run picks up the rest
+            outcome = Outcome.FAILED;
+            error = e.getMessage();
+            log.error("Reaping {} failed after {} rows", table.table(), deleted, e);
+        }
+
+        Duration duration = Duration.between(startedAt, clock.instant());
+        Timer.builder(METRIC_PREFIX + ".duration")
+                .tag("table", table.table())
+                .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                .description("Reaper runs per table")
+                .register(meterRegistry)
+                .record(duration);
+
+        RunResult result = new RunResult(table.table(), startedAt, duration, deleted, batches, outcome, error);
+        stats.merge(table.table(), TableStats.first(table, result), (previous, ignored) -> previous.next(result));
+        return result;
+    }
+
+    public List<TableStats> stats() {
+        return stats.values().stream()
+                .sorted(Comparator.comparing(TableStats::table))
+                .toList();
+    }
+
+    public TableStats stats(String table) {
+        return stats.get(table);
+    }
+
+    // The subquery walks the expiry index and stops after batchSize rows
+    private static String deleteSql(ExpiringTable table) {
+        return "DELETE FROM " + table.table()
+                + " WHERE id IN (SELECT id FROM " + table.table()
+                + " WHERE " + table.expiryColumn() + " < ? LIMIT ?)";
+    }
+
+    public enum Outcome {
+        COMPLETED,
+        BUDGET_EXHAUSTED,
+        FAILED
+    }
+
+    public record RunResult(String table,
+                            Instant startedAt,
+                            Duration duration,
+                            long rowsDeleted,
+                            int batches,
+                            Outcome outcome,
+                            String error) {
+    }
+
+    // Totals since startup plus the last run, per node
+    public record TableStats(String table,
+                             String expiryColumn,
+                             Duration retention,
+                             int batchSize,
+                             long runs,
+                             long totalRowsDeleted,
+                             RunResult lastRun) {
+
+        static TableStats first(ExpiringTable table, RunResult run) {
+            return new TableStats(table.table(), table.expiryColumn(), table.retention(), table.batchSize(),
+                    1, run.rowsDeleted(), run);
+        }
+
+        TableStats next(RunResult run) {
+            return new TableStats(table, expiryColumn, retention, batchSize,
+                    runs + 1, totalRowsDeleted + run.rowsDeleted(), run);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.enterprise.ordersuite.common.reaper;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "reaper")
+public class ExpiringTableReaperProperties {
+
+    private boolean enabled = true;
+
+    // Per table and run: stops after the batch that crosses the budget, the next run continues
+    private Duration timeBudget = Duration.ofMinutes(2);
+}
@@ -0,0 +1,27 @@
+package com.enterprise.ordersuite.common.reaper;
+
+import com.enterprise.ordersuite.common.jobs.ClusterJobRunner;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ExpiringTableReaperScheduler {
+
+    static final String JOB_NAME = "expiring-table-reaper";
+
+    private final ExpiringTableReaper reaper;
+    private final ExpiringTableReaperProperties properties;
+    private final ClusterJobRunner jobRunner;
+
+    // every hour at :40 by default, on one node only
+    @Scheduled(cron = "${reaper.cron:0 40 * * * *}")
+    public void reapExpiredRows() {
+        if (properties.isEnabled()) {
+            jobRunner.run(JOB_NAME, () -> reaper.reapAll().stream()
+                    .mapToLong(ExpiringTableReaper.RunResult::rowsDeleted)
+                    .sum());
+        }
+    }
+}
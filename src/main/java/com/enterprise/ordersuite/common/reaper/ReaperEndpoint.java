@@ -0,0 +1,34 @@
+package com.enterprise.ordersuite.common.reaper;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * /actuator/reaper (ADMIN only): per registered table, the last run (rows deleted, duration, outcome)
+ * and the totals since this node started. Tables that have not been reaped yet are not listed.
+ */
+@Component
+@Endpoint(id = "reaper")
+public class ReaperEndpoint {
+
+    private final ExpiringTableReaper reaper;
+
+    public ReaperEndpoint(ExpiringTableReaper reaper) {
+        this.reaper = reaper;
+    }
+
+    @ReadOperation
+    public List<ExpiringTableReaper.TableStats> tables() {
+        return reaper.stats();
+    }
+
+    // null renders as 404
+    @ReadOperation
+    public ExpiringTableReaper.TableStats table(@Selector String table) {
+        return reaper.stats(table);
+    }
+}
@@ -0,0 +1,36 @@
+package com.enterprise.ordersuite.config;
+
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Two schedulers, so short per-node refreshers never queue behind long jobs.
+
+ * - taskScheduler, the default for @Scheduled: cleanup, reaper, outbox dispatch, filter rebuilds.
+ *   Sized by spring.task.scheduling.pool.size.
+ * - refreshScheduler, opted into with @Scheduled(scheduler = REFRESH_SCHEDULER): work whose result goes stale
+ *   within seconds when it does not run (rate-limit cluster flush, refresh token filter sync, security versions).
+ */
+@Configuration
+public class SchedulingConfig {
+
+    public static final String REFRESH_SCHEDULER = "refreshScheduler";
+
+    private static final int REFRESH_POOL_SIZE = 2;
+
+    // Declaring a scheduler disables Boot's default one, so it is declared here with the same properties
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(REFRESH_SCHEDULER)
+    public ThreadPoolTaskScheduler refreshScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder
+                .poolSize(REFRESH_POOL_SIZE)
+                .threadNamePrefix("refresh-scheduling-")
+                .build();
+    }
+}
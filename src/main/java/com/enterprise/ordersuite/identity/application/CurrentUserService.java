@@ -2,12 +2,21 @@ package com.enterprise.ordersuite.identity.application;
 
 import com.enterprise.ordersuite.identity.domain.User;
 import com.enterprise.ordersuite.identity.persistence.UserRepository;
+import com.enterprise.ordersuite.security.userdetails.CustomUserDetails;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Reads the authenticated user from the request's SecurityContext,
+ * which JwtAuthenticationFilter populates once per request.
+
+ * - Identity questions (id, email, active) never touch the database.
+ * - requireUser / requireActiveUser load a managed entity (one query, role included)
+ *   and are meant for callers that read entity-only fields or mutate the user.
+ */
 @Service
 public class CurrentUserService {
 
@@ -21,10 +30,33 @@ public class CurrentUserService {
         return authenticationOrThrow().getName();
     }
 
+    public CustomUserDetails requirePrincipal() {
+        Authentication auth = authenticationOrThrow();
+        if (auth.getPrincipal() instanceof CustomUserDetails principal) {
+            return principal;
+        }
+
+        // Authenticated by something other than JwtAuthenticationFilter, resolve by email
+        return userRepository.findByEmailIgnoreCaseFetchingRole(auth.getName())
+                .map(CustomUserDetails::from)
+                .orElseThrow(() -> new IllegalStateException("Authenticated user not found"));
+    }
+
+    public Long getUserId() {
+        return requirePrincipal().id();
+    }
+
+    public Long getActiveUserId() {
+        CustomUserDetails principal = requirePrincipal();
+        if (!principal.active()) {
+            throw new IllegalStateException("User is inactive");
+        }
+        return principal.id();
+    }
+
     @Transactional(readOnly = true)
     public User requireUser() {
-        String email = getEmail();
-        return userRepository.findByEmail(email)
+        return userRepository.findByIdFetchingRole(getUserId())
                 .orElseThrow(() -> new IllegalStateException("Authenticated user not found"));
     }
 
@@ -37,16 +69,6 @@ public class CurrentUserService {
         return user;
     }
 
-    @Transactional(readOnly = true)
-    public Long getUserId() {
-        return requireUser().getId();
-    }
-
-    @Transactional(readOnly = true)
-    public Long getActiveUserId() {
-        return requireActiveUser().getId();
-    }
-
     private Authentication authenticationOrThrow() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
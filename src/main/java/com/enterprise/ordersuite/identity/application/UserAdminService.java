@@ -1,13 +1,18 @@
 package com.enterprise.ordersuite.identity.application;
 
+import com.enterprise.ordersuite.auth.dtos.SessionsRevokedResponse;
 import com.enterprise.ordersuite.auth.service.PasswordResetService;
+import com.enterprise.ordersuite.auth.service.SessionRegistry;
 import com.enterprise.ordersuite.identity.api.dto.*;
 import com.enterprise.ordersuite.identity.domain.IdentityAuditEventType;
 import com.enterprise.ordersuite.identity.domain.Role;
 import com.enterprise.ordersuite.identity.domain.User;
+import com.enterprise.ordersuite.identity.domain.UserSecurityChangedEvent;
 import com.enterprise.ordersuite.identity.persistence.RoleRepository;
 import com.enterprise.ordersuite.identity.persistence.UserRepository;
+import com.enterprise.ordersuite.security.jwt.UserSecurityVersionRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,7 +34,10 @@ public class UserAdminService {
     private final CurrentUserService currentUserService;
     private final IdentityAuditService identityAuditService;
     private final PasswordResetService passwordResetService;
+    private final SessionRegistry sessionRegistry;
     private final PasswordEncoder passwordEncoder;
+    private final UserSecurityVersionRegistry securityVersions;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UserAdminService(
             UserRepository userRepository,
@@ -37,29 +45,37 @@ public class UserAdminService {
             CurrentUserService currentUserService,
             IdentityAuditService identityAuditService,
             PasswordResetService passwordResetService,
-            PasswordEncoder passwordEncoder
+            SessionRegistry sessionRegistry,
+            PasswordEncoder passwordEncoder,
+            UserSecurityVersionRegistry securityVersions,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.currentUserService = currentUserService;
         this.identityAuditService = identityAuditService;
         this.passwordResetService = passwordResetService;
+        this.sessionRegistry = sessionRegistry;
         this.passwordEncoder = passwordEncoder;
+        this.securityVersions = securityVersions;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public UserStatusResponse deactivateUser(long targetUserId) {
-        User actor = currentUserService.requireActiveUser();
+        Long actorId = currentUserService.getActiveUserId();
 
         User target = userRepository.findById(targetUserId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
         if (Boolean.TRUE.equals(target.getActive())) {
             target.setActive(false);
+            bumpSecurityVersion(target);
+            publishSecurityChanged(target, target.getEmail(), UserSecurityChangedEvent.Change.DEACTIVATED);
 
             identityAuditService.recordEvent(
                     IdentityAuditEventType.USER_DEACTIVATED,
-                    actor.getId(),
+                    actorId,
                     target.getId(),
                     """
                     {
@@ -77,17 +93,18 @@ public class UserAdminService {
 
     @Transactional
     public UserStatusResponse reactivateUser(long targetUserId) {
-        User actor = currentUserService.requireActiveUser();
+        Long actorId = currentUserService.getActiveUserId();
 
         User target = userRepository.findById(targetUserId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
         if (Boolean.FALSE.equals(target.getActive())) {
             target.setActive(true);
+            publishSecurityChanged(target, target.getEmail(), UserSecurityChangedEvent.Change.REACTIVATED);
 
             identityAuditService.recordEvent(
                     IdentityAuditEventType.USER_REACTIVATED,
-                    actor.getId(),
+                    actorId,
                     target.getId(),
                     """
                     {
@@ -105,7 +122,7 @@ public class UserAdminService {
 
     @Transactional(readOnly = true)
     public UserStatusResponse getStatus(long targetUserId) {
-        currentUserService.requireActiveUser();
+        currentUserService.getActiveUserId();
 
         User user = userRepository.findById(targetUserId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
@@ -115,7 +132,7 @@ public class UserAdminService {
 
     @Transactional
     public UserStatusResponse setUserRole(long targetUserId, SetUserRoleRequest request) {
-        User actor = currentUserService.requireActiveUser();
+        Long actorId = currentUserService.getActiveUserId();
 
         User target = userRepository.findById(targetUserId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
@@ -128,10 +145,12 @@ public class UserAdminService {
 
         if (!previousRole.equals(nextRole)) {
             target.setRole(newRole);
+            bumpSecurityVersion(target);
+            publishSecurityChanged(target, target.getEmail(), UserSecurityChangedEvent.Change.ROLE_CHANGED);
 
             identityAuditService.recordEvent(
                     IdentityAuditEventType.USER_ROLE_CHANGED,
-                    actor.getId(),
+                    actorId,
                     target.getId(),
                     "{\"role\":{\"from\":\"" + escapeJson(previousRole) + "\",\"to\":\"" + escapeJson(nextRole) + "\"}}"
             );
@@ -142,9 +161,9 @@ public class UserAdminService {
 
     @Transactional
     public AdminCreateUserResponse createUser(AdminCreateUserRequest request) {
-        User actor = currentUserService.requireActiveUser();
+        Long actorId = currentUserService.getActiveUserId();
 
-        String normalizedEmail = normalizeEmail(request.email());
+        String normalizedEmail = User.normalizeEmail(request.email());
 
         if (userRepository.existsByEmailIgnoreCase(normalizedEmail)) {
             throw new IllegalArgumentException("Email already exists");
@@ -170,7 +189,7 @@ public class UserAdminService {
 
         identityAuditService.recordEvent(
                 IdentityAuditEventType.USER_CREATED,
-                actor.getId(),
+                actorId,
                 saved.getId(),
                 "{\"email\":\"" + escapeJson(saved.getEmail()) + "\",\"role\":\"" + escapeJson(saved.getRole().getName()) + "\",\"active\":true}"
         );
@@ -208,7 +227,7 @@ public class UserAdminService {
 
     @Transactional
     public void sendPasswordSetup(long targetUserId) {
-        User actor = currentUserService.requireActiveUser();
+        Long actorId = currentUserService.getActiveUserId();
 
         User target = userRepository.findById(targetUserId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
@@ -217,8 +236,9 @@ public class UserAdminService {
             throw new IllegalArgumentException("User is inactive");
         }
 
+        boolean sent;
         try {
-            passwordResetService.sendPasswordSetupForNewUser(target.getEmail());
+            sent = passwordResetService.sendPasswordSetupForNewUser(target.getEmail());
         } catch (Exception e) {
             log.warn(
                     "Failed to send password setup email for userId={}, email={}",
@@ -226,19 +246,45 @@ public class UserAdminService {
                     target.getEmail(),
                     e
             );
+            return;
+        }
+
+        // Coalesced into a link sent moments ago, nothing new went out
+        if (!sent) {
+            log.info("Password setup email for userId={} coalesced into a recent request", target.getId());
+            return;
         }
 
         identityAuditService.recordEvent(
                 IdentityAuditEventType.PASSWORD_SETUP_SENT,
-                actor.getId(),
+                actorId,
                 target.getId(),
                 "{\"email\":\"" + escapeJson(target.getEmail()) + "\",\"active\":true}"
         );
     }
 
+    @Transactional
+    public SessionsRevokedResponse revokeSessions(long targetUserId) {
+        Long actorId = currentUserService.getActiveUserId();
+
+        User target = userRepository.findById(targetUserId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+
+        int revoked = sessionRegistry.revokeAll(target.getId());
+
+        identityAuditService.recordEvent(
+                IdentityAuditEventType.SESSIONS_REVOKED,
+                actorId,
+                target.getId(),
+                "{\"revoked\":" + revoked + "}"
+        );
+
+        return new SessionsRevokedResponse(target.getId(), revoked);
+    }
+
     @Transactional
     public AdminUpdateUserResponse updateUser(long targetUserId, AdminUpdateUserRequest request) {
-        User actor = currentUserService.requireActiveUser();
+        Long actorId = currentUserService.getActiveUserId();
 
         User target = userRepository.findById(targetUserId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
@@ -269,12 +315,14 @@ public class UserAdminService {
         }
 
         if (hasText(request.email())) {
-            String newEmail = normalizeEmail(request.email());
+            String newEmail = User.normalizeEmail(request.email());
             if (!newEmail.equalsIgnoreCase(previousEmail)) {
                 if (userRepository.existsByEmailIgnoreCase(newEmail)) {
                     throw new IllegalArgumentException("Email already exists");
                 }
                 target.setEmail(newEmail);
+                bumpSecurityVersion(target);
+                publishSecurityChanged(target, previousEmail, UserSecurityChangedEvent.Change.EMAIL_CHANGED);
                 appendChangedField(changedFields, "email", previousEmail, newEmail);
                 changed = true;
             }
@@ -283,7 +331,7 @@ public class UserAdminService {
         if (changed) {
             identityAuditService.recordEvent(
                     IdentityAuditEventType.USER_UPDATED,
-                    actor.getId(),
+                    actorId,
                     target.getId(),
                     "{\"changedFields\":{" + changedFields + "}}"
             );
@@ -298,8 +346,26 @@ public class UserAdminService {
         );
     }
 
-    private static String normalizeEmail(String email) {
-        return email.trim().toLowerCase(Locale.ROOT);
+    /**
+     * Invalidates every access token issued to the user so far.
+     * The in-memory version table is only updated once the new version is committed.
+     */
+    private void bumpSecurityVersion(User target) {
+        long nextVersion = target.getSecurityVersion() + 1;
+        target.setSecurityVersion(nextVersion);
+
+        Long targetUserId = target.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                securityVersions.record(targetUserId, nextVersion);
+            }
+        });
+    }
+
+    // Listeners run after commit, see CustomUserDetailsService
+    private void publishSecurityChanged(User target, String email, UserSecurityChangedEvent.Change change) {
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(target.getId(), email, change));
     }
 
     private static String generateRandomPassword() {
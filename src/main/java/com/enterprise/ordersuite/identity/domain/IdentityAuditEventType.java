@@ -6,5 +6,6 @@ public enum IdentityAuditEventType {
     USER_ROLE_CHANGED,
     USER_CREATED,
     PASSWORD_SETUP_SENT,
-    USER_UPDATED
+    USER_UPDATED,
+    SESSIONS_REVOKED
 }
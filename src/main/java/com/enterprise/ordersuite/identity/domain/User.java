@@ -4,10 +4,13 @@ import com.enterprise.ordersuite.common.persistence.BaseEntity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.Locale;
+
 @Entity
 @Table(name = "users")
 @Getter
@@ -28,6 +31,11 @@ public class User extends BaseEntity {
     @Email
     private String email;
 
+    // Always lower(trim(email)), kept in sync by setEmail, backs every case-insensitive lookup
+    @Setter(AccessLevel.NONE)
+    @Column(name = "email_normalized", nullable = false, unique = true)
+    private String emailNormalized;
+
     @Column(nullable = false)
     @NotNull
     private String password;
@@ -39,4 +47,17 @@ public class User extends BaseEntity {
     @JoinColumn(name = "role_id", nullable = false)
     private Role role;
 
+    // Embedded in access tokens, bumping it invalidates every token issued before
+    @Column(name = "security_version", nullable = false)
+    private Long securityVersion = 0L;
+
+    public void setEmail(String email) {
+        this.email = email;
+        this.emailNormalized = normalizeEmail(email);
+    }
+
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
 }
@@ -0,0 +1,16 @@
+package com.enterprise.ordersuite.identity.domain;
+
+/**
+ * Published whenever something that affects how a user authenticates changes.
+ * email is the address the user was known by before the change.
+ */
+public record UserSecurityChangedEvent(Long userId, String email, Change change) {
+
+    public enum Change {
+        DEACTIVATED,
+        REACTIVATED,
+        ROLE_CHANGED,
+        EMAIL_CHANGED,
+        PASSWORD_RESET
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -14,15 +15,50 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmail(String email);
 
-    Optional<User> findByEmailIgnoreCase(String email);
+    Optional<User> findByEmailNormalized(String emailNormalized);
+
+    boolean existsByEmailNormalized(String emailNormalized);
+
+    @Query("""
+            select u
+            from User u
+            join fetch u.role
+            where u.emailNormalized = :emailNormalized
+            """)
+    Optional<User> findByEmailNormalizedFetchingRole(@Param("emailNormalized") String emailNormalized);
 
     @Query("""
             select u
             from User u
             join fetch u.role
-            where lower(u.email) = lower(:email)
+            where u.id = :id
+            """)
+    Optional<User> findByIdFetchingRole(@Param("id") Long id);
+
+    // Case-insensitive lookups go through the indexed email_normalized column
+
+    default Optional<User> findByEmailIgnoreCase(String email) {
+        return findByEmailNormalized(User.normalizeEmail(email));
+    }
+
+    default Optional<User> findByEmailIgnoreCaseFetchingRole(String email) {
+        return findByEmailNormalizedFetchingRole(User.normalizeEmail(email));
+    }
+
+    default boolean existsByEmailIgnoreCase(String email) {
+        return existsByEmailNormalized(User.normalizeEmail(email));
+    }
+
+    @Query("""
+            select u.id as userId, u.securityVersion as securityVersion
+            from User u
+            where u.securityVersion > 0
             """)
-    Optional<User> findByEmailIgnoreCaseFetchingRole(@Param("email") String email);
+    List<UserSecurityVersionView> findBumpedSecurityVersions();
+
+    interface UserSecurityVersionView {
+        Long getUserId();
 
-    boolean existsByEmailIgnoreCase(String normalizedEmail);
+        Long getSecurityVersion();
+    }
 }
@@ -0,0 +1,6 @@
+package com.enterprise.ordersuite.notifications.domain;
+
+public enum NotificationType {
+    // payload: reset URL
+    PASSWORD_RESET_EMAIL
+}
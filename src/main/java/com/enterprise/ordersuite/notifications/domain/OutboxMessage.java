@@ -0,0 +1,58 @@
+package com.enterprise.ordersuite.notifications.domain;
+
+import com.enterprise.ordersuite.common.persistence.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Entity
+@Table(name = "notification_outbox")
+public class OutboxMessage extends BaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 64)
+    private NotificationType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Column(nullable = false, length = 320)
+    private String recipient;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    // Not sent after this, the content is useless by then (e.g. an expired reset link)
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    protected OutboxMessage() {
+    }
+
+    public OutboxMessage(NotificationType type, String recipient, String payload, LocalDateTime dueAt, LocalDateTime expiresAt) {
+        this.type = type;
+        this.status = Status.PENDING;
+        this.recipient = recipient;
+        this.payload = payload;
+        this.nextAttemptAt = dueAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public enum Status {
+        PENDING,
+        // gave up after max-attempts, kept for inspection until the reaper deletes it
+        FAILED
+    }
+}
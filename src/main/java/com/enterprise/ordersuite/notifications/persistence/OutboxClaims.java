@@ -0,0 +1,17 @@
+package com.enterprise.ordersuite.notifications.persistence;
+
+import com.enterprise.ordersuite.notifications.domain.NotificationType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Dispatcher claim, see {@link OutboxClaimsImpl}.
+ */
+public interface OutboxClaims {
+
+    // Leases up to limit due messages until leaseUntil and counts the attempt
+    List<ClaimedMessage> claimDue(LocalDateTime now, LocalDateTime leaseUntil, int limit);
+
+    record ClaimedMessage(long id, NotificationType type, String recipient, String payload, int attempts, LocalDateTime expiresAt) {}
+}
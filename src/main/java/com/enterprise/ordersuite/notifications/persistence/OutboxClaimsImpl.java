@@ -0,0 +1,52 @@
+package com.enterprise.ordersuite.notifications.persistence;
+
+import com.enterprise.ordersuite.notifications.domain.NotificationType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One short transaction per claim. SKIP LOCKED lets several dispatchers (threads or nodes) claim
+ * disjoint batches without waiting on each other, and the lease moves next_attempt_at forward so a
+ * batch whose dispatcher died is picked up again once the lease expires (at-least-once delivery).
+ */
+class OutboxClaimsImpl implements OutboxClaims {
+
+    private static final String CLAIM_DUE = """
+            UPDATE notification_outbox
+            SET attempts = attempts + 1, next_attempt_at = ?, updated_at = ?
+            WHERE id IN (
+                SELECT id FROM notification_outbox
+                WHERE status = 'PENDING' AND next_attempt_at <= ?
+                ORDER BY next_attempt_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING id, type, recipient, payload, attempts, expires_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    OutboxClaimsImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public List<ClaimedMessage> claimDue(LocalDateTime now, LocalDateTime leaseUntil, int limit) {
+        return jdbcTemplate.query(
+                CLAIM_DUE,
+                (rs, rowNum) -> new ClaimedMessage(
+                        rs.getLong("id"),
+                        NotificationType.valueOf(rs.getString("type")),
+                        rs.getString("recipient"),
+                        rs.getString("payload"),
+                        rs.getInt("attempts"),
+                        rs.getObject("expires_at", LocalDateTime.class)
+                ),
+                leaseUntil, now, now, limit
+        );
+    }
+}
@@ -0,0 +1,49 @@
+package com.enterprise.ordersuite.notifications.persistence;
+
+import com.enterprise.ordersuite.notifications.domain.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long>, OutboxClaims {
+
+    @Modifying
+    @Transactional
+    @Query("delete from OutboxMessage m where m.id in :ids")
+    int deleteSent(Collection<Long> ids);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            update OutboxMessage m
+            set m.nextAttemptAt = :nextAttemptAt, m.lastError = :error
+            where m.id = :id
+            """)
+    int scheduleRetry(Long id, LocalDateTime nextAttemptAt, String error);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            update OutboxMessage m
+            set m.status = com.enterprise.ordersuite.notifications.domain.OutboxMessage.Status.FAILED, m.lastError = :error
+            where m.id = :id
+            """)
+    int markFailed(Long id, String error);
+
+    @Query("""
+            select count(m) as depth, min(m.createdAt) as oldestCreatedAt
+            from OutboxMessage m
+            where m.status = com.enterprise.ordersuite.notifications.domain.OutboxMessage.Status.PENDING
+            """)
+    BacklogView backlog();
+
+    interface BacklogView {
+        long getDepth();
+
+        LocalDateTime getOldestCreatedAt();
+    }
+}
@@ -0,0 +1,36 @@
+package com.enterprise.ordersuite.notifications.service;
+
+import com.enterprise.ordersuite.notifications.domain.NotificationType;
+import com.enterprise.ordersuite.notifications.domain.OutboxMessage;
+import com.enterprise.ordersuite.notifications.persistence.OutboxMessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * Queues notifications in the caller's transaction: they are sent by {@link NotificationOutboxDispatcher}
+ * only if that transaction commits, and the caller never waits for the email provider.
+ */
+@Service
+@RequiredArgsConstructor
+public class NotificationOutbox {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final Clock clock;
+
+    // Dropped instead of sent once the link has expired
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueuePasswordResetEmail(String toEmail, String resetUrl, LocalDateTime linkExpiresAt) {
+        outboxMessageRepository.save(new OutboxMessage(
+                NotificationType.PASSWORD_RESET_EMAIL,
+                toEmail,
+                resetUrl,
+                LocalDateTime.now(clock),
+                linkExpiresAt
+        ));
+    }
+}
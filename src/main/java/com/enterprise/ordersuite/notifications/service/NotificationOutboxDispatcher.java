@@ -0,0 +1,169 @@
+package com.enterprise.ordersuite.notifications.service;
+
+import com.enterprise.ordersuite.notifications.persistence.OutboxClaims.ClaimedMessage;
+import com.enterprise.ordersuite.notifications.persistence.OutboxMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends queued notifications through {@link EmailService}.
+
+ * - Claims due messages in batches (short transaction, FOR UPDATE SKIP LOCKED), sends them outside
+ *   any transaction, then deletes the sent ones in one statement.
+ * - A failed send is retried with exponential backoff, after max-attempts the message is marked FAILED.
+ * - Expired messages are deleted instead of sent, and a retry that would fall after the expiry is not scheduled.
+ * - Backlog depth and the age of the oldest pending message are refreshed after every run.
+ */
+@Slf4j
+@Component
+public class NotificationOutboxDispatcher {
+
+    private static final String METRIC_PREFIX = "notifications.outbox";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final EmailService emailService;
+    private final NotificationOutboxProperties properties;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public NotificationOutboxDispatcher(OutboxMessageRepository outboxMessageRepository,
+                                        EmailService emailService,
+                                        NotificationOutboxProperties properties,
+                                        Clock clock,
+                                        MeterRegistry meterRegistry) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.emailService = emailService;
+        this.properties = properties;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder(METRIC_PREFIX + ".depth", depth, AtomicLong::get)
+                .description("Pending notifications, including ones waiting for a retry")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".lag", lagSeconds, AtomicLong::get)
+                .baseUnit("seconds")
+                .description("Age of the oldest pending notification")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${notifications.outbox.poll-interval-ms:1000}",
+            initialDelayString = "${notifications.outbox.poll-interval-ms:1000}"
+    )
+    public void dispatchDue() {
+        int batchSize = properties.getBatchSize();
+
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            LocalDateTime now = LocalDateTime.now(clock);
+            List<ClaimedMessage> claimed = outboxMessageRepository.claimDue(now, now.plus(properties.getLease()), batchSize);
+
+            // Sent and expired ones, both deleted in one statement
+            List<Long> done = new ArrayList<>(claimed.size());
+            for (ClaimedMessage message : claimed) {
+                if (!now.isBefore(message.expiresAt())) {
+                    recordSend(message, "expired", Timer.start(meterRegistry));
+                    done.add(message.id());
+                } else if (send(message)) {
+                    done.add(message.id());
+                }
+            }
+            if (!done.isEmpty()) {
+                outboxMessageRepository.deleteSent(done);
+            }
+
+            if (claimed.size() < batchSize) {
+                break;
+            }
+        }
+
+        refreshBacklog();
+    }
+
+    private boolean send(ClaimedMessage message) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "sent";
+        try {
+            switch (message.type()) {
+                case PASSWORD_RESET_EMAIL -> emailService.sendPasswordResetEmail(message.recipient(), message.payload());
+            }
+            return true;
+        } catch (RuntimeException e) {
+            outcome = handleFailure(message, e);
+            return "expired".equals(outcome);
+        } finally {
+            recordSend(message, outcome, sample);
+        }
+    }
+
+    private void recordSend(ClaimedMessage message, String outcome, Timer.Sample sample) {
+        sample.stop(Timer.builder(METRIC_PREFIX + ".send")
+                .tag("type", message.type().name())
+                .tag("outcome", outcome)
+                .description("Notification send attempts, expired ones are dropped unsent")
+                .register(meterRegistry));
+    }
+
+    private String handleFailure(ClaimedMessage message, RuntimeException e) {
+        String error = truncate(e.getClass().getSimpleName() + ": " + e.getMessage());
+
+        if (message.attempts() >= properties.getMaxAttempts()) {
+            outboxMessageRepository.markFailed(message.id(), error);
+            log.error("Giving up on notification id={} type={} after {} attempts", message.id(), message.type(), message.attempts(), e);
+            return "failed";
+        }
+
+        Duration delay = backoff(message.attempts());
+        LocalDateTime retryAt = LocalDateTime.now(clock).plus(delay);
+        if (!retryAt.isBefore(message.expiresAt())) {
+            // The retry would deliver a dead link, the caller deletes the message
+            log.warn("Dropping notification id={} type={} after {} attempts, it expires before the next retry",
+                    message.id(), message.type(), message.attempts(), e);
+            return "expired";
+        }
+        outboxMessageRepository.scheduleRetry(message.id(), retryAt, error);
+        log.warn("Notification id={} type={} failed (attempt {}), retrying in {}", message.id(), message.type(), message.attempts(), delay, e);
+        return "retry";
+    }
+
+    // initialBackoff * 2^(attempts - 1), capped
+    Duration backoff(int attempts) {
+        Duration max = properties.getMaxBackoff();
+        Duration delay = properties.getInitialBackoff();
+        for (int i = 1; i < attempts && delay.compareTo(max) < 0; i++) {
+            delay = delay.multipliedBy(2);
+        }
+        return delay.compareTo(max) < 0 ? delay : max;
+    }
+
+    private void refreshBacklog() {
+        try {
+            OutboxMessageRepository.BacklogView backlog = outboxMessageRepository.backlog();
+            depth.set(backlog.getDepth());
+            lagSeconds.set(backlog.getOldestCreatedAt() == null
+                    ? 0
+                    : Math.max(0, Duration.between(backlog.getOldestCreatedAt(), LocalDateTime.now(clock)).toSeconds()));
+        } catch (RuntimeException e) {
+            log.debug("Could not read the notification outbox backlog", e);
+        }
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,37 @@
+package com.enterprise.ordersuite.notifications.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "notifications.outbox")
+public class NotificationOutboxProperties {
+
+    // Messages claimed per transaction
+    private int batchSize = 50;
+
+    // A run keeps claiming full batches up to this many, then yields to the next poll
+    private int maxBatchesPerRun = 20;
+
+    // Claimed messages are retried after this if the dispatcher dies before acknowledging them
+    private Duration lease = Duration.ofMinutes(2);
+
+    // After this many failed sends a message is marked FAILED and no longer retried
+    private int maxAttempts = 8;
+
+    // Retry delay doubles per attempt: 10s, 20s, 40s ... capped at maxBackoff
+    private Duration initialBackoff = Duration.ofSeconds(10);
+
+    private Duration maxBackoff = Duration.ofHours(1);
+
+    // Rows (FAILED ones included) are deleted by the reaper this long after the message expired
+    private Duration expiredRetention = Duration.ofDays(1);
+
+    private int reaperBatchSize = 1_000;
+}
@@ -0,0 +1,20 @@
+package com.enterprise.ordersuite.notifications.service;
+
+import com.enterprise.ordersuite.common.reaper.ExpiringTable;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class NotificationOutboxReaperConfig {
+
+    // FAILED rows keep their payload (a reset link) only until it is long dead
+    @Bean
+    public ExpiringTable notificationOutboxExpiringTable(NotificationOutboxProperties properties) {
+        return new ExpiringTable(
+                "notification_outbox",
+                "expires_at",
+                properties.getExpiredRetention(),
+                properties.getReaperBatchSize()
+        );
+    }
+}
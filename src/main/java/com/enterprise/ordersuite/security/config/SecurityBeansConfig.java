@@ -1,13 +1,15 @@
 package com.enterprise.ordersuite.security.config;
 
+import com.enterprise.ordersuite.security.password.BCryptCostTarget;
+import com.enterprise.ordersuite.security.password.BoundedPasswordEncoder;
+import com.enterprise.ordersuite.security.password.CostAwareBCryptPasswordEncoder;
+import com.enterprise.ordersuite.security.password.PasswordHashingProperties;
 import com.enterprise.ordersuite.security.userdetails.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.authentication.AuthenticationProvider;
-import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
@@ -15,23 +17,27 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class SecurityBeansConfig {
 
     private final CustomUserDetailsService customUserDetailsService;
+    private final PasswordHashingProperties passwordHashingProperties;
+    private final MeterRegistry meterRegistry;
+    private final BCryptCostTarget bcryptCostTarget;
 
+    // BCrypt runs on a dedicated bounded pool, never directly on request threads.
+    // Its cost is calibrated once for the cluster unless security.password-hashing.bcrypt-strength is set.
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int strength = bcryptCostTarget.resolve();
+
+        return new BoundedPasswordEncoder(
+                new CostAwareBCryptPasswordEncoder(strength),
+                passwordHashingProperties,
+                meterRegistry
+        );
     }
 
+    // No AuthenticationProvider: login checks the password in AuthenticationService and requests carry JWTs.
+    // CustomUserDetails holds no password hash, a DaoAuthenticationProvider over it would reject every login
     @Bean
     public UserDetailsService userDetailsService() {
         return customUserDetailsService;
     }
-
-    @Bean
-    public AuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider =
-                new DaoAuthenticationProvider(customUserDetailsService);
-
-        authProvider.setPasswordEncoder(passwordEncoder());
-        return authProvider;
-    }
 }
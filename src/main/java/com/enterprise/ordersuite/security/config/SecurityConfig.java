@@ -2,9 +2,11 @@ package com.enterprise.ordersuite.security.config;
 
 import com.enterprise.ordersuite.api.errors.ApiErrorResponse;
 import com.enterprise.ordersuite.security.jwt.JwtAuthenticationFilter;
-import com.enterprise.ordersuite.security.ratelimit.InMemoryBucketedSlidingWindowRateLimiter;
-import com.enterprise.ordersuite.security.ratelimit.RateLimiter;
+import com.enterprise.ordersuite.security.ratelimit.RateLimiterFactory;
+import com.enterprise.ordersuite.security.web.ApiQuotaFilter;
+import com.enterprise.ordersuite.security.web.ApiQuotaProperties;
 import com.enterprise.ordersuite.security.web.AuthRateLimitFilter;
+import com.enterprise.ordersuite.security.web.RateLimitRuleTable;
 import com.enterprise.ordersuite.security.web.RequestIdFilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletResponse;
@@ -14,7 +16,6 @@ import org.springframework.context.annotation.Configuration;
 
 import org.springframework.http.MediaType;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
-import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -34,60 +35,26 @@ import java.time.Instant;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
-    private final AuthenticationProvider authenticationProvider;
     private final ObjectMapper objectMapper;
     private final Clock clock;
 
-    // ---- Rate limiters ----
+    // ---- Rate limiting (rules in security.rate-limit.rules) ----
 
-    @Bean("forgotPasswordRateLimiter")
-    public RateLimiter forgotPasswordRateLimiter() {
-        return new InMemoryBucketedSlidingWindowRateLimiter(5, 10, clock);
-    }
-
-    @Bean("loginRateLimiter")
-    public RateLimiter loginRateLimiter() {
-        return new InMemoryBucketedSlidingWindowRateLimiter(5, 5, clock);
-    }
-
-    @Bean("refreshLimiter")
-    public RateLimiter refreshLimiter() {
-        return new InMemoryBucketedSlidingWindowRateLimiter(10, 1, clock);
-    }
-
-    @Bean("logoutLimiter")
-    public RateLimiter logoutLimiter() {
-        return new InMemoryBucketedSlidingWindowRateLimiter(30, 1, clock);
-    }
-
-    @Bean("resetPasswordRateLimiter")
-    public RateLimiter resetPasswordRateLimiter() {
-        return new InMemoryBucketedSlidingWindowRateLimiter(5, 10, clock);
+    @Bean
+    public AuthRateLimitFilter authRateLimitFilter(RateLimitRuleTable rateLimitRuleTable) {
+        return new AuthRateLimitFilter(rateLimitRuleTable, objectMapper, clock);
     }
 
     @Bean
-    public AuthRateLimitFilter authRateLimitFilter(
-            RateLimiter forgotPasswordRateLimiter,
-            RateLimiter loginRateLimiter,
-            RateLimiter resetPasswordRateLimiter,
-            RateLimiter refreshLimiter,
-            RateLimiter logoutLimiter
-    ) {
-        return new AuthRateLimitFilter(
-                forgotPasswordRateLimiter,
-                loginRateLimiter, // test
-                resetPasswordRateLimiter,
-                refreshLimiter,
-                logoutLimiter,
-                objectMapper,
-                clock
-        );
+    public ApiQuotaFilter apiQuotaFilter(ApiQuotaProperties apiQuotaProperties, RateLimiterFactory rateLimiterFactory) {
+        return new ApiQuotaFilter(apiQuotaProperties, rateLimiterFactory, objectMapper, clock);
     }
 
     @Bean
     public SecurityFilterChain securityFilterChain(
             HttpSecurity http,
             AuthRateLimitFilter authRateLimitFilter,
+            ApiQuotaFilter apiQuotaFilter,
             RequestIdFilter requestIdFilter
     ) throws Exception {
 
@@ -110,6 +77,9 @@ public class SecurityConfig {
                         .requestMatchers("/admin/**").hasRole("ADMIN")
                         .requestMatchers("/users/**").hasRole("ADMIN")
                         .requestMatchers("/roles").hasRole("ADMIN")
+                        .requestMatchers("/actuator/ratelimits", "/actuator/ratelimits/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/reaper", "/actuator/reaper/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/jobs", "/actuator/jobs/**").hasRole("ADMIN")
 
                         .anyRequest().authenticated()
                 )
@@ -118,16 +88,17 @@ public class SecurityConfig {
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
 
-                .authenticationProvider(authenticationProvider)
-
                 // RequestId FIRST
                 .addFilterBefore(requestIdFilter, UsernamePasswordAuthenticationFilter.class)
 
-                // Rate limit
+                // JWT auth
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+
+                // Rate limit, after JWT so rules can key on the authenticated user
                 .addFilterBefore(authRateLimitFilter, UsernamePasswordAuthenticationFilter.class)
 
-                // JWT auth
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                // Per-user quota for authenticated API calls
+                .addFilterBefore(apiQuotaFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
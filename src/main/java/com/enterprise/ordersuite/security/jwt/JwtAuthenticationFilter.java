@@ -24,6 +24,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final CustomUserDetailsService customUserDetailsService;
+    private final UserSecurityVersionRegistry securityVersions;
+    private final JwtProperties jwtProperties;
 
     @Override
     protected void doFilterInternal(
@@ -42,38 +44,51 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String jwt = authHeader.substring(7);
 
-        String userEmail;
-        try {
-            userEmail = jwtService.extractEmail(jwt);
-        } catch (Exception ex) {
-            // Token malformed or cannot be parsed, do not authenticate
+        // Token malformed, tampered or expired, do not authenticate
+        VerifiedToken token = jwtService.verify(jwt).orElse(null);
+        if (token == null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            try {
-                CustomUserDetails userDetails =
-                        (CustomUserDetails) customUserDetailsService.loadUserByUsername(userEmail);
-                System.out.println("CustomUserDetailsService called for:");
-                if (jwtService.isTokenValid(jwt, userDetails.user())) {
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(
-                                    userDetails,
-                                    null,
-                                    userDetails.getAuthorities()
-                            );
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            CustomUserDetails userDetails = jwtProperties.isClaimsPrincipalEnabled() && token.hasPrincipalClaims()
+                    ? principalFromClaims(token)
+                    : principalFromDatabase(token);
 
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+            if (userDetails != null) {
+                UsernamePasswordAuthenticationToken authToken =
+                        new UsernamePasswordAuthenticationToken(
+                                userDetails,
+                                null,
+                                userDetails.getAuthorities()
+                        );
 
-            } catch (UsernameNotFoundException | DisabledException ex) {
-                // User does not exist or is disabled, do not authenticate
-                // Continue the chain, protected endpoints will return 401
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    private CustomUserDetails principalFromClaims(VerifiedToken token) {
+        // Deactivation, role or email changes bump the version, revoking older tokens
+        if (!securityVersions.isCurrent(token.userId(), token.securityVersion())) {
+            return null;
+        }
+        return CustomUserDetails.fromClaims(token.userId(), token.subject(), token.role());
+    }
+
+    private CustomUserDetails principalFromDatabase(VerifiedToken token) {
+        try {
+            CustomUserDetails userDetails =
+                    (CustomUserDetails) customUserDetailsService.loadUserByUsername(token.subject());
+            return jwtService.isTokenValid(token, userDetails.getUsername()) ? userDetails : null;
+        } catch (UsernameNotFoundException | DisabledException ex) {
+            // User does not exist or is disabled, do not authenticate
+            // Continue the chain, protected endpoints will return 401
+            return null;
+        }
+    }
 }
@@ -14,4 +14,11 @@ public class JwtProperties {
     private String secret;
     private long expiration;
 
-}
\ No newline at end of file
+    // Max number of verified access tokens kept in memory (0 disables the cache)
+    private int verifiedCacheMaxEntries = 10_000;
+
+    // When false, principals are always resolved through CustomUserDetailsService (cached lookup)
+    // instead of being built from the uid/role/sv claims
+    private boolean claimsPrincipalEnabled = true;
+
+}
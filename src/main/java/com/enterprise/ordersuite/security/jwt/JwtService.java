@@ -1,62 +1,189 @@
 package com.enterprise.ordersuite.security.jwt;
 
+import com.enterprise.ordersuite.auth.service.tokens.TokenHashing;
 import com.enterprise.ordersuite.identity.domain.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.Mac;
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
 
 @Service
-@RequiredArgsConstructor
 public class JwtService {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_SECURITY_VERSION = "sv";
+
+    // Far above any token we issue, keeps hashing/parsing of junk headers bounded
+    private static final int MAX_TOKEN_LENGTH = 8192;
+
     private final JwtProperties jwtProperties;
+    private final Clock clock;
 
-    public String generateToken(User user) {
-        return buildToken(user.getEmail());
+    // Decoded once, the secret does not change at runtime
+    private final SecretKey signInKey;
+    private final JwtParser parser;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final RejectedTokenCache rejectedTokenCache;
+
+    // Mac is not thread-safe, one per request thread
+    private final ThreadLocal<Mac> signatureMac;
+
+    public JwtService(JwtProperties jwtProperties, Clock clock) {
+        this.jwtProperties = jwtProperties;
+        this.clock = clock;
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtProperties.getSecret()));
+        this.parser = Jwts.parser()
+                .verifyWith(signInKey)
+                .clock(() -> Date.from(clock.instant()))
+                .build();
+        this.verifiedTokenCache = new VerifiedTokenCache(jwtProperties.getVerifiedCacheMaxEntries(), clock);
+        this.rejectedTokenCache = new RejectedTokenCache(jwtProperties.getVerifiedCacheMaxEntries(), clock);
+        this.signatureMac = ThreadLocal.withInitial(() -> newMac(signInKey));
     }
 
-    private String buildToken(String subject) {
+    /**
+     * Access tokens are self-describing (user id, role, security version),
+     * so authenticated requests do not need to load the user.
+     */
+    public String generateToken(User user) {
+        long nowMillis = clock.millis();
         return Jwts.builder()
-                .subject(subject)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + jwtProperties.getExpiration()))
-                .signWith(getSignInKey())
+                .subject(user.getEmail())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLE, user.getRole().getName())
+                .claim(CLAIM_SECURITY_VERSION, user.getSecurityVersion())
+                .issuedAt(new Date(nowMillis))
+                .expiration(new Date(nowMillis + jwtProperties.getExpiration()))
+                .signWith(signInKey)
                 .compact();
     }
 
-    public String extractEmail(String token) {
-        return extractAllClaims(token).getSubject();
+    /**
+     * Parses and verifies the token exactly once.
+     * Returns empty for malformed, tampered or expired tokens, never throws.
+
+     * The parser reports every rejection with an exception (and its stack trace), so it only sees
+     * tokens whose signature already checked out here, and only once: a token it rejects anyway
+     * (expired) is remembered by digest.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        // Cheap structural check first, so garbage never reaches the parser (no exception, no stack trace)
+        if (!looksLikeCompactJws(token)) {
+            return Optional.empty();
+        }
+
+        ByteBuffer digest = ByteBuffer.wrap(TokenHashing.sha256(token));
+
+        VerifiedToken cached = verifiedTokenCache.get(digest);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        if (rejectedTokenCache.contains(digest)) {
+            return Optional.empty();
+        }
+        // Tampered tokens end here, not remembered: they are free to forge and would only fill the cache
+        if (!signatureMatches(token)) {
+            return Optional.empty();
+        }
+
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException ex) {
+            rejectedTokenCache.add(digest);
+            return Optional.empty();
+        }
+
+        if (claims.getSubject() == null || claims.getExpiration() == null) {
+            rejectedTokenCache.add(digest);
+            return Optional.empty();
+        }
+
+        VerifiedToken verified = VerifiedToken.from(claims);
+        verifiedTokenCache.put(digest, verified);
+        return Optional.of(verified);
     }
 
-    public boolean isTokenValid(String token, User user) {
-        String email = extractEmail(token);
-        return email.equals(user.getEmail()) && !isTokenExpired(token);
+    public boolean isTokenValid(VerifiedToken token, String email) {
+        return token.subject().equals(email) && !token.isExpired(clock.instant());
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    int rejectedCacheSize() {
+        return rejectedTokenCache.size();
     }
 
-    private Date extractExpiration(String token) {
-        return extractAllClaims(token).getExpiration();
+    // HMAC of header.payload with our key, compared in constant time. The parser checks it again
+    private boolean signatureMatches(String token) {
+        int lastDot = token.lastIndexOf('.');
+        String signature = token.substring(lastDot + 1);
+        // A single leftover base64 character can not be decoded
+        if (signature.length() % 4 == 1) {
+            return false;
+        }
+
+        byte[] expected = signatureMac.get().doFinal(token.substring(0, lastDot).getBytes(StandardCharsets.US_ASCII));
+        return MessageDigest.isEqual(expected, Base64.getUrlDecoder().decode(signature));
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private static Mac newMac(SecretKey key) {
+        try {
+            Mac mac = Mac.getInstance(key.getAlgorithm());
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No " + key.getAlgorithm() + " for the JWT signing key", e);
+        }
+    }
+
+    /**
+     * header.payload.signature, all three non-empty and base64url encoded.
+     */
+    private static boolean looksLikeCompactJws(String token) {
+        if (token == null || token.isEmpty() || token.length() > MAX_TOKEN_LENGTH) {
+            return false;
+        }
+
+        int dots = 0;
+        int segmentLength = 0;
+
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (segmentLength == 0 || ++dots > 2) {
+                    return false;
+                }
+                segmentLength = 0;
+            } else if (isBase64UrlChar(c)) {
+                segmentLength++;
+            } else {
+                return false;
+            }
+        }
+
+        return dots == 2 && segmentLength > 0;
     }
 
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtProperties.getSecret());
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static boolean isBase64UrlChar(char c) {
+        return (c >= 'A' && c <= 'Z')
+                || (c >= 'a' && c <= 'z')
+                || (c >= '0' && c <= '9')
+                || c == '-'
+                || c == '_';
     }
 }
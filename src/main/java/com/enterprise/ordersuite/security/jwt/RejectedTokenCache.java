@@ -0,0 +1,71 @@
+package com.enterprise.ordersuite.security.jwt;
+
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Digests of correctly signed tokens the parser rejected (in practice: expired), so a client
+ * retrying the same token is turned away without parsing it again.
+
+ * - Only tokens with a valid signature get here, so its entries cannot be forged to fill it.
+ * - Entries are forgotten after REMEMBER_MILLIS, an expired token stays expired anyway.
+ * - When the cache is full, old entries are swept (at most once per second);
+ *   if it is still full, new digests are simply not remembered.
+ */
+final class RejectedTokenCache {
+
+    private static final long REMEMBER_MILLIS = 10 * 60 * 1_000;
+    private static final long SWEEP_INTERVAL_MILLIS = 1_000;
+
+    private final int maxEntries;
+    private final Clock clock;
+
+    private final Map<ByteBuffer, Long> forgetAtMillisByDigest = new ConcurrentHashMap<>();
+    private volatile long nextSweepAtMillis;
+
+    RejectedTokenCache(int maxEntries, Clock clock) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.clock = clock;
+    }
+
+    boolean contains(ByteBuffer digest) {
+        Long forgetAt = forgetAtMillisByDigest.get(digest);
+        if (forgetAt == null) {
+            return false;
+        }
+        if (clock.millis() >= forgetAt) {
+            forgetAtMillisByDigest.remove(digest, forgetAt);
+            return false;
+        }
+        return true;
+    }
+
+    void add(ByteBuffer digest) {
+        if (maxEntries == 0) {
+            return;
+        }
+        if (forgetAtMillisByDigest.size() >= maxEntries) {
+            sweep();
+            if (forgetAtMillisByDigest.size() >= maxEntries) {
+                return;
+            }
+        }
+        forgetAtMillisByDigest.put(digest, clock.millis() + REMEMBER_MILLIS);
+    }
+
+    int size() {
+        return forgetAtMillisByDigest.size();
+    }
+
+    private void sweep() {
+        long nowMillis = clock.millis();
+        if (nowMillis < nextSweepAtMillis) {
+            return;
+        }
+        nextSweepAtMillis = nowMillis + SWEEP_INTERVAL_MILLIS;
+
+        forgetAtMillisByDigest.values().removeIf(forgetAt -> nowMillis >= forgetAt);
+    }
+}
@@ -0,0 +1,52 @@
+package com.enterprise.ordersuite.security.jwt;
+
+import com.enterprise.ordersuite.config.SchedulingConfig;
+import com.enterprise.ordersuite.identity.persistence.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory table of per-user security versions, used to revoke claim-based access tokens
+ * without loading the user on every request.
+
+ * - Only users whose version was ever bumped are tracked (everyone else is at version 0).
+ * - Local bumps are recorded right after commit.
+ * - The table is reloaded from the database periodically, so bumps made on other nodes
+ *   are picked up within the refresh interval.
+ */
+@Component
+public class UserSecurityVersionRegistry {
+
+    private final UserRepository userRepository;
+
+    private final Map<Long, Long> versionByUserId = new ConcurrentHashMap<>();
+
+    public UserSecurityVersionRegistry(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public boolean isCurrent(long userId, long tokenVersion) {
+        Long current = versionByUserId.get(userId);
+        return current == null || tokenVersion >= current;
+    }
+
+    public void record(long userId, long version) {
+        versionByUserId.merge(userId, version, Math::max);
+    }
+
+    @PostConstruct
+    @Scheduled(
+            scheduler = SchedulingConfig.REFRESH_SCHEDULER,
+            fixedDelayString = "${jwt.security-version-refresh-ms:30000}",
+            initialDelayString = "${jwt.security-version-refresh-ms:30000}"
+    )
+    public void reload() {
+        for (UserRepository.UserSecurityVersionView view : userRepository.findBumpedSecurityVersions()) {
+            record(view.getUserId(), view.getSecurityVersion());
+        }
+    }
+}
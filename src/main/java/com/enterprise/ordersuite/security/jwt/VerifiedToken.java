@@ -0,0 +1,53 @@
+package com.enterprise.ordersuite.security.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable result of a successful signature + expiry check.
+ * Built once per token, so callers never re-parse the compact JWT.
+ */
+public record VerifiedToken(String subject, Instant expiresAt, Map<String, Object> claims) {
+
+    static VerifiedToken from(Claims claims) {
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.getExpiration().toInstant(),
+                Collections.unmodifiableMap(new LinkedHashMap<>(claims))
+        );
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    /**
+     * Tokens issued before user id / role / security version were embedded lack these claims.
+     */
+    public boolean hasPrincipalClaims() {
+        return userId() != null && role() != null && securityVersion() != null;
+    }
+
+    public Long userId() {
+        return longClaim(JwtService.CLAIM_USER_ID);
+    }
+
+    public String role() {
+        Object value = claims.get(JwtService.CLAIM_ROLE);
+        return value instanceof String s ? s : null;
+    }
+
+    public Long securityVersion() {
+        return longClaim(JwtService.CLAIM_SECURITY_VERSION);
+    }
+
+    private Long longClaim(String name) {
+        // JSON numbers come back as Integer or Long depending on magnitude
+        Object value = claims.get(name);
+        return value instanceof Number n ? n.longValue() : null;
+    }
+}
@@ -0,0 +1,72 @@
+package com.enterprise.ordersuite.security.jwt;
+
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of recently verified access tokens, keyed by token digest.
+
+ * - Entries are dropped once the token itself expires (on read, or during a sweep).
+ * - When the cache is full, expired entries are swept (at most once per second);
+ *   if it is still full, new tokens are simply not cached.
+
+ * Keying by digest means raw bearer tokens are never kept in memory.
+ */
+final class VerifiedTokenCache {
+
+    private static final long SWEEP_INTERVAL_MILLIS = 1_000;
+
+    private final int maxEntries;
+    private final Clock clock;
+
+    private final Map<ByteBuffer, VerifiedToken> tokensByDigest = new ConcurrentHashMap<>();
+    private volatile long nextSweepAtMillis;
+
+    VerifiedTokenCache(int maxEntries, Clock clock) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.clock = clock;
+    }
+
+    VerifiedToken get(ByteBuffer digest) {
+        VerifiedToken token = tokensByDigest.get(digest);
+        if (token == null) {
+            return null;
+        }
+        if (token.isExpired(clock.instant())) {
+            tokensByDigest.remove(digest, token);
+            return null;
+        }
+        return token;
+    }
+
+    void put(ByteBuffer digest, VerifiedToken token) {
+        if (maxEntries == 0) {
+            return;
+        }
+        if (tokensByDigest.size() >= maxEntries) {
+            sweepExpired();
+            if (tokensByDigest.size() >= maxEntries) {
+                return;
+            }
+        }
+        tokensByDigest.put(digest, token);
+    }
+
+    int size() {
+        return tokensByDigest.size();
+    }
+
+    private void sweepExpired() {
+        long nowMillis = clock.millis();
+        if (nowMillis < nextSweepAtMillis) {
+            return;
+        }
+        nextSweepAtMillis = nowMillis + SWEEP_INTERVAL_MILLIS;
+
+        Instant now = Instant.ofEpochMilli(nowMillis);
+        tokensByDigest.values().removeIf(t -> t.isExpired(now));
+    }
+}
@@ -0,0 +1,79 @@
+package com.enterprise.ordersuite.security.password;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Picks the BCrypt cost for the current machine. Runs on the first node to start,
+ * BCryptCostTarget shares the result with the rest of the cluster.
+
+ * Each +1 of cost doubles the work, so one measurement at the minimum cost
+ * is enough to estimate every higher cost.
+ */
+@Slf4j
+public final class BCryptCostCalibrator {
+
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int SAMPLE_ROUNDS = 3;
+    private static final String SAMPLE_PASSWORD = "calibration-Password-123!";
+
+    private BCryptCostCalibrator() {}
+
+    public static int calibrate(PasswordHashingProperties properties) {
+        int minStrength = properties.getBcryptMinStrength();
+        long baselineNanos = measureMedianNanos(minStrength);
+
+        int strength = chooseStrength(
+                baselineNanos,
+                minStrength,
+                properties.getBcryptTargetLatency(),
+                properties.getBcryptMaxStrength()
+        );
+
+        log.info(
+                "BCrypt calibrated: cost {} (cost {} took {} ms, target {} ms)",
+                strength,
+                minStrength,
+                Duration.ofNanos(baselineNanos).toMillis(),
+                properties.getBcryptTargetLatency().toMillis()
+        );
+        return strength;
+    }
+
+    /**
+     * Highest cost in [minStrength, maxStrength] whose estimated hash time fits the target.
+     * Never goes below minStrength, even on slow hardware.
+     */
+    static int chooseStrength(long baselineNanos, int minStrength, Duration target, int maxStrength) {
+        long targetNanos = target.toNanos();
+        long estimate = Math.max(1, baselineNanos);
+
+        int strength = minStrength;
+        while (strength < maxStrength && estimate * 2 <= targetNanos) {
+            estimate *= 2;
+            strength++;
+        }
+        return strength;
+    }
+
+    private static long measureMedianNanos(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            encoder.encode(SAMPLE_PASSWORD);
+        }
+
+        long[] samples = new long[SAMPLE_ROUNDS];
+        for (int i = 0; i < SAMPLE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(samples);
+        return samples[SAMPLE_ROUNDS / 2];
+    }
+}
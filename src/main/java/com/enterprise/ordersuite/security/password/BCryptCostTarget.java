@@ -0,0 +1,77 @@
+package com.enterprise.ordersuite.security.password;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * The BCrypt cost every node hashes with and rehashes stored passwords to.
+
+ * - security.password-hashing.bcrypt-strength pins it.
+ * - Otherwise the first node to start calibrates it and stores it in bcrypt_cost_target,
+ *   later nodes and restarts use the stored cost instead of measuring their own.
+ * - A node started with other calibration settings recalibrates and replaces the stored cost.
+ */
+@Slf4j
+@Component
+public class BCryptCostTarget {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordHashingProperties properties;
+
+    public BCryptCostTarget(JdbcTemplate jdbcTemplate, PasswordHashingProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    public int resolve() {
+        if (properties.getBcryptStrength() != null) {
+            return properties.getBcryptStrength();
+        }
+
+        Integer stored = storedStrength();
+        if (stored != null) {
+            log.info("BCrypt cost {} taken from bcrypt_cost_target", stored);
+            return stored;
+        }
+
+        int calibrated = BCryptCostCalibrator.calibrate(properties);
+        // Keeps a row another node stored meanwhile with the same settings, every node then reads that one
+        jdbcTemplate.update("""
+                INSERT INTO bcrypt_cost_target (id, strength, target_latency_ms, min_strength, max_strength, calibrated_at)
+                VALUES (1, ?, ?, ?, ?, now())
+                ON CONFLICT (id) DO UPDATE
+                SET strength = EXCLUDED.strength,
+                    target_latency_ms = EXCLUDED.target_latency_ms,
+                    min_strength = EXCLUDED.min_strength,
+                    max_strength = EXCLUDED.max_strength,
+                    calibrated_at = EXCLUDED.calibrated_at
+                WHERE (bcrypt_cost_target.target_latency_ms, bcrypt_cost_target.min_strength, bcrypt_cost_target.max_strength)
+                    IS DISTINCT FROM (EXCLUDED.target_latency_ms, EXCLUDED.min_strength, EXCLUDED.max_strength)
+                """,
+                calibrated,
+                properties.getBcryptTargetLatency().toMillis(),
+                properties.getBcryptMinStrength(),
+                properties.getBcryptMaxStrength()
+        );
+
+        stored = storedStrength();
+        return stored != null ? stored : calibrated;
+    }
+
+    // Null when nothing was calibrated yet with the current settings
+    private Integer storedStrength() {
+        List<Integer> rows = jdbcTemplate.queryForList("""
+                SELECT strength FROM bcrypt_cost_target
+                WHERE id = 1 AND target_latency_ms = ? AND min_strength = ? AND max_strength = ?
+                """,
+                Integer.class,
+                properties.getBcryptTargetLatency().toMillis(),
+                properties.getBcryptMinStrength(),
+                properties.getBcryptMaxStrength()
+        );
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+}
@@ -0,0 +1,34 @@
+package com.enterprise.ordersuite.security.password;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "security.password-hashing")
+public class PasswordHashingProperties {
+
+    // BCrypt is pure CPU work, more threads than cores only adds contention
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    // Hash requests allowed to wait for a thread before new ones are rejected with 503
+    private int queueCapacity = 64;
+
+    private long retryAfterSeconds = 1;
+
+    // Fixed BCrypt cost, skips calibration when set
+    private Integer bcryptStrength;
+
+    // Calibration picks the highest cost whose single hash stays within this budget on this machine
+    private Duration bcryptTargetLatency = Duration.ofMillis(250);
+
+    // Never below the stock BCryptPasswordEncoder cost, even on slow hardware
+    private int bcryptMinStrength = 10;
+    private int bcryptMaxStrength = 16;
+
+}
@@ -0,0 +1,19 @@
+package com.enterprise.ordersuite.security.password;
+
+/**
+ * Thrown when the password hashing queue is full.
+ * No stack trace: this is a load-shedding signal, raised under bursts.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingRejectedException(long retryAfterSeconds) {
+        super("Password hashing capacity exhausted", null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,163 @@
+package com.enterprise.ordersuite.security.ratelimit;
+
+import java.time.Clock;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free variant of {@link InMemoryBucketedSlidingWindowRateLimiter}, same buckets and same decisions.
+ *
+ * Each bucket is a single long: minute in the high 32 bits, count in the low 32 bits.
+ * Rolling a bucket over to a new minute and incrementing it is one CAS, so callers sharing
+ * a key (NAT, corporate egress IP) retry a CAS instead of parking on a monitor.
+ *
+ * Only the current minute's bucket is ever written, older buckets are read as they are.
+ */
+public class AtomicBucketedSlidingWindowRateLimiter implements RateLimiter {
+
+    private static final long BUCKET_SECONDS = 60;
+
+    private static final long COUNT_MASK = 0xFFFF_FFFFL;
+    private static final long EMPTY_BUCKET = Long.MIN_VALUE;
+
+    private final int limit;
+    private final int windowMinutes;
+    private final Clock clock;
+
+    private final RateLimitKeyStore<Buckets> keyStore;
+
+    public AtomicBucketedSlidingWindowRateLimiter(int limit, int windowMinutes, Clock clock) {
+        this(limit, windowMinutes, clock, RateLimitProperties.DEFAULT_MAX_KEYS, RateLimitProperties.OverflowPolicy.SHARED);
+    }
+
+    public AtomicBucketedSlidingWindowRateLimiter(int limit,
+                                                  int windowMinutes,
+                                                  Clock clock,
+                                                  int maxKeys,
+                                                  RateLimitProperties.OverflowPolicy overflowPolicy) {
+        if (limit <= 0) throw new IllegalArgumentException("limit must be > 0");
+        if (windowMinutes <= 0) throw new IllegalArgumentException("windowMinutes must be > 0");
+        this.limit = limit;
+        this.windowMinutes = windowMinutes;
+        this.clock = Objects.requireNonNull(clock, "clock must not be null");
+        this.keyStore = new RateLimitKeyStore<>(
+                maxKeys,
+                Objects.requireNonNull(overflowPolicy, "overflowPolicy must not be null"),
+                Buckets.estimatedBytes(windowMinutes),
+                this.clock,
+                () -> new Buckets(windowMinutes)
+        );
+    }
+
+    @Override
+    public RateLimitDecision check(String key) {
+        Objects.requireNonNull(key, "key must not be null");
+
+        long nowEpochSeconds = clock.instant().getEpochSecond();
+        long nowMinute = nowEpochSeconds / BUCKET_SECONDS;
+
+        Buckets buckets = keyStore.stateFor(key, nowEpochSeconds);
+        if (buckets == null) {
+            return keyStore.overflowPolicy().untrackedDecision();
+        }
+
+        // Increment current bucket, resetting it first if it still holds an older minute
+        int idx = Math.floorMod(nowMinute, windowMinutes);
+        long currentCount;
+        while (true) {
+            long bucket = buckets.get(idx);
+            long next;
+            if (bucket != EMPTY_BUCKET && minuteOf(bucket) == nowMinute) {
+                long count = countOf(bucket);
+                // Saturate instead of wrapping into the minute bits
+                next = count == COUNT_MASK ? bucket : bucket + 1;
+            } else {
+                next = pack(nowMinute, 1);
+            }
+            if (buckets.compareAndSet(idx, bucket, next)) {
+                currentCount = countOf(next);
+                break;
+            }
+        }
+
+        // Calculate total within window
+        long cutoffMinuteExclusive = nowMinute - windowMinutes; // valid minutes are (cutoffMinuteExclusive, nowMinute]
+        long total = currentCount;
+        long oldestMinuteWithCount = nowMinute;
+
+        for (int i = 0; i < windowMinutes; i++) {
+            if (i == idx) continue;
+
+            long bucket = buckets.get(i);
+            if (bucket == EMPTY_BUCKET) continue;
+
+            long bucketMinute = minuteOf(bucket);
+            long bucketCount = countOf(bucket);
+
+            if (bucketCount <= 0) continue;
+
+            if (bucketMinute > cutoffMinuteExclusive && bucketMinute <= nowMinute) {
+                total += bucketCount;
+                if (bucketMinute < oldestMinuteWithCount) {
+                    oldestMinuteWithCount = bucketMinute;
+                }
+            }
+        }
+
+        // Same reset / retry-after as the synchronized limiter: the oldest counted minute leaves the window
+        long allowedAtEpochSeconds = (oldestMinuteWithCount + windowMinutes) * BUCKET_SECONDS;
+
+        long retryAfterSeconds = allowedAtEpochSeconds - nowEpochSeconds;
+        if (retryAfterSeconds < 1) retryAfterSeconds = 1;
+
+        if (total <= limit) {
+            return new RateLimitDecision(true, 0, limit - total, retryAfterSeconds);
+        }
+
+        return new RateLimitDecision(false, retryAfterSeconds, 0, retryAfterSeconds);
+    }
+
+    RateLimitKeyStore<?> keyStore() {
+        return keyStore;
+    }
+
+    private static long pack(long minute, long count) {
+        return (minute << 32) | count;
+    }
+
+    private static long minuteOf(long bucket) {
+        return bucket >>> 32;
+    }
+
+    private static long countOf(long bucket) {
+        return bucket & COUNT_MASK;
+    }
+
+    private static final class Buckets extends AtomicLongArray implements RateLimitKeyStore.KeyState {
+
+        Buckets(int windowMinutes) {
+            super(windowMinutes);
+            for (int i = 0; i < windowMinutes; i++) {
+                set(i, EMPTY_BUCKET);
+            }
+        }
+
+        static long estimatedBytes(int windowMinutes) {
+            // AtomicLongArray header + ref, long[] with its header
+            return 16 + (16 + 8L * windowMinutes);
+        }
+
+        @Override
+        public boolean isIdle(long nowEpochSeconds) {
+            long last = Long.MIN_VALUE;
+            for (int i = 0; i < length(); i++) {
+                long bucket = get(i);
+                if (bucket != EMPTY_BUCKET && minuteOf(bucket) > last) {
+                    last = minuteOf(bucket);
+                }
+            }
+            // the last counted minute has left the window
+            return last <= nowEpochSeconds / BUCKET_SECONDS - length();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.enterprise.ordersuite.security.ratelimit;
+
+import com.enterprise.ordersuite.config.SchedulingConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Wraps limiters in {@link ClusterRateLimiter} when security.rate-limit.cluster-enabled is set,
+ * and flushes all of them on the refresh scheduler. A flush that waited behind a long job for more than
+ * cluster-stale-after would drop every limiter to node-local counts.
+ */
+@Slf4j
+@Component
+public class ClusterRateLimitCoordinator {
+
+    private static final String METRIC_PREFIX = "security.ratelimit.cluster";
+
+    private final RateLimitCounterStore store;
+    private final RateLimitProperties properties;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+
+    private final List<ClusterRateLimiter> limiters = new CopyOnWriteArrayList<>();
+    private final Map<String, Boolean> degradedByLimiter = new ConcurrentHashMap<>();
+    private long lastCleanupMinute;
+
+    public ClusterRateLimitCoordinator(RateLimitCounterStore store,
+                                       RateLimitProperties properties,
+                                       Clock clock,
+                                       MeterRegistry meterRegistry) {
+        this.store = store;
+        this.properties = properties;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public RateLimiter wrapIfEnabled(String name, int limit, int windowMinutes, RateLimiter local) {
+        if (!properties.isClusterEnabled()) {
+            return local;
+        }
+
+        ClusterRateLimiter limiter = new ClusterRateLimiter(
+                name,
+                limit,
+                windowMinutes,
+                local,
+                clock,
+                properties.getClusterStaleAfter().toMillis(),
+                properties.getMaxKeysPerLimiter()
+        );
+        limiters.add(limiter);
+
+        Gauge.builder(METRIC_PREFIX + ".degraded", limiter, l -> l.isDegraded() ? 1 : 0)
+                .tag("limiter", name)
+                .description("1 while the limiter decides on node-local counts only")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".keys", limiter, ClusterRateLimiter::trackedKeys)
+                .tag("limiter", name)
+                .description("Keys with cluster counts held on this node")
+                .register(meterRegistry);
+
+        return limiter;
+    }
+
+    @Scheduled(
+            scheduler = SchedulingConfig.REFRESH_SCHEDULER,
+            fixedDelayString = "${security.rate-limit.cluster-flush-interval-ms:250}",
+            initialDelayString = "${security.rate-limit.cluster-flush-interval-ms:250}"
+    )
+    public void flushAll() {
+        for (ClusterRateLimiter limiter : limiters) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "success";
+            try {
+                limiter.flush(store);
+                if (degradedByLimiter.remove(limiter.name()) != null) {
+                    log.info("Rate limiter {} is in sync with the cluster again", limiter.name());
+                }
+            } catch (RuntimeException e) {
+                outcome = "failure";
+                if (degradedByLimiter.putIfAbsent(limiter.name(), Boolean.TRUE) == null) {
+                    log.warn("Rate limit flush failed for {}, node-local limits apply until it recovers", limiter.name(), e);
+                }
+            } finally {
+                sample.stop(Timer.builder(METRIC_PREFIX + ".flush")
+                        .tag("limiter", limiter.name())
+                        .tag("outcome", outcome)
+                        .register(meterRegistry));
+            }
+        }
+
+        cleanupExpiredMinutes();
+    }
+
+    // Once a minute, drop counters that have left every window. Idempotent, every node may run it.
+    private void cleanupExpiredMinutes() {
+        long nowMinute = clock.millis() / 60_000;
+        if (limiters.isEmpty() || nowMinute == lastCleanupMinute) {
+            return;
+        }
+        lastCleanupMinute = nowMinute;
+
+        for (ClusterRateLimiter limiter : limiters) {
+            try {
+                store.deleteUpTo(limiter.name(), nowMinute - limiter.windowMinutes());
+            } catch (RuntimeException e) {
+                log.debug("Rate limit counter cleanup failed for {}", limiter.name(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.enterprise.ordersuite.security.ratelimit;
+
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sliding window limiter whose counts are shared by all nodes through a {@link RateLimitCounterStore}.
+
+ * - check() never touches the store: it adds to a local pending count and decides on
+ *   (window total as of the last flush) + (local hits not yet reflected in it).
+ * - flush() (every cluster-flush-interval) writes pending hits in one batch and reads back window
+ *   totals for every key this node has seen, so other nodes' hits show up within one interval.
+ *   Accuracy: a key may exceed its limit by the hits other nodes took since the last flush.
+ * - The node-local limiter is always updated as well. Its decision is used whenever the last
+ *   successful flush is older than cluster-stale-after (database slow or down), so limits keep
+ *   holding per node during an outage. Hits taken in that mode are not replayed to the store.
+ */
+public class ClusterRateLimiter implements RateLimiter {
+
+    private static final long BUCKET_SECONDS = 60;
+
+    private final String name;
+    private final int limit;
+    private final int windowMinutes;
+    private final RateLimiter local;
+    private final Clock clock;
+    private final long staleAfterMillis;
+    private final int maxKeys;
+
+    private final Map<String, KeyCounter> countersByKey = new ConcurrentHashMap<>();
+
+    // 0 until the first successful flush: start in local mode
+    private volatile long lastSyncedAtMillis;
+
+    public ClusterRateLimiter(String name,
+                              int limit,
+                              int windowMinutes,
+                              RateLimiter local,
+                              Clock clock,
+                              long staleAfterMillis,
+                              int maxKeys) {
+        if (limit <= 0) throw new IllegalArgumentException("limit must be > 0");
+        if (windowMinutes <= 0) throw new IllegalArgumentException("windowMinutes must be > 0");
+        this.name = Objects.requireNonNull(name, "name must not be null");
+        this.limit = limit;
+        this.windowMinutes = windowMinutes;
+        this.local = Objects.requireNonNull(local, "local must not be null");
+        this.clock = Objects.requireNonNull(clock, "clock must not be null");
+        this.staleAfterMillis = staleAfterMillis;
+        this.maxKeys = maxKeys;
+    }
+
+    @Override
+    public RateLimitDecision check(String key) {
+        Objects.requireNonNull(key, "key must not be null");
+
+        RateLimitDecision localDecision = local.check(key);
+
+        long nowMillis = clock.millis();
+        if (isDegraded(nowMillis)) {
+            return localDecision;
+        }
+
+        KeyCounter counter = countersByKey.get(key);
+        if (counter == null) {
+            if (countersByKey.size() >= maxKeys) {
+                return localDecision;
+            }
+            counter = countersByKey.computeIfAbsent(key, k -> new KeyCounter());
+        }
+
+        long nowEpochSeconds = nowMillis / 1000;
+        long nowMinute = nowEpochSeconds / BUCKET_SECONDS;
+        counter.lastSeenMinute = nowMinute;
+
+        long pending = counter.pending.incrementAndGet();
+        // synced is written before inFlight is cleared, a concurrent read may overcount briefly but never undercounts
+        long total = counter.synced + counter.inFlight + pending;
+
+        long oldestMinute = counter.synced > 0 ? Math.min(counter.oldestMinute, nowMinute) : nowMinute;
+        long retryAfterSeconds = (oldestMinute + windowMinutes) * BUCKET_SECONDS - nowEpochSeconds;
+        if (retryAfterSeconds < 1) retryAfterSeconds = 1;
+
+        if (total <= limit) {
+            return new RateLimitDecision(true, 0, limit - total, retryAfterSeconds);
+        }
+
+        return new RateLimitDecision(false, retryAfterSeconds, 0, retryAfterSeconds);
+    }
+
+    /**
+     * Pushes pending hits and refreshes window totals. Throws if the store fails,
+     * pending hits are kept for the next attempt.
+     */
+    public void flush(RateLimitCounterStore store) {
+        long nowMinute = clock.millis() / 1000 / BUCKET_SECONDS;
+
+        Map<String, Long> deltas = new HashMap<>();
+        for (Map.Entry<String, KeyCounter> entry : countersByKey.entrySet()) {
+            KeyCounter counter = entry.getValue();
+            long delta = counter.pending.getAndSet(0);
+            if (delta > 0) {
+                counter.inFlight += delta;
+                deltas.put(entry.getKey(), delta);
+            } else if (counter.lastSeenMinute <= nowMinute - windowMinutes) {
+                // Not seen for a whole window: nothing left to count locally
+                countersByKey.remove(entry.getKey(), counter);
+            }
+        }
+
+        Map<String, RateLimitCounterStore.WindowTotal> totals;
+        try {
+            totals = store.addAndRead(name, nowMinute, deltas, countersByKey.keySet(), nowMinute - windowMinutes);
+        } catch (RuntimeException e) {
+            deltas.forEach((key, delta) -> {
+                KeyCounter counter = countersByKey.get(key);
+                if (counter != null) {
+                    counter.inFlight -= delta;
+                    counter.pending.addAndGet(delta);
+                }
+            });
+            throw e;
+        }
+
+        for (Map.Entry<String, KeyCounter> entry : countersByKey.entrySet()) {
+            KeyCounter counter = entry.getValue();
+            RateLimitCounterStore.WindowTotal total = totals.get(entry.getKey());
+            counter.oldestMinute = total != null ? total.oldestMinute() : nowMinute;
+            counter.synced = total != null ? total.count() : 0;
+            counter.inFlight = 0;
+        }
+
+        lastSyncedAtMillis = clock.millis();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int windowMinutes() {
+        return windowMinutes;
+    }
+
+    public boolean isDegraded() {
+        return isDegraded(clock.millis());
+    }
+
+    int trackedKeys() {
+        return countersByKey.size();
+    }
+
+    private boolean isDegraded(long nowMillis) {
+        return nowMillis - lastSyncedAtMillis > staleAfterMillis;
+    }
+
+    private static final class KeyCounter {
+        // Hits not yet sent to the store
+        final AtomicLong pending = new AtomicLong();
+        // Written by the flushing thread only
+        volatile long inFlight;
+        volatile long synced;
+        volatile long oldestMinute;
+        volatile long lastSeenMinute;
+    }
+}
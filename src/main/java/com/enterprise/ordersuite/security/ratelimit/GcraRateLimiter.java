@@ -0,0 +1,102 @@
+package com.enterprise.ordersuite.security.ratelimit;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generic cell rate algorithm: a token bucket stored as a single "theoretical arrival time" (TAT) per key.
+
+ * - limit requests per period are replenished evenly, one every emission interval (period / limit).
+ * - Up to burst requests can be admitted back to back once the key has been quiet long enough.
+ * - A request is admitted when TAT' = max(TAT, now) + interval stays within burst * interval of now.
+ * - Denied requests do not move TAT, so retry-after is exact: the moment one interval has drained.
+
+ * State is one AtomicLong (nanoseconds since epoch) per key, admission is a single CAS.
+ */
+public class GcraRateLimiter implements RateLimiter {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final Clock clock;
+
+    private final RateLimitKeyStore<ArrivalTime> keyStore;
+
+    public GcraRateLimiter(int limit, Duration period, int burst, Clock clock) {
+        this(limit, period, burst, clock, RateLimitProperties.DEFAULT_MAX_KEYS, RateLimitProperties.OverflowPolicy.SHARED);
+    }
+
+    public GcraRateLimiter(int limit,
+                           Duration period,
+                           int burst,
+                           Clock clock,
+                           int maxKeys,
+                           RateLimitProperties.OverflowPolicy overflowPolicy) {
+        if (limit <= 0) throw new IllegalArgumentException("limit must be > 0");
+        if (period == null || period.isNegative() || period.isZero()) throw new IllegalArgumentException("period must be > 0");
+        if (burst <= 0) throw new IllegalArgumentException("burst must be > 0");
+        this.emissionIntervalNanos = Math.max(1, period.toNanos() / limit);
+        this.burstToleranceNanos = Math.multiplyExact(emissionIntervalNanos, (long) burst);
+        this.clock = Objects.requireNonNull(clock, "clock must not be null");
+        this.keyStore = new RateLimitKeyStore<>(
+                maxKeys,
+                Objects.requireNonNull(overflowPolicy, "overflowPolicy must not be null"),
+                ArrivalTime.ESTIMATED_BYTES,
+                this.clock,
+                ArrivalTime::new
+        );
+    }
+
+    @Override
+    public RateLimitDecision check(String key) {
+        Objects.requireNonNull(key, "key must not be null");
+
+        Instant now = clock.instant();
+        long nowNanos = now.getEpochSecond() * NANOS_PER_SECOND + now.getNano();
+
+        ArrivalTime tat = keyStore.stateFor(key, now.getEpochSecond());
+        if (tat == null) {
+            return keyStore.overflowPolicy().untrackedDecision();
+        }
+
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            long allowedAtNanos = next - burstToleranceNanos;
+
+            if (allowedAtNanos > nowNanos) {
+                long retryAfterSeconds = ceilSeconds(allowedAtNanos - nowNanos);
+                return new RateLimitDecision(false, retryAfterSeconds, 0, ceilSeconds(current - nowNanos));
+            }
+            if (tat.compareAndSet(current, next)) {
+                // Requests that still fit in the burst, and the time until the bucket is full again
+                long remaining = (nowNanos - allowedAtNanos) / emissionIntervalNanos;
+                return new RateLimitDecision(true, 0, remaining, ceilSeconds(next - nowNanos));
+            }
+        }
+    }
+
+    RateLimitKeyStore<?> keyStore() {
+        return keyStore;
+    }
+
+    private static long ceilSeconds(long nanos) {
+        return (nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+    }
+
+    private static final class ArrivalTime extends AtomicLong implements RateLimitKeyStore.KeyState {
+
+        // AtomicLong header + long
+        static final long ESTIMATED_BYTES = 24;
+
+        @Override
+        public boolean isIdle(long nowEpochSeconds) {
+            // Fully replenished, a fresh state decides the same
+            return get() <= nowEpochSeconds * NANOS_PER_SECOND;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.enterprise.ordersuite.security.ratelimit;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Approximate top-N of the most frequent keys in bounded memory (Space-Saving algorithm).
+
+ * - At most capacity keys are tracked. A new key replaces the least frequent one and inherits
+ *   its count, which is reported as maxOvercount.
+ * - Any key seen more than total/capacity times is guaranteed to be tracked.
+ * - Only rejections are recorded. A tracked key is an atomic increment, so a flood of rejections
+ *   for the same keys never serialises. Only adding an untracked key takes the lock.
+ * - A hit racing with the eviction of its key is lost, which only ever affects the least frequent entry.
+ */
+final class HeavyHitters {
+
+    private final int capacity;
+    private final Map<String, Counts> countsByKey;
+    private final Object evictionLock = new Object();
+
+    HeavyHitters(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be > 0");
+        this.capacity = capacity;
+        this.countsByKey = new ConcurrentHashMap<>(capacity * 2);
+    }
+
+    void record(String key) {
+        Counts counts = countsByKey.get(key);
+        if (counts != null) {
+            counts.count.increment();
+            return;
+        }
+
+        synchronized (evictionLock) {
+            counts = countsByKey.get(key);
+            if (counts != null) {
+                counts.count.increment();
+                return;
+            }
+            if (countsByKey.size() < capacity) {
+                countsByKey.put(key, new Counts(1, 0));
+                return;
+            }
+
+            String minKey = null;
+            long min = Long.MAX_VALUE;
+            for (Map.Entry<String, Counts> entry : countsByKey.entrySet()) {
+                long count = entry.getValue().count.sum();
+                if (count < min) {
+                    min = count;
+                    minKey = entry.getKey();
+                }
+            }
+            countsByKey.remove(minKey);
+            countsByKey.put(key, new Counts(min + 1, min));
+        }
+    }
+
+    List<Entry> top(int n) {
+        List<Entry> entries = new ArrayList<>(countsByKey.size());
+        countsByKey.forEach((key, counts) -> entries.add(new Entry(key, counts.count.sum(), counts.maxOvercount)));
+        entries.sort(Comparator.comparingLong(Entry::count).reversed());
+        return entries.size() > n ? List.copyOf(entries.subList(0, n)) : entries;
+    }
+
+    void reset() {
+        synchronized (evictionLock) {
+            countsByKey.clear();
+        }
+    }
+
+    private static final class Counts {
+
+        private final LongAdder count = new LongAdder();
+        private final long maxOvercount;
+
+        Counts(long count, long maxOvercount) {
+            this.count.add(count);
+            this.maxOvercount = maxOvercount;
+        }
+    }
+
+    record Entry(String key, long count, long maxOvercount) {
+    }
+}
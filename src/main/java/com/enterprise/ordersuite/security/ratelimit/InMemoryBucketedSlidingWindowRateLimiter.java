@@ -1,9 +1,7 @@
 package com.enterprise.ordersuite.security.ratelimit;
 
 import java.time.Clock;
-import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Sliding Window Counters using fixed-size time buckets.
@@ -17,6 +15,8 @@ import java.util.concurrent.ConcurrentHashMap;
  * - To decide, sum counts from buckets whose minute is within the last N minutes.
 
  * This is an approximation: within the current minute, bursts are counted fully.
+
+ * Keys idle for a whole window are swept, and the number of tracked keys is capped (see RateLimitKeyStore).
  */
 public class InMemoryBucketedSlidingWindowRateLimiter implements RateLimiter {
 
@@ -26,14 +26,29 @@ public class InMemoryBucketedSlidingWindowRateLimiter implements RateLimiter {
     private final int windowMinutes;
     private final Clock clock;
 
-    private final Map<String, WindowState> stateByKey = new ConcurrentHashMap<>();
+    private final RateLimitKeyStore<WindowState> keyStore;
 
     public InMemoryBucketedSlidingWindowRateLimiter(int limit, int windowMinutes, Clock clock) {
+        this(limit, windowMinutes, clock, RateLimitProperties.DEFAULT_MAX_KEYS, RateLimitProperties.OverflowPolicy.SHARED);
+    }
+
+    public InMemoryBucketedSlidingWindowRateLimiter(int limit,
+                                                    int windowMinutes,
+                                                    Clock clock,
+                                                    int maxKeys,
+                                                    RateLimitProperties.OverflowPolicy overflowPolicy) {
         if (limit <= 0) throw new IllegalArgumentException("limit must be > 0");
         if (windowMinutes <= 0) throw new IllegalArgumentException("windowMinutes must be > 0");
         this.limit = limit;
         this.windowMinutes = windowMinutes;
         this.clock = Objects.requireNonNull(clock, "clock must not be null");
+        this.keyStore = new RateLimitKeyStore<>(
+                maxKeys,
+                Objects.requireNonNull(overflowPolicy, "overflowPolicy must not be null"),
+                WindowState.estimatedBytes(windowMinutes),
+                this.clock,
+                () -> new WindowState(windowMinutes)
+        );
     }
 
     @Override
@@ -43,13 +58,17 @@ public class InMemoryBucketedSlidingWindowRateLimiter implements RateLimiter {
         long nowEpochSeconds = clock.instant().getEpochSecond();
         long nowMinute = nowEpochSeconds / BUCKET_SECONDS;
 
-        WindowState state = stateByKey.computeIfAbsent(key, k -> new WindowState(windowMinutes));
+        WindowState state = keyStore.stateFor(key, nowEpochSeconds);
+        if (state == null) {
+            return keyStore.overflowPolicy().untrackedDecision();
+        }
 
         synchronized (state) {
             // Increment current bucket
             int idx = indexForMinute(nowMinute);
             state.ensureBucketMinute(idx, nowMinute);
             state.counts[idx]++;
+            state.lastMinute = nowMinute;
 
             // Calculate total within window
             long cutoffMinuteExclusive = nowMinute - windowMinutes; // valid minutes are (cutoffMinuteExclusive, nowMinute]
@@ -71,11 +90,7 @@ public class InMemoryBucketedSlidingWindowRateLimiter implements RateLimiter {
                 }
             }
 
-            if (total <= limit) {
-                return new RateLimitDecision(true, 0);
-            }
-
-            // Compute retry-after:
+            // Compute reset / retry-after:
             // When will the oldest counted minute fall out of the window?
             // A bucket at minute M falls out when we reach minute (M + windowMinutes),
             // and specifically at the start of that minute boundary.
@@ -85,17 +100,27 @@ public class InMemoryBucketedSlidingWindowRateLimiter implements RateLimiter {
             long retryAfterSeconds = allowedAtEpochSeconds - nowEpochSeconds;
             if (retryAfterSeconds < 1) retryAfterSeconds = 1;
 
-            return new RateLimitDecision(false, retryAfterSeconds);
+            if (total <= limit) {
+                return new RateLimitDecision(true, 0, limit - total, retryAfterSeconds);
+            }
+
+            return new RateLimitDecision(false, retryAfterSeconds, 0, retryAfterSeconds);
         }
     }
 
+    RateLimitKeyStore<?> keyStore() {
+        return keyStore;
+    }
+
     private int indexForMinute(long minute) {
         return Math.floorMod(minute, windowMinutes);
     }
 
-    private static final class WindowState {
+    private static final class WindowState implements RateLimitKeyStore.KeyState {
         final long[] minutes;
         final int[] counts;
+        // Written under the monitor, read by the sweeper without it
+        volatile long lastMinute = Long.MIN_VALUE;
 
         WindowState(int windowMinutes) {
             this.minutes = new long[windowMinutes];
@@ -106,6 +131,17 @@ public class InMemoryBucketedSlidingWindowRateLimiter implements RateLimiter {
             }
         }
 
+        static long estimatedBytes(int windowMinutes) {
+            // object header + 2 refs + long, long[] and int[] with their headers
+            return 32 + (16 + 8L * windowMinutes) + (16 + 4L * windowMinutes);
+        }
+
+        @Override
+        public boolean isIdle(long nowEpochSeconds) {
+            // the last counted minute has left the window
+            return lastMinute <= nowEpochSeconds / BUCKET_SECONDS - minutes.length;
+        }
+
         void ensureBucketMinute(int idx, long minute) {
             if (minutes[idx] != minute) {
                 minutes[idx] = minute;
@@ -0,0 +1,81 @@
+package com.enterprise.ordersuite.security.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outermost wrapper of every limiter built by RateLimiterFactory: decision counters and check latency
+ * per limiter, plus the heavy hitters among rejected keys for the ratelimits actuator endpoint.
+ */
+public class InstrumentedRateLimiter implements RateLimiter {
+
+    private static final String METRIC_PREFIX = "security.ratelimit";
+
+    private final String name;
+    private final RateLimiter delegate;
+    private final HeavyHitters rejectedKeys;
+
+    private final Counter allowed;
+    private final Counter denied;
+    private final Timer checkTimer;
+
+    InstrumentedRateLimiter(String name, RateLimiter delegate, int heavyHitterCapacity, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.delegate = delegate;
+        this.rejectedKeys = new HeavyHitters(heavyHitterCapacity);
+
+        this.allowed = decisionCounter(meterRegistry, name, "allowed");
+        this.denied = decisionCounter(meterRegistry, name, "denied");
+        this.checkTimer = Timer.builder(METRIC_PREFIX + ".check")
+                .tag("limiter", name)
+                .description("Time spent deciding one request")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public RateLimitDecision check(String key) {
+        long start = System.nanoTime();
+        RateLimitDecision decision = delegate.check(key);
+        checkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (decision.allowed()) {
+            allowed.increment();
+        } else {
+            denied.increment();
+            rejectedKeys.record(key);
+        }
+        return decision;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public long allowedCount() {
+        return (long) allowed.count();
+    }
+
+    public long deniedCount() {
+        return (long) denied.count();
+    }
+
+    List<HeavyHitters.Entry> topRejectedKeys(int n) {
+        return rejectedKeys.top(n);
+    }
+
+    void resetRejectedKeys() {
+        rejectedKeys.reset();
+    }
+
+    private static Counter decisionCounter(MeterRegistry meterRegistry, String name, String outcome) {
+        return Counter.builder(METRIC_PREFIX + ".decisions")
+                .tag("limiter", name)
+                .tag("outcome", outcome)
+                .description("Rate limit decisions")
+                .register(meterRegistry);
+    }
+}
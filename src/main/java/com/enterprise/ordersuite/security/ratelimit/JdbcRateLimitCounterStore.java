@@ -0,0 +1,93 @@
+package com.enterprise.ordersuite.security.ratelimit;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Postgres-backed counters in the unlogged rate_limit_counters table.
+ * One flush is one short transaction: a batched upsert and one aggregate read, both bounded by cluster-db-timeout.
+ */
+@Component
+public class JdbcRateLimitCounterStore implements RateLimitCounterStore {
+
+    // Keys are sorted so concurrent flushes from several nodes lock rows in the same order
+    private static final String UPSERT = """
+            INSERT INTO rate_limit_counters (limiter, key, window_minute, count)
+            SELECT ?, t.key, ?, t.count
+            FROM unnest(?::text[], ?::bigint[]) AS t(key, count)
+            ORDER BY t.key
+            ON CONFLICT (limiter, key, window_minute)
+            DO UPDATE SET count = rate_limit_counters.count + EXCLUDED.count
+            """;
+
+    private static final String WINDOW_TOTALS = """
+            SELECT key, sum(count) AS total, min(window_minute) AS oldest_minute
+            FROM rate_limit_counters
+            WHERE limiter = ? AND key = ANY(?) AND window_minute > ?
+            GROUP BY key
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RateLimitProperties properties;
+
+    public JdbcRateLimitCounterStore(JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     RateLimitProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    @Override
+    public Map<String, WindowTotal> addAndRead(String limiter,
+                                               long minute,
+                                               Map<String, Long> deltas,
+                                               Collection<String> keys,
+                                               long windowStartMinuteExclusive) {
+        return transactionTemplate.execute(status -> {
+            // A slow database must fail the flush, not stall it: the limiter falls back to local counting
+            jdbcTemplate.execute("SET LOCAL statement_timeout = " + properties.getClusterDbTimeout().toMillis());
+
+            if (!deltas.isEmpty()) {
+                Map<String, Long> sorted = new TreeMap<>(deltas);
+                jdbcTemplate.update(con -> {
+                    PreparedStatement ps = con.prepareStatement(UPSERT);
+                    ps.setString(1, limiter);
+                    ps.setLong(2, minute);
+                    ps.setArray(3, con.createArrayOf("text", sorted.keySet().toArray()));
+                    ps.setArray(4, con.createArrayOf("bigint", sorted.values().toArray()));
+                    return ps;
+                });
+            }
+
+            Map<String, WindowTotal> totals = new HashMap<>();
+            if (keys.isEmpty()) {
+                return totals;
+            }
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(WINDOW_TOTALS);
+                ps.setString(1, limiter);
+                ps.setArray(2, con.createArrayOf("text", keys.toArray()));
+                ps.setLong(3, windowStartMinuteExclusive);
+                return ps;
+            }, rs -> {
+                totals.put(rs.getString("key"), new WindowTotal(rs.getLong("total"), rs.getLong("oldest_minute")));
+            });
+            return totals;
+        });
+    }
+
+    @Override
+    public void deleteUpTo(String limiter, long minuteInclusive) {
+        jdbcTemplate.update("DELETE FROM rate_limit_counters WHERE limiter = ? AND window_minute <= ?", limiter, minuteInclusive);
+    }
+}
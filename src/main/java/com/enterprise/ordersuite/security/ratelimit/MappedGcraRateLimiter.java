@@ -0,0 +1,237 @@
+package com.enterprise.ordersuite.security.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GCRA limiter whose state lives in a fixed-size, memory-mapped hash table instead of the heap.
+
+ * - Same admission rule as {@link GcraRateLimiter}, with millisecond precision.
+ * - The file is reopened on startup, so windows survive restarts and rolling deploys as long as
+ *   the directory is persistent storage (two processes on one host may even share it, updates are
+ *   CAS on the shared mapping).
+ * - No per-key objects: a check hashes the key in place and CASes two longs in the mapping.
+ *   Admissions return a shared decision, so remaining/reset are not reported.
+
+ * Layout: a 64-byte header (magic, version, slot count, hash seed) followed by 16-byte slots
+ * [key fingerprint, theoretical arrival time in epoch millis]. Fingerprint 0 marks an empty slot.
+
+ * Collision policy (open addressing, linear probing over at most MAX_PROBE slots):
+ * - A key is identified by a seeded 64-bit fingerprint, keys with equal fingerprints share one slot.
+ *   The seed is random per file, so colliding keys cannot be precomputed.
+ * - A new key takes the first empty or fully replenished slot in its probe window.
+ * - If the whole window is live, it takes the slot with the earliest arrival time and inherits
+ *   that time: it starts at most as throttled as the least throttled key it displaced, never less.
+ */
+@Slf4j
+public class MappedGcraRateLimiter implements RateLimiter, AutoCloseable {
+
+    static final int MAX_PROBE = 8;
+
+    private static final long MAGIC = 0x4F524C5441423031L; // "ORLTAB01"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int SLOT_BYTES = 16;
+
+    private static final RateLimitDecision ALLOWED = new RateLimitDecision(true, 0);
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final long emissionIntervalMillis;
+    private final long burstToleranceMillis;
+    private final Clock clock;
+
+    private final int slotMask;
+    private final long seed;
+    private final MappedByteBuffer table;
+
+    private final AtomicLong collisionEvictions = new AtomicLong();
+
+    public MappedGcraRateLimiter(Path file, int slots, int limit, Duration period, int burst, Clock clock) {
+        if (slots < MAX_PROBE || Integer.bitCount(slots) != 1) throw new IllegalArgumentException("slots must be a power of two >= " + MAX_PROBE);
+        if ((long) slots * SLOT_BYTES + HEADER_BYTES > Integer.MAX_VALUE) throw new IllegalArgumentException("slots too large");
+        if (limit <= 0) throw new IllegalArgumentException("limit must be > 0");
+        if (period == null || period.toMillis() <= 0) throw new IllegalArgumentException("period must be >= 1ms");
+        if (burst <= 0) throw new IllegalArgumentException("burst must be > 0");
+        this.emissionIntervalMillis = Math.max(1, period.toMillis() / limit);
+        this.burstToleranceMillis = Math.multiplyExact(emissionIntervalMillis, (long) burst);
+        this.clock = Objects.requireNonNull(clock, "clock must not be null");
+        this.slotMask = slots - 1;
+
+        this.table = open(Objects.requireNonNull(file, "file must not be null"), slots);
+        this.seed = table.getLong(16);
+    }
+
+    @Override
+    public RateLimitDecision check(String key) {
+        Objects.requireNonNull(key, "key must not be null");
+
+        long nowMillis = clock.millis();
+        int slot = slotFor(fingerprint(key), nowMillis);
+        int tatOffset = HEADER_BYTES + slot * SLOT_BYTES + 8;
+
+        while (true) {
+            long current = (long) LONGS.getVolatile(table, tatOffset);
+            long next = Math.max(current, nowMillis) + emissionIntervalMillis;
+            long allowedAtMillis = next - burstToleranceMillis;
+
+            if (allowedAtMillis > nowMillis) {
+                return new RateLimitDecision(false, (allowedAtMillis - nowMillis + 999) / 1000);
+            }
+            if (LONGS.compareAndSet(table, tatOffset, current, next)) {
+                return ALLOWED;
+            }
+        }
+    }
+
+    /**
+     * Flushes the mapping to disk. The OS writes dirty pages back on its own,
+     * this only narrows what a host crash can lose.
+     */
+    @Override
+    public void close() {
+        table.force();
+    }
+
+    int liveKeys() {
+        long nowMillis = clock.millis();
+        int live = 0;
+        for (int slot = 0; slot <= slotMask; slot++) {
+            int offset = HEADER_BYTES + slot * SLOT_BYTES;
+            if ((long) LONGS.getVolatile(table, offset) != 0 && (long) LONGS.getVolatile(table, offset + 8) > nowMillis) {
+                live++;
+            }
+        }
+        return live;
+    }
+
+    long mappedBytes() {
+        return table.capacity();
+    }
+
+    long collisionEvictions() {
+        return collisionEvictions.get();
+    }
+
+    private int slotFor(long fingerprint, long nowMillis) {
+        int home = (int) fingerprint & slotMask;
+
+        while (true) {
+            int candidate = -1;
+            long candidateFingerprint = 0;
+            int oldest = -1;
+            long oldestTat = Long.MAX_VALUE;
+            long oldestFingerprint = 0;
+
+            for (int probe = 0; probe < MAX_PROBE; probe++) {
+                int slot = (home + probe) & slotMask;
+                int offset = HEADER_BYTES + slot * SLOT_BYTES;
+
+                long slotFingerprint = (long) LONGS.getVolatile(table, offset);
+                if (slotFingerprint == fingerprint) {
+                    return slot;
+                }
+
+                long tat = (long) LONGS.getVolatile(table, offset + 8);
+                if (candidate < 0 && (slotFingerprint == 0 || tat <= nowMillis)) {
+                    candidate = slot;
+                    candidateFingerprint = slotFingerprint;
+                }
+                if (tat < oldestTat) {
+                    oldest = slot;
+                    oldestTat = tat;
+                    oldestFingerprint = slotFingerprint;
+                }
+            }
+
+            boolean evicting = candidate < 0;
+            if (evicting) {
+                candidate = oldest;
+                candidateFingerprint = oldestFingerprint;
+            }
+
+            // The arrival time is kept: empty and replenished slots decide like a fresh key anyway
+            if (LONGS.compareAndSet(table, HEADER_BYTES + candidate * SLOT_BYTES, candidateFingerprint, fingerprint)) {
+                if (evicting) {
+                    collisionEvictions.incrementAndGet();
+                }
+                return candidate;
+            }
+            // Lost the slot to another key, look again
+        }
+    }
+
+    // Seeded FNV-1a over the chars, finished with the murmur3 fmix64 avalanche. No allocation.
+    private long fingerprint(String key) {
+        long h = seed ^ 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h == 0 ? 1 : h;
+    }
+
+    private static MappedByteBuffer open(Path file, int slots) {
+        long size = HEADER_BYTES + (long) slots * SLOT_BYTES;
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+
+                boolean reuse = channel.size() == size && hasHeader(channel, slots);
+                if (!reuse) {
+                    if (channel.size() > 0) {
+                        log.warn("Rate limit table {} has an incompatible layout, starting with an empty table", file);
+                    }
+                    channel.truncate(0);
+                }
+
+                // The mapping stays valid after the channel is closed
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.order(ByteOrder.nativeOrder());
+                if (!reuse) {
+                    buffer.putLong(0, MAGIC);
+                    buffer.putInt(8, VERSION);
+                    buffer.putInt(12, slots);
+                    buffer.putLong(16, new SecureRandom().nextLong());
+                    buffer.force();
+                } else {
+                    log.info("Reloaded rate limit table {} ({} slots)", file, slots);
+                }
+                return buffer;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map rate limit table " + file, e);
+        }
+    }
+
+    private static boolean hasHeader(FileChannel channel, int slots) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.nativeOrder());
+        channel.read(header, 0);
+        return header.getLong(0) == MAGIC && header.getInt(8) == VERSION && header.getInt(12) == slots;
+    }
+}
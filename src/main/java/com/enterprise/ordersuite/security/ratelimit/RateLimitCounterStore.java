@@ -0,0 +1,25 @@
+package com.enterprise.ordersuite.security.ratelimit;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Shared per-minute counters behind {@link ClusterRateLimiter}.
+ */
+public interface RateLimitCounterStore {
+
+    /**
+     * Adds deltas to the given minute, then returns window totals for keys
+     * (minutes after windowStartMinuteExclusive). Keys without counts are absent from the result.
+     */
+    Map<String, WindowTotal> addAndRead(String limiter,
+                                        long minute,
+                                        Map<String, Long> deltas,
+                                        Collection<String> keys,
+                                        long windowStartMinuteExclusive);
+
+    void deleteUpTo(String limiter, long minuteInclusive);
+
+    record WindowTotal(long count, long oldestMinute) {
+    }
+}
@@ -3,6 +3,14 @@ package com.enterprise.ordersuite.security.ratelimit;
 /**
  * Result of a rate limit check.
  * retryAfterSeconds is meaningful only when allowed == false.
+ * remaining (requests left in the current window) and resetSeconds (until the window frees up again)
+ * feed the RateLimit-* headers, they are UNKNOWN for limiters that do not track them.
  */
-public record RateLimitDecision(boolean allowed, long retryAfterSeconds) {
+public record RateLimitDecision(boolean allowed, long retryAfterSeconds, long remaining, long resetSeconds) {
+
+    public static final long UNKNOWN = -1;
+
+    public RateLimitDecision(boolean allowed, long retryAfterSeconds) {
+        this(allowed, retryAfterSeconds, UNKNOWN, UNKNOWN);
+    }
 }
@@ -0,0 +1,167 @@
+package com.enterprise.ordersuite.security.ratelimit;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Per-key limiter state with idle expiry and a hard cap on tracked keys.
+ *
+ * - A key is idle once its state no longer affects any decision (e.g. its last counted minute has left the window).
+ * - Idle keys are swept incrementally: at most SWEEP_BATCH entries, at most once per SWEEP_INTERVAL,
+ *   continuing where the previous sweep stopped.
+ * - At maxKeys, new keys are handled by the overflow policy (existing keys are unaffected).
+ *
+ * A request racing with the removal of its idle key may go uncounted. The key had no counts
+ * left in its window, so at worst it starts the next window one request short.
+ */
+final class RateLimitKeyStore<S extends RateLimitKeyStore.KeyState> {
+
+    private static final long SWEEP_INTERVAL_MILLIS = 1_000;
+    private static final int SWEEP_BATCH = 1_024;
+
+    // ConcurrentHashMap node + String + its byte[] (compact ASCII strings), excluding the key bytes
+    private static final long ENTRY_OVERHEAD_BYTES = 32 + 24 + 16;
+
+    interface KeyState {
+        // True when dropping the state would not change any decision from nowEpochSeconds on
+        boolean isIdle(long nowEpochSeconds);
+    }
+
+    private final int maxKeys;
+    private final RateLimitProperties.OverflowPolicy overflowPolicy;
+    private final long stateBytes;
+    private final Clock clock;
+    private final Supplier<S> stateFactory;
+
+    private final Map<String, S> stateByKey = new ConcurrentHashMap<>();
+    private final AtomicInteger trackedKeys = new AtomicInteger();
+    private final AtomicLong keyBytes = new AtomicLong();
+    private final AtomicLong idleEvictions = new AtomicLong();
+    private final AtomicLong overflows = new AtomicLong();
+
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private volatile long nextSweepAtMillis;
+    // Only touched by the thread holding `sweeping`
+    private Iterator<Map.Entry<String, S>> sweepCursor;
+
+    private volatile S overflowState;
+
+    RateLimitKeyStore(int maxKeys,
+                      RateLimitProperties.OverflowPolicy overflowPolicy,
+                      long stateBytes,
+                      Clock clock,
+                      Supplier<S> stateFactory) {
+        if (maxKeys <= 0) throw new IllegalArgumentException("maxKeys must be > 0");
+        this.maxKeys = maxKeys;
+        this.overflowPolicy = overflowPolicy;
+        this.stateBytes = stateBytes;
+        this.clock = clock;
+        this.stateFactory = stateFactory;
+    }
+
+    /**
+     * State for key, or null when the key cannot be tracked (cap reached with REJECT or ALLOW policy).
+     */
+    S stateFor(String key, long nowEpochSeconds) {
+        sweepIfDue(nowEpochSeconds, false);
+
+        S state = stateByKey.get(key);
+        if (state != null) {
+            return state;
+        }
+
+        if (trackedKeys.get() >= maxKeys) {
+            // Make room from idle keys before treating this as overflow
+            sweepIfDue(nowEpochSeconds, true);
+            if (trackedKeys.get() >= maxKeys) {
+                overflows.incrementAndGet();
+                return overflowPolicy == RateLimitProperties.OverflowPolicy.SHARED ? overflowState() : null;
+            }
+        }
+
+        // Concurrent first requests can overshoot maxKeys by the number of racing threads
+        return stateByKey.computeIfAbsent(key, k -> {
+            trackedKeys.incrementAndGet();
+            keyBytes.addAndGet(k.length());
+            return stateFactory.get();
+        });
+    }
+
+    RateLimitProperties.OverflowPolicy overflowPolicy() {
+        return overflowPolicy;
+    }
+
+    int trackedKeys() {
+        return trackedKeys.get();
+    }
+
+    long estimatedBytes() {
+        return trackedKeys.get() * (ENTRY_OVERHEAD_BYTES + stateBytes) + keyBytes.get();
+    }
+
+    long idleEvictions() {
+        return idleEvictions.get();
+    }
+
+    long overflows() {
+        return overflows.get();
+    }
+
+    private S overflowState() {
+        S state = overflowState;
+        if (state == null) {
+            synchronized (this) {
+                state = overflowState;
+                if (state == null) {
+                    state = stateFactory.get();
+                    overflowState = state;
+                }
+            }
+        }
+        return state;
+    }
+
+    private void sweepIfDue(long nowEpochSeconds, boolean force) {
+        long nowMillis = clock.millis();
+        if (nowMillis < nextSweepAtMillis && !force) {
+            return;
+        }
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // A forced sweep still only runs once per interval, a full table must not turn every miss into a scan
+            if (nowMillis < nextSweepAtMillis) {
+                return;
+            }
+            nextSweepAtMillis = nowMillis + SWEEP_INTERVAL_MILLIS;
+            sweepBatch(nowEpochSeconds);
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private void sweepBatch(long nowEpochSeconds) {
+        if (sweepCursor == null || !sweepCursor.hasNext()) {
+            sweepCursor = stateByKey.entrySet().iterator();
+        }
+
+        for (int scanned = 0; scanned < SWEEP_BATCH && sweepCursor.hasNext(); scanned++) {
+            Map.Entry<String, S> entry = sweepCursor.next();
+            if (!entry.getValue().isIdle(nowEpochSeconds)) {
+                continue;
+            }
+            if (stateByKey.remove(entry.getKey(), entry.getValue())) {
+                trackedKeys.decrementAndGet();
+                keyBytes.addAndGet(-entry.getKey().length());
+                idleEvictions.incrementAndGet();
+            }
+        }
+    }
+}
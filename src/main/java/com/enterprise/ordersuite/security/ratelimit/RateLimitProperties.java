@@ -0,0 +1,113 @@
+package com.enterprise.ordersuite.security.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "security.rate-limit")
+public class RateLimitProperties {
+
+    public static final int DEFAULT_MAX_KEYS = 100_000;
+
+    private Implementation implementation = Implementation.SYNCHRONIZED;
+
+    // Hard cap on keys tracked per limiter, idle keys are swept before the cap applies
+    private int maxKeysPerLimiter = DEFAULT_MAX_KEYS;
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.SHARED;
+
+    // Most rejected keys tracked per limiter for the ratelimits actuator endpoint (approximate, Space-Saving)
+    private int heavyHitterCapacity = 64;
+
+    // MAPPED only, required: one <limiter>.rlt file per limiter, reloaded on startup.
+    // Windows only survive a container replacement if this is on a persistent volume
+    private Path mappedDirectory;
+
+    // MAPPED only: power of two, 16 bytes each. Size for the distinct keys expected within one window
+    private int mappedSlots = 65_536;
+
+    // Share counts across nodes through Postgres (rate_limit_counters), on top of the local limiter
+    private boolean clusterEnabled = false;
+
+    // Bounds how many of other nodes' hits a node cannot see yet
+    private long clusterFlushIntervalMs = 250;
+
+    // A flush slower than this fails, the node keeps deciding on local counts
+    private Duration clusterDbTimeout = Duration.ofMillis(200);
+
+    // Without a successful flush for this long, decisions fall back to the local limiter
+    private Duration clusterStaleAfter = Duration.ofSeconds(2);
+
+    // method + path -> limiter, compiled into a lookup table at startup (see RateLimitRuleTable)
+    private List<Rule> rules = new ArrayList<>();
+
+    // Rule names switched off without restating the rules list (an override replaces the whole list), e.g. in tests
+    private List<String> disabledRules = new ArrayList<>();
+
+    public enum Implementation {
+        // Per-key monitor, kept as the reference implementation
+        SYNCHRONIZED,
+        // CAS on packed minute/count buckets, no lock on shared keys.
+        // Benefit under contention unproven: not yet benchmarked on multi-core hardware
+        ATOMIC,
+        // One arrival timestamp per key, evenly replenished, exact retry-after
+        GCRA,
+        // GCRA in a memory-mapped file: off-heap, fixed size, survives restarts
+        MAPPED
+    }
+
+    // What happens to a new key once a limiter tracks maxKeysPerLimiter keys
+    public enum OverflowPolicy {
+        // All untracked keys share one window, a key-rotating client is still limited as a whole
+        SHARED,
+        // Deny untracked keys until idle keys are swept
+        REJECT,
+        // Let untracked keys through unlimited (fail open)
+        ALLOW;
+
+        RateLimitDecision untrackedDecision() {
+            return this == ALLOW ? new RateLimitDecision(true, 0) : new RateLimitDecision(false, 1);
+        }
+    }
+
+    // Request attributes a rule key is built from, in the configured order
+    public enum KeyPart {
+        IP,
+        // "email" field of the JSON body, normalized like User.emailNormalized
+        EMAIL,
+        // Authenticated user id, the client IP for anonymous requests
+        USER
+    }
+
+    @Setter
+    @Getter
+    public static class Rule {
+
+        // Also names the limiter in metrics and in the cluster/mapped stores
+        private String name;
+
+        private String method = "POST";
+
+        // Exact request URI
+        private String path;
+
+        private int limit;
+        private int windowMinutes;
+
+        // GCRA and MAPPED only, defaults to limit
+        private Integer burst;
+
+        private List<KeyPart> key = new ArrayList<>(List.of(KeyPart.IP));
+
+        private boolean enabled = true;
+    }
+}
@@ -0,0 +1,168 @@
+package com.enterprise.ordersuite.security.ratelimit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Builds limiters with the implementation selected by security.rate-limit.implementation
+ * and registers their key-table gauges under the limiter name.
+ * With security.rate-limit.cluster-enabled, the local limiter is wrapped in a {@link ClusterRateLimiter}.
+ * Every limiter is returned wrapped in an {@link InstrumentedRateLimiter}.
+ */
+@Slf4j
+@Component
+public class RateLimiterFactory {
+
+    private static final String METRIC_PREFIX = "security.ratelimit";
+
+    private final RateLimitProperties properties;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final ClusterRateLimitCoordinator clusterCoordinator;
+
+    private final Map<String, InstrumentedRateLimiter> limitersByName = new ConcurrentHashMap<>();
+    // Limiters holding resources (mapped files), closed on shutdown
+    private final List<AutoCloseable> closeables = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public RateLimiterFactory(RateLimitProperties properties,
+                              Clock clock,
+                              MeterRegistry meterRegistry,
+                              ClusterRateLimitCoordinator clusterCoordinator) {
+        this.properties = properties;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.clusterCoordinator = clusterCoordinator;
+    }
+
+    // Node-local limiters only
+    public RateLimiterFactory(RateLimitProperties properties, Clock clock, MeterRegistry meterRegistry) {
+        this(properties, clock, meterRegistry, null);
+    }
+
+    // limit requests per window, for GCRA the whole limit may be used as one burst
+    public RateLimiter create(String name, int limit, int windowMinutes) {
+        return create(name, limit, windowMinutes, limit);
+    }
+
+    // burst only applies to GCRA, the bucketed limiters always admit up to limit per window
+    public RateLimiter create(String name, int limit, int windowMinutes, int burst) {
+        RateLimiter local = createLocal(name, limit, windowMinutes, burst);
+        if (local instanceof AutoCloseable closeable) {
+            closeables.add(closeable);
+        }
+
+        RateLimiter shared = clusterCoordinator != null
+                ? clusterCoordinator.wrapIfEnabled(name, limit, windowMinutes, local)
+                : local;
+
+        InstrumentedRateLimiter instrumented = new InstrumentedRateLimiter(name, shared, properties.getHeavyHitterCapacity(), meterRegistry);
+        limitersByName.put(name, instrumented);
+        return instrumented;
+    }
+
+    public Collection<InstrumentedRateLimiter> limiters() {
+        return limitersByName.values();
+    }
+
+    @PreDestroy
+    public void close() {
+        for (AutoCloseable closeable : closeables) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Failed to close rate limiter {}", closeable, e);
+            }
+        }
+    }
+
+    private RateLimiter createLocal(String name, int limit, int windowMinutes, int burst) {
+        int maxKeys = properties.getMaxKeysPerLimiter();
+        RateLimitProperties.OverflowPolicy overflowPolicy = properties.getOverflowPolicy();
+
+        return switch (properties.getImplementation()) {
+            case SYNCHRONIZED -> {
+                var limiter = new InMemoryBucketedSlidingWindowRateLimiter(limit, windowMinutes, clock, maxKeys, overflowPolicy);
+                registerMetrics(name, limiter.keyStore());
+                yield limiter;
+            }
+            case ATOMIC -> {
+                var limiter = new AtomicBucketedSlidingWindowRateLimiter(limit, windowMinutes, clock, maxKeys, overflowPolicy);
+                registerMetrics(name, limiter.keyStore());
+                yield limiter;
+            }
+            case GCRA -> {
+                var limiter = new GcraRateLimiter(limit, Duration.ofMinutes(windowMinutes), burst, clock, maxKeys, overflowPolicy);
+                registerMetrics(name, limiter.keyStore());
+                yield limiter;
+            }
+            case MAPPED -> {
+                // No tmpdir fallback, it would silently lose every window when the container is replaced
+                if (properties.getMappedDirectory() == null) {
+                    throw new IllegalStateException(
+                            "security.rate-limit.mapped-directory must be set (a persistent volume) when implementation=mapped");
+                }
+                var limiter = new MappedGcraRateLimiter(
+                        properties.getMappedDirectory().resolve(name + ".rlt"),
+                        properties.getMappedSlots(),
+                        limit,
+                        Duration.ofMinutes(windowMinutes),
+                        burst,
+                        clock
+                );
+                registerMetrics(name, limiter);
+                yield limiter;
+            }
+        };
+    }
+
+    private void registerMetrics(String name, MappedGcraRateLimiter limiter) {
+        // Scans the table on every scrape, cheap for the slot counts this is meant for
+        Gauge.builder(METRIC_PREFIX + ".keys", limiter, MappedGcraRateLimiter::liveKeys)
+                .tag("limiter", name)
+                .description("Keys currently tracked by the limiter")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".memory.mapped", limiter, MappedGcraRateLimiter::mappedBytes)
+                .tag("limiter", name)
+                .baseUnit("bytes")
+                .description("Size of the off-heap rate limit table")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".slot.evictions", limiter, MappedGcraRateLimiter::collisionEvictions)
+                .tag("limiter", name)
+                .description("Live slots taken over by another key because the probe window was full")
+                .register(meterRegistry);
+    }
+
+    private void registerMetrics(String name, RateLimitKeyStore<?> keyStore) {
+        Gauge.builder(METRIC_PREFIX + ".keys", keyStore, RateLimitKeyStore::trackedKeys)
+                .tag("limiter", name)
+                .description("Keys currently tracked by the limiter")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".memory.estimated", keyStore, RateLimitKeyStore::estimatedBytes)
+                .tag("limiter", name)
+                .baseUnit("bytes")
+                .description("Estimated heap held by the limiter key table")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".keys.evicted", keyStore, RateLimitKeyStore::idleEvictions)
+                .tag("limiter", name)
+                .description("Keys removed after a full idle window")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".overflow", keyStore, RateLimitKeyStore::overflows)
+                .tag("limiter", name)
+                .description("New keys handled by the overflow policy because the key cap was reached")
+                .register(meterRegistry);
+    }
+}
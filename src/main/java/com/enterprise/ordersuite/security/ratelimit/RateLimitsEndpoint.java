@@ -0,0 +1,73 @@
+package com.enterprise.ordersuite.security.ratelimit;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * /actuator/ratelimits (ADMIN only): decisions per limiter and the most rejected keys.
+ * DELETE /actuator/ratelimits/{limiter} clears that limiter's rejected keys, e.g. after an incident.
+ */
+@Component
+@Endpoint(id = "ratelimits")
+public class RateLimitsEndpoint {
+
+    private static final int DEFAULT_TOP = 10;
+
+    private final RateLimiterFactory rateLimiterFactory;
+
+    public RateLimitsEndpoint(RateLimiterFactory rateLimiterFactory) {
+        this.rateLimiterFactory = rateLimiterFactory;
+    }
+
+    @ReadOperation
+    public List<LimiterReport> limiters(@Nullable Integer top) {
+        return rateLimiterFactory.limiters().stream()
+                .sorted(Comparator.comparing(InstrumentedRateLimiter::name))
+                .map(limiter -> report(limiter, top))
+                .toList();
+    }
+
+    // null renders as 404
+    @ReadOperation
+    public LimiterReport limiter(@Selector String name, @Nullable Integer top) {
+        InstrumentedRateLimiter limiter = find(name);
+        return limiter != null ? report(limiter, top) : null;
+    }
+
+    @DeleteOperation
+    public void resetRejectedKeys(@Selector String name) {
+        InstrumentedRateLimiter limiter = find(name);
+        if (limiter != null) {
+            limiter.resetRejectedKeys();
+        }
+    }
+
+    private InstrumentedRateLimiter find(String name) {
+        return rateLimiterFactory.limiters().stream()
+                .filter(limiter -> limiter.name().equals(name))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static LimiterReport report(InstrumentedRateLimiter limiter, Integer top) {
+        int n = top != null && top > 0 ? top : DEFAULT_TOP;
+        List<RejectedKey> rejected = limiter.topRejectedKeys(n).stream()
+                .map(entry -> new RejectedKey(entry.key(), entry.count(), entry.maxOvercount()))
+                .toList();
+        return new LimiterReport(limiter.name(), limiter.allowedCount(), limiter.deniedCount(), rejected);
+    }
+
+    public record LimiterReport(String name, long allowed, long denied, List<RejectedKey> topRejectedKeys) {
+    }
+
+    // count may overstate the true rejections by up to maxOvercount
+    public record RejectedKey(String key, long count, long maxOvercount) {
+    }
+}
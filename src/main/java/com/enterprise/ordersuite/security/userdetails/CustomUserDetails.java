@@ -8,21 +8,44 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.util.Collection;
 import java.util.List;
 
-public record CustomUserDetails(User user) implements UserDetails {
+/**
+ * Authenticated principal, detached from the JPA entity.
+ * Never carries the password hash, credentials are checked by AuthenticationService.
+ */
+public record CustomUserDetails(
+        Long id,
+        String email,
+        String roleName,
+        boolean active
+) implements UserDetails {
+
+    public static CustomUserDetails from(User user) {
+        return new CustomUserDetails(
+                user.getId(),
+                user.getEmail(),
+                user.getRole().getName(),
+                Boolean.TRUE.equals(user.getActive())
+        );
+    }
+
+    public static CustomUserDetails fromClaims(Long id, String email, String roleName) {
+        // Tokens are only honoured for active users, deactivation bumps the security version
+        return new CustomUserDetails(id, email, roleName, true);
+    }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().getName()));
+        return List.of(new SimpleGrantedAuthority("ROLE_" + roleName));
     }
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return null;
     }
 
     @Override
     public String getUsername() {
-        return user.getEmail();
+        return email;
     }
 
     @Override
@@ -42,7 +65,7 @@ public record CustomUserDetails(User user) implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return user.getActive();
+        return active;
     }
 
 }
@@ -1,30 +1,96 @@
 package com.enterprise.ordersuite.security.userdetails;
 
 import com.enterprise.ordersuite.identity.domain.User;
+import com.enterprise.ordersuite.identity.domain.UserSecurityChangedEvent;
 import com.enterprise.ordersuite.identity.persistence.UserRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Clock;
+
+/**
+ * Resolves principals through a bounded, expiring cache.
+
+ * Cached principals carry no password hash: credentials are verified by
+ * AuthenticationService against the entity, never through this service.
+ */
 @Service
-@RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
+    private static final String METRIC_PREFIX = "security.principal.cache";
+
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+
+    public CustomUserDetailsService(
+            UserRepository userRepository,
+            PrincipalCacheProperties properties,
+            Clock clock,
+            MeterRegistry meterRegistry
+    ) {
+        this.userRepository = userRepository;
+        this.principalCache = new PrincipalCache(
+                properties.getMaxEntries(),
+                properties.getTtl().toMillis(),
+                clock
+        );
+        registerMetrics(meterRegistry);
+    }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmailIgnoreCaseFetchingRole(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        String key = cacheKey(email);
+
+        CustomUserDetails principal = principalCache.get(key);
+        if (principal == null) {
+            User user = userRepository.findByEmailIgnoreCaseFetchingRole(email)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+
+            principal = CustomUserDetails.from(user);
+            principalCache.put(key, principal);
+        }
 
-        if (!Boolean.TRUE.equals(user.getActive())) {
+        if (!principal.active()) {
             // Treat inactive users as disabled accounts, blocks authentication.
             throw new DisabledException("User account is disabled.");
         }
 
-        return new CustomUserDetails(user);
+        return principal;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        if (event.email() != null) {
+            principalCache.evict(cacheKey(event.email()));
+        }
+    }
+
+    private static String cacheKey(String email) {
+        return User.normalizeEmail(email);
+    }
+
+    private void registerMetrics(MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_PREFIX + ".gets", principalCache, PrincipalCache::hits)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".gets", principalCache, PrincipalCache::misses)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".evictions", principalCache, PrincipalCache::expiredEvictions)
+                .tag("cause", "expired")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".evictions", principalCache, PrincipalCache::invalidatedEvictions)
+                .tag("cause", "invalidated")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".size", principalCache, PrincipalCache::size)
+                .register(registry);
     }
 }
@@ -0,0 +1,102 @@
+package com.enterprise.ordersuite.security.userdetails;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, expiring cache of resolved principals, keyed by normalized email.
+
+ * - Entries expire after a fixed TTL (checked on read, swept when the cache is full).
+ * - When still full after a sweep, new principals are not cached.
+ * - Entries never hold a password hash.
+ */
+final class PrincipalCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    private final Map<String, Entry> entriesByEmail = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expiredEvictions = new LongAdder();
+    private final LongAdder invalidatedEvictions = new LongAdder();
+
+    PrincipalCache(int maxEntries, long ttlMillis, Clock clock) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    CustomUserDetails get(String key) {
+        Entry entry = entriesByEmail.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAtMillis <= clock.millis()) {
+            if (entriesByEmail.remove(key, entry)) {
+                expiredEvictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.principal;
+    }
+
+    void put(String key, CustomUserDetails principal) {
+        if (maxEntries == 0) {
+            return;
+        }
+        if (entriesByEmail.size() >= maxEntries) {
+            sweepExpired();
+            if (entriesByEmail.size() >= maxEntries) {
+                return;
+            }
+        }
+        entriesByEmail.put(key, new Entry(principal, clock.millis() + ttlMillis));
+    }
+
+    void evict(String key) {
+        if (entriesByEmail.remove(key) != null) {
+            invalidatedEvictions.increment();
+        }
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+    long expiredEvictions() {
+        return expiredEvictions.sum();
+    }
+
+    long invalidatedEvictions() {
+        return invalidatedEvictions.sum();
+    }
+
+    int size() {
+        return entriesByEmail.size();
+    }
+
+    private void sweepExpired() {
+        long nowMillis = clock.millis();
+        entriesByEmail.entrySet().removeIf(e -> {
+            boolean expired = e.getValue().expiresAtMillis <= nowMillis;
+            if (expired) {
+                expiredEvictions.increment();
+            }
+            return expired;
+        });
+    }
+
+    private record Entry(CustomUserDetails principal, long expiresAtMillis) {}
+}
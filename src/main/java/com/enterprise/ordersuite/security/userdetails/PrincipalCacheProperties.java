@@ -0,0 +1,22 @@
+package com.enterprise.ordersuite.security.userdetails;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "security.principal-cache")
+public class PrincipalCacheProperties {
+
+    // 0 disables the cache
+    private int maxEntries = 10_000;
+
+    // Upper bound on staleness for changes made on other nodes
+    private Duration ttl = Duration.ofMinutes(5);
+
+}
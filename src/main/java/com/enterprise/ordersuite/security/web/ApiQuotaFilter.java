@@ -0,0 +1,110 @@
+package com.enterprise.ordersuite.security.web;
+
+import com.enterprise.ordersuite.security.ratelimit.RateLimitDecision;
+import com.enterprise.ordersuite.security.ratelimit.RateLimiter;
+import com.enterprise.ordersuite.security.ratelimit.RateLimiterFactory;
+import com.enterprise.ordersuite.security.userdetails.CustomUserDetails;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-user request quota for authenticated API calls, tiered by role.
+
+ * - Runs after JwtAuthenticationFilter and keys on the user id, anonymous requests are not counted.
+ * - One limiter per role from RateLimiterFactory, so storage follows security.rate-limit.implementation.
+ * - Every counted response carries RateLimit-Limit / -Remaining / -Reset / -Policy,
+ *   denials add Retry-After and the usual RATE_LIMITED body.
+ */
+public class ApiQuotaFilter extends OncePerRequestFilter {
+
+    private final ApiQuotaProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    private final Map<String, Tier> tiersByRole = new HashMap<>();
+    private final Tier defaultTier;
+    private final String[] excludedPathPrefixes;
+
+    public ApiQuotaFilter(ApiQuotaProperties properties,
+                          RateLimiterFactory rateLimiterFactory,
+                          ObjectMapper objectMapper,
+                          Clock clock) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+
+        int windowMinutes = properties.getWindowMinutes();
+        properties.getLimits().forEach((role, limit) ->
+                tiersByRole.put(role.toUpperCase(Locale.ROOT), Tier.of("api-quota-" + role.toLowerCase(Locale.ROOT), limit, windowMinutes, rateLimiterFactory)));
+        this.defaultTier = Tier.of("api-quota-default", properties.getDefaultLimit(), windowMinutes, rateLimiterFactory);
+        this.excludedPathPrefixes = properties.getExcludedPathPrefixes().toArray(String[]::new);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.isEnabled() || currentUser() == null) return true;
+
+        String path = request.getRequestURI();
+        for (String prefix : excludedPathPrefixes) {
+            if (path.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        CustomUserDetails user = currentUser();
+        Tier tier = tiersByRole.getOrDefault(user.roleName(), defaultTier);
+
+        RateLimitDecision decision = tier.limiter().check(String.valueOf(user.id()));
+
+        response.setHeader("RateLimit-Limit", tier.limitHeader());
+        response.setHeader("RateLimit-Policy", tier.policyHeader());
+        if (decision.remaining() != RateLimitDecision.UNKNOWN) {
+            response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        }
+        if (decision.resetSeconds() != RateLimitDecision.UNKNOWN) {
+            response.setHeader("RateLimit-Reset", String.valueOf(decision.resetSeconds()));
+        }
+
+        if (decision.allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimitResponses.writeTooManyRequests(response, decision, objectMapper, clock);
+    }
+
+    private static CustomUserDetails currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof CustomUserDetails user ? user : null;
+    }
+
+    private record Tier(RateLimiter limiter, String limitHeader, String policyHeader) {
+
+        static Tier of(String name, int limit, int windowMinutes, RateLimiterFactory rateLimiterFactory) {
+            return new Tier(
+                    rateLimiterFactory.create(name, limit, windowMinutes),
+                    String.valueOf(limit),
+                    limit + ";w=" + windowMinutes * 60
+            );
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.enterprise.ordersuite.security.web;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "security.api-quota")
+public class ApiQuotaProperties {
+
+    private boolean enabled = true;
+
+    private int windowMinutes = 1;
+
+    // Requests per window for each role name, roles not listed get defaultLimit
+    private Map<String, Integer> limits = new HashMap<>(Map.of("USER", 300, "ADMIN", 1200));
+
+    private int defaultLimit = 300;
+
+    // Covered by security.rate-limit.rules or not worth a quota
+    private List<String> excludedPathPrefixes = new ArrayList<>(List.of("/auth/", "/actuator/"));
+}
@@ -1,61 +1,50 @@
 package com.enterprise.ordersuite.security.web;
 
+import com.enterprise.ordersuite.identity.domain.User;
 import com.enterprise.ordersuite.security.ratelimit.RateLimitDecision;
-import com.enterprise.ordersuite.security.ratelimit.RateLimiter;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.http.MediaType;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.time.Clock;
-import java.time.Instant;
-import java.util.Map;
 
+/**
+ * Applies the rule matched in {@link RateLimitRuleTable}, requests without a rule pass untouched.
+ */
 public class AuthRateLimitFilter extends OncePerRequestFilter {
 
-    private final RateLimiter forgotPasswordLimiter;
-    private final RateLimiter loginLimiter;
-    private final RateLimiter resetPasswordLimiter;
-    private final RateLimiter refreshLimiter;
-    private final RateLimiter logoutLimiter;
+    private static final String RULE_ATTRIBUTE = AuthRateLimitFilter.class.getName() + ".rule";
 
+    // Auth request bodies are tiny, larger ones are not inspected for an email
+    private static final int MAX_INSPECTED_BODY_BYTES = 8 * 1024;
+
+    private final RateLimitRuleTable ruleTable;
     private final ObjectMapper objectMapper;
     private final Clock clock;
 
     public AuthRateLimitFilter(
-            RateLimiter forgotPasswordLimiter,
-            RateLimiter loginLimiter,
-            RateLimiter resetPasswordLimiter,
-            RateLimiter refreshLimiter,
-            RateLimiter logoutLimiter,
+            RateLimitRuleTable ruleTable,
             ObjectMapper objectMapper,
             Clock clock
     ) {
-        this.forgotPasswordLimiter = forgotPasswordLimiter;
-        this.loginLimiter = loginLimiter;
-        this.resetPasswordLimiter = resetPasswordLimiter;
-        this.refreshLimiter = refreshLimiter;
-        this.logoutLimiter = logoutLimiter;
+        this.ruleTable = ruleTable;
         this.objectMapper = objectMapper;
         this.clock = clock;
     }
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
-        if (!"POST".equalsIgnoreCase(request.getMethod())) return true;
-
-        String path = request.getRequestURI();
-        return !(
-                path.equals("/auth/forgot-password")
-                        // deactivated for tests || path.equals("/auth/login")
-                        || path.equals("/auth/reset-password")
-                        || path.equals("/auth/refresh")
-                        || path.equals("/auth/logout")
-        );
+        RateLimitRule rule = ruleTable.match(request);
+        if (rule == null) return true;
+
+        request.setAttribute(RULE_ATTRIBUTE, rule);
+        return false;
     }
 
     @Override
@@ -65,56 +54,47 @@ public class AuthRateLimitFilter extends OncePerRequestFilter {
             FilterChain filterChain
     ) throws ServletException, IOException {
 
-        String path = request.getRequestURI();
-        String ip = extractClientIp(request);
+        RateLimitRule rule = (RateLimitRule) request.getAttribute(RULE_ATTRIBUTE);
 
-        RateLimitDecision decision = getRateLimitDecision(path, ip);
+        HttpServletRequest effectiveRequest = request;
+        String email = null;
+        if (rule.usesEmail()) {
+            CachedBodyRequest cached = CachedBodyRequest.wrap(request, MAX_INSPECTED_BODY_BYTES);
+            effectiveRequest = cached;
+            email = extractEmail(cached.cachedBody());
+        }
+
+        RateLimitDecision decision = rule.limiter().check(rule.key(effectiveRequest, email));
 
         if (decision.allowed()) {
-            filterChain.doFilter(request, response);
+            filterChain.doFilter(effectiveRequest, response);
             return;
         }
 
-        response.setStatus(429);
-        response.setHeader("Retry-After", String.valueOf(decision.retryAfterSeconds()));
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-
-        Map<String, Object> body = Map.of(
-                "code", "RATE_LIMITED",
-                "message", "Too many requests. Please try again later.",
-                "timestamp", Instant.now(clock).toString()
-        );
-
-        objectMapper.writeValue(response.getOutputStream(), body);
+        RateLimitResponses.writeTooManyRequests(response, decision, objectMapper, clock);
     }
 
-    private RateLimitDecision getRateLimitDecision(String path, String ip) {
-        RateLimiter limiter;
-        String keyPrefix;
-
-        if (path.equals("/auth/forgot-password")) {
-            limiter = forgotPasswordLimiter;
-            keyPrefix = "FORGOT_PASSWORD";
-        } else if (path.equals("/auth/login")) {
-            limiter = loginLimiter;
-            keyPrefix = "LOGIN";
-        } else if (path.equals("/auth/reset-password")) {
-            limiter = resetPasswordLimiter;
-            keyPrefix = "RESET_PASSWORD";
-        } else if (path.equals("/auth/refresh")) {
-            limiter = refreshLimiter;
-            keyPrefix = "REFRESH";
-        } else {
-            limiter = logoutLimiter;
-            keyPrefix = "LOGOUT";
+    // Top-level "email" string of a JSON object, streamed without binding the whole body
+    private String extractEmail(byte[] body) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("email".equals(field) && value == JsonToken.VALUE_STRING) {
+                    return User.normalizeEmail(parser.getText());
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            // Malformed body: the controller rejects it, the rule still applies with the email part missing
+            return null;
         }
-
-        String key = keyPrefix + ":ip:" + ip;
-        return limiter.check(key);
-    }
-
-    private String extractClientIp(HttpServletRequest request) {
-        String remote = request.getRemoteAddr();
-        return (remote == null || remote.isBlank()) ? "unknown" : remote;
     }
 }
@@ -0,0 +1,84 @@
+package com.enterprise.ordersuite.security.web;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads up to maxBytes of the body so a filter can look at it, then replays it to the controller.
+ * Anything beyond maxBytes is streamed from the original request untouched.
+ */
+final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+    private final byte[] prefix;
+    private final boolean complete;
+
+    private CachedBodyRequest(HttpServletRequest request, byte[] prefix, boolean complete) {
+        super(request);
+        this.prefix = prefix;
+        this.complete = complete;
+    }
+
+    static CachedBodyRequest wrap(HttpServletRequest request, int maxBytes) throws IOException {
+        byte[] read = request.getInputStream().readNBytes(maxBytes + 1);
+        return new CachedBodyRequest(request, read, read.length <= maxBytes);
+    }
+
+    // Null when the body is larger than maxBytes
+    byte[] cachedBody() {
+        return complete ? prefix : null;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        InputStream replay = new ByteArrayInputStream(prefix);
+        InputStream body = complete ? replay : new SequenceInputStream(replay, super.getInputStream());
+        return new ServletInputStream() {
+            @Override
+            public int read() throws IOException {
+                return body.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return body.read(b, off, len);
+            }
+
+            @Override
+            public boolean isFinished() {
+                try {
+                    return body.available() == 0;
+                } catch (IOException e) {
+                    return true;
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException("Async reads are not supported on a cached body");
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        String encoding = getCharacterEncoding();
+        Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+    }
+}
@@ -0,0 +1,36 @@
+package com.enterprise.ordersuite.security.web;
+
+import com.enterprise.ordersuite.security.ratelimit.RateLimitDecision;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * 429 response shared by the auth rate limit and the API quota filters.
+ */
+final class RateLimitResponses {
+
+    private RateLimitResponses() {}
+
+    static void writeTooManyRequests(HttpServletResponse response,
+                                     RateLimitDecision decision,
+                                     ObjectMapper objectMapper,
+                                     Clock clock) throws IOException {
+        response.setStatus(429);
+        response.setHeader("Retry-After", String.valueOf(decision.retryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        Map<String, Object> body = Map.of(
+                "code", "RATE_LIMITED",
+                "message", "Too many requests. Please try again later.",
+                "timestamp", Instant.now(clock).toString()
+        );
+
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
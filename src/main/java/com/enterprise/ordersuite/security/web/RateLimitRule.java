@@ -0,0 +1,67 @@
+package com.enterprise.ordersuite.security.web;
+
+import com.enterprise.ordersuite.security.ratelimit.RateLimitProperties;
+import com.enterprise.ordersuite.security.ratelimit.RateLimiter;
+import com.enterprise.ordersuite.security.userdetails.CustomUserDetails;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * A configured rule bound to its own limiter. Limiters are per rule, so keys need no rule prefix.
+ */
+record RateLimitRule(String name, RateLimiter limiter, RateLimitProperties.KeyPart[] keyParts, boolean usesEmail) {
+
+    private static final char SEPARATOR = '|';
+    private static final String MISSING = "-";
+
+    static RateLimitRule of(String name, RateLimiter limiter, RateLimitProperties.KeyPart[] keyParts) {
+        boolean usesEmail = false;
+        for (RateLimitProperties.KeyPart part : keyParts) {
+            usesEmail |= part == RateLimitProperties.KeyPart.EMAIL;
+        }
+        return new RateLimitRule(name, limiter, keyParts, usesEmail);
+    }
+
+    /**
+     * Single-part keys are the attribute value itself. Composite keys are joined once into
+     * an exactly sized buffer, no intermediate strings.
+     */
+    String key(HttpServletRequest request, String email) {
+        if (keyParts.length == 1) {
+            return part(keyParts[0], request, email);
+        }
+
+        String[] values = new String[keyParts.length];
+        int length = keyParts.length - 1;
+        for (int i = 0; i < keyParts.length; i++) {
+            values[i] = part(keyParts[i], request, email);
+            length += values[i].length();
+        }
+
+        StringBuilder key = new StringBuilder(length);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) key.append(SEPARATOR);
+            key.append(values[i]);
+        }
+        return key.toString();
+    }
+
+    private static String part(RateLimitProperties.KeyPart part, HttpServletRequest request, String email) {
+        return switch (part) {
+            case IP -> clientIp(request);
+            case EMAIL -> email == null ? MISSING : email;
+            case USER -> {
+                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+                yield authentication != null && authentication.getPrincipal() instanceof CustomUserDetails user
+                        ? String.valueOf(user.id())
+                        : clientIp(request);
+            }
+        };
+    }
+
+    private static String clientIp(HttpServletRequest request) {
+        String remote = request.getRemoteAddr();
+        return (remote == null || remote.isBlank()) ? "unknown" : remote;
+    }
+}
@@ -0,0 +1,74 @@
+package com.enterprise.ordersuite.security.web;
+
+import com.enterprise.ordersuite.security.ratelimit.RateLimitProperties;
+import com.enterprise.ordersuite.security.ratelimit.RateLimiterFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * security.rate-limit.rules compiled into method -> path -> rule.
+ * Matching a request is two hash lookups, invalid or duplicate rules fail startup.
+ */
+@Component
+public class RateLimitRuleTable {
+
+    private final Map<String, Map<String, RateLimitRule>> rulesByMethod;
+
+    public RateLimitRuleTable(RateLimitProperties properties, RateLimiterFactory rateLimiterFactory) {
+        Map<String, Map<String, RateLimitRule>> table = new HashMap<>();
+        Set<String> names = new HashSet<>();
+
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            if (!rule.isEnabled() || properties.getDisabledRules().contains(rule.getName())) {
+                continue;
+            }
+            validate(rule);
+            if (!names.add(rule.getName())) {
+                throw new IllegalStateException("Duplicate rate limit rule name: " + rule.getName());
+            }
+
+            String method = rule.getMethod().toUpperCase(Locale.ROOT);
+            int burst = rule.getBurst() != null ? rule.getBurst() : rule.getLimit();
+
+            RateLimitRule compiled = RateLimitRule.of(
+                    rule.getName(),
+                    rateLimiterFactory.create(rule.getName(), rule.getLimit(), rule.getWindowMinutes(), burst),
+                    rule.getKey().toArray(RateLimitProperties.KeyPart[]::new)
+            );
+
+            RateLimitRule previous = table.computeIfAbsent(method, m -> new HashMap<>()).putIfAbsent(rule.getPath(), compiled);
+            if (previous != null) {
+                throw new IllegalStateException("Rate limit rules " + previous.name() + " and " + rule.getName()
+                        + " both match " + method + " " + rule.getPath());
+            }
+        }
+
+        this.rulesByMethod = table;
+    }
+
+    RateLimitRule match(HttpServletRequest request) {
+        Map<String, RateLimitRule> byPath = rulesByMethod.get(request.getMethod());
+        return byPath == null ? null : byPath.get(request.getRequestURI());
+    }
+
+    private static void validate(RateLimitProperties.Rule rule) {
+        if (rule.getName() == null || rule.getName().isBlank()) {
+            throw new IllegalStateException("Rate limit rule without name");
+        }
+        if (rule.getPath() == null || rule.getPath().isBlank() || rule.getMethod() == null || rule.getMethod().isBlank()) {
+            throw new IllegalStateException("Rate limit rule " + rule.getName() + " needs method and path");
+        }
+        if (rule.getLimit() <= 0 || rule.getWindowMinutes() <= 0) {
+            throw new IllegalStateException("Rate limit rule " + rule.getName() + " needs limit and window-minutes > 0");
+        }
+        if (rule.getKey() == null || rule.getKey().isEmpty()) {
+            throw new IllegalStateException("Rate limit rule " + rule.getName() + " needs at least one key part");
+        }
+    }
+}
@@ -0,0 +1,10 @@
+-- Per-user security version, embedded in access tokens.
+-- Bumped on deactivation, role or email change so previously issued tokens stop working.
+
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS security_version BIGINT NOT NULL DEFAULT 0;
+
+-- Only users whose version was ever bumped are loaded into the in-memory version table
+CREATE INDEX IF NOT EXISTS ix_users_security_version_bumped
+    ON users (id)
+    WHERE security_version > 0;
@@ -0,0 +1,18 @@
+-- Case-insensitive email lookups (login, JWT principal resolution, forgot-password)
+-- used lower(email) = lower(:email), which cannot use uk_users_email and scans users.
+-- email_normalized holds lower(trim(email)) and is backed by a unique index.
+
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS email_normalized VARCHAR(255);
+
+-- Backfill. Fails the index creation below if two accounts only differ by case,
+-- those must be merged manually before applying this migration.
+UPDATE users
+SET email_normalized = lower(trim(email))
+WHERE email_normalized IS NULL;
+
+ALTER TABLE users
+    ALTER COLUMN email_normalized SET NOT NULL;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_email_normalized
+    ON users (email_normalized);
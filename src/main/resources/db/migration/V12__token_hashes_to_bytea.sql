@@ -0,0 +1,17 @@
+-- Token hashes were stored as 64-char hex strings. Storing the raw 32-byte SHA-256
+-- digest halves the column and unique index size and removes hex encoding on every
+-- refresh, logout and password reset lookup.
+-- ALTER COLUMN TYPE rewrites both tables and their unique indexes under an
+-- ACCESS EXCLUSIVE lock, run this in a maintenance window on large tables.
+
+ALTER TABLE refresh_tokens
+    ALTER COLUMN token_hash TYPE BYTEA USING decode(token_hash, 'hex');
+
+ALTER TABLE refresh_tokens
+    ADD CONSTRAINT ck_refresh_tokens_token_hash_len CHECK (octet_length(token_hash) = 32);
+
+ALTER TABLE password_reset_tokens
+    ALTER COLUMN token_hash TYPE BYTEA USING decode(token_hash, 'hex');
+
+ALTER TABLE password_reset_tokens
+    ADD CONSTRAINT ck_password_reset_tokens_token_hash_len CHECK (octet_length(token_hash) = 32);
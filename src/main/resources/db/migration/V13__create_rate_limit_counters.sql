@@ -0,0 +1,16 @@
+-- Per-minute rate limit counters shared by all app nodes (security.rate-limit.cluster-enabled).
+-- Nodes add their locally batched hits and read back window totals every flush interval.
+-- UNLOGGED: no WAL on the hot write path. The table is emptied after a crash,
+-- which only resets rate limit windows.
+
+CREATE UNLOGGED TABLE rate_limit_counters (
+    limiter VARCHAR(64) NOT NULL,
+    key TEXT NOT NULL,
+    window_minute BIGINT NOT NULL,
+    count BIGINT NOT NULL,
+
+    PRIMARY KEY (limiter, key, window_minute)
+);
+
+-- Expired minutes are deleted per limiter
+CREATE INDEX idx_rate_limit_counters_limiter_minute ON rate_limit_counters (limiter, window_minute);
@@ -0,0 +1,7 @@
+-- Cleanup deletes used/revoked tokens in small chunks, each chunk must find its rows
+-- through an index instead of scanning the table. Only retired tokens are indexed.
+-- LEAST ignores NULLs, so the expression is whichever of used_at/revoked_at is set first.
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_retired_at
+    ON refresh_tokens (LEAST(used_at, revoked_at))
+    WHERE used_at IS NOT NULL OR revoked_at IS NOT NULL;
@@ -0,0 +1,7 @@
+-- Session listing and bulk revocation filter on user_id over tokens that are neither used nor revoked.
+-- Rotation leaves one used row per refresh behind, the partial index skips all of them.
+-- expires_at cannot be part of the predicate (now() is not immutable), it is the second key column instead.
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_active_user
+    ON refresh_tokens (user_id, expires_at)
+    WHERE used_at IS NULL AND revoked_at IS NULL;
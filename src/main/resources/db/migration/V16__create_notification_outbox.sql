@@ -0,0 +1,24 @@
+-- Emails are written here in the transaction that triggers them and sent by a background dispatcher.
+-- Rows are deleted once sent, so the table only holds the backlog and dead messages.
+-- payload holds the message content (a password reset link is a live credential until it is sent).
+CREATE TABLE notification_outbox (
+    id BIGSERIAL PRIMARY KEY,
+
+    type VARCHAR(64) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    recipient VARCHAR(320) NOT NULL,
+    payload TEXT NOT NULL,
+
+    attempts INT NOT NULL DEFAULT 0,
+    -- due time, also the lease while a dispatcher is sending the row
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(1000),
+
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+-- Dispatcher claim: due pending rows in due order
+CREATE INDEX idx_notification_outbox_due
+    ON notification_outbox (next_attempt_at)
+    WHERE status = 'PENDING';
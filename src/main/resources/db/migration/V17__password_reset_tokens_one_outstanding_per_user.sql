@@ -0,0 +1,17 @@
+-- At most one outstanding (unused) reset token per user. Repeated forgot-password requests
+-- supersede that row with one upsert instead of inserting a new row each time.
+
+-- Older outstanding tokens are superseded: only the most recent link keeps working
+UPDATE password_reset_tokens t
+SET used_at = NOW()
+WHERE t.used_at IS NULL
+  AND EXISTS (
+      SELECT 1 FROM password_reset_tokens newer
+      WHERE newer.user_id = t.user_id
+        AND newer.used_at IS NULL
+        AND newer.id > t.id
+  );
+
+CREATE UNIQUE INDEX ux_password_reset_tokens_outstanding_user
+    ON password_reset_tokens (user_id)
+    WHERE used_at IS NULL;
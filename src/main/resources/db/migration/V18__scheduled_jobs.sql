@@ -0,0 +1,31 @@
+-- Cluster-wide leases for scheduled jobs: a node runs a job only while it holds the job's row.
+-- Times come from the database clock so nodes with skewed clocks agree on who holds a lease.
+-- TIMESTAMPTZ so now() is compared without the session TimeZone, which pgjdbc takes from each JVM.
+CREATE TABLE scheduled_job_locks (
+    job_name VARCHAR(100) PRIMARY KEY,
+    locked_by VARCHAR(255) NOT NULL,
+    locked_at TIMESTAMPTZ NOT NULL,
+    -- a crashed node's lease is taken over after this
+    locked_until TIMESTAMPTZ NOT NULL
+);
+
+-- One row per run that acquired the lease, deleted by the reaper after jobs.history-retention
+CREATE TABLE scheduled_job_runs (
+    id BIGSERIAL PRIMARY KEY,
+    job_name VARCHAR(100) NOT NULL,
+    node VARCHAR(255) NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP,
+    -- RUNNING until the run ends, then SUCCEEDED or FAILED
+    outcome VARCHAR(16) NOT NULL,
+    rows_affected BIGINT,
+    error VARCHAR(1000)
+);
+
+-- Last runs per job (actuator)
+CREATE INDEX ix_scheduled_job_runs_job_started
+    ON scheduled_job_runs (job_name, started_at DESC);
+
+-- Reaper
+CREATE INDEX ix_scheduled_job_runs_started_at
+    ON scheduled_job_runs (started_at);
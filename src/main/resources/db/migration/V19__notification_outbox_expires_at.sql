@@ -0,0 +1,12 @@
+-- Messages carry the expiry of what they deliver (a reset link is dead after 15 minutes).
+-- The dispatcher drops expired messages instead of sending them, the reaper deletes rows
+-- (FAILED ones included, with their payload) once expires_at is past notifications.outbox.expired-retention.
+ALTER TABLE notification_outbox ADD COLUMN expires_at TIMESTAMP;
+
+UPDATE notification_outbox SET expires_at = created_at + INTERVAL '15 minutes';
+
+ALTER TABLE notification_outbox ALTER COLUMN expires_at SET NOT NULL;
+
+-- Reaper
+CREATE INDEX ix_notification_outbox_expires_at
+    ON notification_outbox (expires_at);
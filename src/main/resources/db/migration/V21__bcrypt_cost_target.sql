@@ -0,0 +1,12 @@
+-- One BCrypt cost for the whole cluster (security.password-hashing), calibrated by the first node to start.
+-- Every node hashes with it and rehashes stored passwords to it, so a login never rehashes
+-- just because it landed on another node.
+CREATE TABLE bcrypt_cost_target (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    strength INT NOT NULL,
+    -- calibration settings it was measured with, a node started with other settings recalibrates
+    target_latency_ms BIGINT NOT NULL,
+    min_strength INT NOT NULL,
+    max_strength INT NOT NULL,
+    calibrated_at TIMESTAMPTZ NOT NULL
+);
@@ -0,0 +1,6 @@
+-- Refresh token filter sync: active tokens created since the last sync, minus auth.refresh-token-filter.sync-overlap.
+-- Partial like idx_refresh_tokens_active_user, rows that are used or revoked are never read.
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_active_created
+    ON refresh_tokens (created_at)
+    WHERE used_at IS NULL AND revoked_at IS NULL;
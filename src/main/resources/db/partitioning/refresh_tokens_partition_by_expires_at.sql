@@ -0,0 +1,75 @@
+-- Opt-in, NOT a Flyway migration (outside db/migration on purpose).
+-- Converts refresh_tokens into a table range-partitioned by expires_at with one partition
+-- per day, so cleanup drops whole expired days instead of deleting rows.
+-- Run once in a maintenance window (the table is locked while live tokens are copied),
+-- then set auth.refresh-token-cleanup.mode=partition. The cleanup job keeps creating
+-- partitions ahead and drops the expired ones.
+--
+-- Differences from the plain table:
+-- - primary key is (id, expires_at) and token_hash is unique per (token_hash, expires_at):
+--   Postgres requires unique constraints to include the partition key. Hashes of 256-bit
+--   random tokens do not collide in practice, lookups by token_hash use the same index.
+-- - tokens that are already expired are not copied.
+
+BEGIN;
+
+LOCK TABLE refresh_tokens IN ACCESS EXCLUSIVE MODE;
+
+ALTER TABLE refresh_tokens RENAME TO refresh_tokens_unpartitioned;
+
+CREATE TABLE refresh_tokens (
+    id BIGINT NOT NULL DEFAULT nextval('refresh_tokens_id_seq'),
+
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+
+    token_hash BYTEA NOT NULL,
+
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+
+    used_at TIMESTAMP NULL,
+    revoked_at TIMESTAMP NULL,
+
+    CONSTRAINT pk_refresh_tokens PRIMARY KEY (id, expires_at),
+    CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash, expires_at),
+    CONSTRAINT ck_refresh_tokens_token_hash_len CHECK (octet_length(token_hash) = 32)
+) PARTITION BY RANGE (expires_at);
+
+ALTER SEQUENCE refresh_tokens_id_seq OWNED BY refresh_tokens.id;
+
+CREATE INDEX idx_refresh_tokens_p_user_id ON refresh_tokens (user_id);
+CREATE INDEX idx_refresh_tokens_p_active_user
+    ON refresh_tokens (user_id, expires_at)
+    WHERE used_at IS NULL AND revoked_at IS NULL;
+CREATE INDEX idx_refresh_tokens_p_active_created
+    ON refresh_tokens (created_at)
+    WHERE used_at IS NULL AND revoked_at IS NULL;
+CREATE INDEX idx_refresh_tokens_p_retired_at
+    ON refresh_tokens (LEAST(used_at, revoked_at))
+    WHERE used_at IS NOT NULL OR revoked_at IS NOT NULL;
+
+-- Today plus 21 days, matching auth.refresh-token-cleanup.partitions-ahead-days
+DO $$
+DECLARE
+    day DATE;
+BEGIN
+    FOR day IN SELECT generate_series(current_date, current_date + 21, INTERVAL '1 day')::date LOOP
+        EXECUTE format(
+            'CREATE TABLE refresh_tokens_p%s PARTITION OF refresh_tokens FOR VALUES FROM (%L) TO (%L)',
+            to_char(day, 'YYYYMMDD'), day, day + 1
+        );
+    END LOOP;
+END $$;
+
+-- Safety net if the cleanup job has not created partitions in time, should stay empty
+CREATE TABLE refresh_tokens_default PARTITION OF refresh_tokens DEFAULT;
+
+INSERT INTO refresh_tokens (id, user_id, token_hash, created_at, updated_at, expires_at, used_at, revoked_at)
+SELECT id, user_id, token_hash, created_at, updated_at, expires_at, used_at, revoked_at
+FROM refresh_tokens_unpartitioned
+WHERE expires_at >= now();
+
+DROP TABLE refresh_tokens_unpartitioned;
+
+COMMIT;
@@ -0,0 +1,123 @@
+package com.enterprise.ordersuite.auth.service;
+
+import com.enterprise.ordersuite.auth.dtos.AuthRequest;
+import com.enterprise.ordersuite.auth.dtos.RefreshRequest;
+import com.enterprise.ordersuite.auth.persistence.RefreshTokenRotation.ConsumedRefreshToken;
+import com.enterprise.ordersuite.auth.service.exceptions.InvalidRefreshTokenException;
+import com.enterprise.ordersuite.identity.domain.Role;
+import com.enterprise.ordersuite.identity.domain.User;
+import com.enterprise.ordersuite.identity.persistence.RoleRepository;
+import com.enterprise.ordersuite.identity.persistence.UserRepository;
+import com.enterprise.ordersuite.security.jwt.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AuthenticationServiceTest {
+
+    private UserRepository userRepository;
+    private PasswordEncoder passwordEncoder;
+    private RefreshTokenService refreshTokenService;
+    private AuthenticationService service;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        passwordEncoder = mock(PasswordEncoder.class);
+        JwtService jwtService = mock(JwtService.class);
+        refreshTokenService = mock(RefreshTokenService.class);
+
+        service = new AuthenticationService(
+                userRepository,
+                mock(RoleRepository.class),
+                passwordEncoder,
+                jwtService,
+                refreshTokenService
+        );
+
+        Role role = new Role();
+        role.setName("USER");
+
+        user = new User();
+        user.setId(5L);
+        user.setEmail("jane@example.com");
+        user.setPassword("$2a$10$old");
+        user.setActive(true);
+        user.setRole(role);
+
+        when(userRepository.findByEmailIgnoreCase("jane@example.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("Secret123!", "$2a$10$old")).thenReturn(true);
+        when(jwtService.generateToken(user)).thenReturn("access");
+        when(refreshTokenService.issueFor(user))
+                .thenReturn(new RefreshTokenService.IssuedRefreshToken("refresh", LocalDateTime.now()));
+    }
+
+    @Test
+    void authenticate_rehashesPassword_whenStoredCostDiffersFromTarget() {
+        when(passwordEncoder.upgradeEncoding("$2a$10$old")).thenReturn(true);
+        when(passwordEncoder.encode("Secret123!")).thenReturn("$2a$12$new");
+
+        var response = service.authenticate(new AuthRequest("jane@example.com", "Secret123!"));
+
+        assertThat(response.getAccessToken()).isEqualTo("access");
+        assertThat(user.getPassword()).isEqualTo("$2a$12$new");
+        verify(userRepository).save(user);
+    }
+
+    @Test
+    void authenticate_keepsHash_whenCostMatchesTarget() {
+        when(passwordEncoder.upgradeEncoding("$2a$10$old")).thenReturn(false);
+
+        service.authenticate(new AuthRequest("jane@example.com", "Secret123!"));
+
+        assertThat(user.getPassword()).isEqualTo("$2a$10$old");
+        verify(passwordEncoder, never()).encode(any());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void refresh_issuesNewTokens_forTheConsumedTokensOwner() {
+        var consumed = new ConsumedRefreshToken(9L, 5L);
+        when(refreshTokenService.consumeOrNull("old")).thenReturn(consumed);
+        when(userRepository.findByIdFetchingRole(5L)).thenReturn(Optional.of(user));
+
+        var response = service.refresh(new RefreshRequest("old"));
+
+        assertThat(response.getAccessToken()).isEqualTo("access");
+        assertThat(response.getRefreshToken()).isEqualTo("refresh");
+        verify(refreshTokenService, never()).revoke(any(ConsumedRefreshToken.class));
+    }
+
+    @Test
+    void refresh_rejectsTokenThatWasNotActive() {
+        when(refreshTokenService.consumeOrNull("old")).thenReturn(null);
+
+        assertThatThrownBy(() -> service.refresh(new RefreshRequest("old")))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+        verifyNoInteractions(userRepository);
+        verify(refreshTokenService, never()).issueFor(any());
+    }
+
+    @Test
+    void refresh_revokesToken_whenUserIsInactive() {
+        var consumed = new ConsumedRefreshToken(9L, 5L);
+        user.setActive(false);
+        when(refreshTokenService.consumeOrNull("old")).thenReturn(consumed);
+        when(userRepository.findByIdFetchingRole(5L)).thenReturn(Optional.of(user));
+
+        assertThatThrownBy(() -> service.refresh(new RefreshRequest("old")))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+        verify(refreshTokenService).revoke(consumed);
+        verify(refreshTokenService, never()).issueFor(any());
+    }
+}
@@ -1,38 +1,121 @@
 package com.enterprise.ordersuite.auth.service;
 
+import com.enterprise.ordersuite.support.MutableClock;
+import com.enterprise.ordersuite.auth.persistence.RefreshTokenPartitionManager;
 import com.enterprise.ordersuite.auth.persistence.RefreshTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.*;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 class RefreshTokenCleanupServiceTest {
 
+    private static final Instant NOW = Instant.parse("2026-01-29T12:00:00Z");
+
     private RefreshTokenRepository repo;
-    private Clock clock;
+    private RefreshTokenPartitionManager partitionManager;
+    private RefreshTokenCleanupProperties properties;
+    private MutableClock clock;
+    private SimpleMeterRegistry registry;
     private RefreshTokenCleanupService service;
 
     @BeforeEach
     void setUp() {
         repo = mock(RefreshTokenRepository.class);
-        clock = Clock.fixed(Instant.parse("2026-01-29T12:00:00Z"), ZoneOffset.UTC);
-        service = new RefreshTokenCleanupService(repo, clock);
+        partitionManager = mock(RefreshTokenPartitionManager.class);
+        properties = new RefreshTokenCleanupProperties();
+        properties.setChunkSize(100);
+        clock = new MutableClock(NOW);
+        registry = new SimpleMeterRegistry();
+        service = new RefreshTokenCleanupService(repo, partitionManager, properties, clock, registry);
     }
 
     @Test
     void cleanupNow_deletesExpired_and_usedOrRevokedBeforeCutoff() {
-        when(repo.deleteExpired(any())).thenReturn(3);
-        when(repo.deleteUsedOrRevokedBefore(any())).thenReturn(5);
+        when(repo.deleteExpiredChunk(any(), anyInt())).thenReturn(3);
+        when(repo.deleteUsedOrRevokedChunk(any(), anyInt())).thenReturn(5);
 
         var result = service.cleanupNow();
 
         assertThat(result.expiredDeleted()).isEqualTo(3);
         assertThat(result.usedRevokedDeleted()).isEqualTo(5);
+        assertThat(result.completed()).isTrue();
+
+        LocalDateTime now = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC);
+        verify(repo).deleteExpiredChunk(eq(now), eq(100));
+        verify(repo).deleteUsedOrRevokedChunk(eq(now.minusDays(7)), eq(100));
+        verifyNoInteractions(partitionManager);
+    }
+
+    @Test
+    void cleanupNow_repeatsFullChunks_untilAShortOne() {
+        when(repo.deleteExpiredChunk(any(), anyInt())).thenReturn(100, 100, 40);
+        when(repo.deleteUsedOrRevokedChunk(any(), anyInt())).thenReturn(100, 0);
+
+        var result = service.cleanupNow();
+
+        assertThat(result.expiredDeleted()).isEqualTo(240);
+        assertThat(result.usedRevokedDeleted()).isEqualTo(100);
+        verify(repo, times(3)).deleteExpiredChunk(any(), anyInt());
+        verify(repo, times(2)).deleteUsedOrRevokedChunk(any(), anyInt());
+
+        assertThat(registry.get("auth.refresh_tokens.cleanup.chunks").counter().count()).isEqualTo(5);
+        assertThat(registry.get("auth.refresh_tokens.cleanup.deleted").tag("reason", "expired").counter().count()).isEqualTo(240);
+        assertThat(registry.get("auth.refresh_tokens.cleanup.deleted").tag("reason", "used_revoked").counter().count()).isEqualTo(100);
+    }
+
+    @Test
+    void cleanupNow_stopsOnceTheTimeBudgetIsSpent() {
+        properties.setTimeBudget(Duration.ofMinutes(1));
+        when(repo.deleteExpiredChunk(any(), anyInt())).thenAnswer(invocation -> {
+            clock.advance(Duration.ofSeconds(25));
+            return 100;
+        });
+
+        var result = service.cleanupNow();
+
+        // 25s, 50s, 75s: the third chunk crosses the budget
+        assertThat(result.expiredDeleted()).isEqualTo(300);
+        assertThat(result.completed()).isFalse();
+        verify(repo, never()).deleteUsedOrRevokedChunk(any(), anyInt());
+        assertThat(registry.get("auth.refresh_tokens.cleanup.duration").tag("outcome", "budget_exhausted").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void partitionMode_createsDaysAhead_andDropsDaysBeforeToday() {
+        properties.setMode(RefreshTokenCleanupProperties.Mode.PARTITION);
+        properties.setPartitionsAheadDays(2);
+        LocalDate today = LocalDate.of(2026, 1, 29);
+        when(partitionManager.isPartitioned()).thenReturn(true);
+        when(partitionManager.partitionDays()).thenReturn(List.of(today.minusDays(2), today.minusDays(1), today, today.plusDays(1)));
+
+        var result = service.cleanupNow();
+
+        verify(partitionManager).createPartition(today);
+        verify(partitionManager).createPartition(today.plusDays(1));
+        verify(partitionManager).createPartition(today.plusDays(2));
+        verify(partitionManager).dropPartition(today.minusDays(2));
+        verify(partitionManager).dropPartition(today.minusDays(1));
+        verify(partitionManager, never()).dropPartition(today);
+        assertThat(result.partitionsDropped()).isEqualTo(2);
+        assertThat(registry.get("auth.refresh_tokens.cleanup.partitions.dropped").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void partitionMode_onAPlainTable_fallsBackToChunkedDeletes() {
+        properties.setMode(RefreshTokenCleanupProperties.Mode.PARTITION);
+        when(partitionManager.isPartitioned()).thenReturn(false);
+
+        var result = service.cleanupNow();
 
-        verify(repo).deleteExpired(eq(LocalDateTime.now(clock)));
-        verify(repo).deleteUsedOrRevokedBefore(eq(LocalDateTime.now(clock).minusDays(7)));
+        assertThat(result.partitionsDropped()).isZero();
+        verify(partitionManager, never()).createPartition(any());
+        verify(repo).deleteExpiredChunk(any(), anyInt());
     }
 }
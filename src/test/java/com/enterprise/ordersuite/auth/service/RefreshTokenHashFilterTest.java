@@ -0,0 +1,165 @@
+package com.enterprise.ordersuite.auth.service;
+
+import com.enterprise.ordersuite.auth.persistence.RefreshTokenRepository;
+import com.enterprise.ordersuite.auth.service.tokens.TokenHashing;
+import com.enterprise.ordersuite.support.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenHashFilterTest {
+
+    private RefreshTokenRepository repo;
+    private RefreshTokenFilterProperties properties;
+    private SimpleMeterRegistry registry;
+    private MutableClock clock;
+    private RefreshTokenHashFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(RefreshTokenRepository.class);
+        properties = new RefreshTokenFilterProperties();
+        properties.setExpectedTokens(1_000);
+        registry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.parse("2026-02-05T12:00:00Z"));
+        filter = new RefreshTokenHashFilter(
+                repo,
+                properties,
+                mock(PlatformTransactionManager.class),
+                clock,
+                registry
+        );
+    }
+
+    @Test
+    void beforeTheFirstRebuild_everythingPassesThrough() {
+        assertThat(filter.mightContain(TokenHashing.sha256("unknown"))).isTrue();
+    }
+
+    @Test
+    void rebuild_loadsActiveTokens_andRejectsUnknownOnes() {
+        when(repo.streamActiveTokenHashes(any())).thenReturn(Stream.of(view(1L, "active")));
+
+        filter.rebuild();
+
+        assertThat(filter.mightContain(TokenHashing.sha256("active"))).isTrue();
+        assertThat(filter.mightContain(TokenHashing.sha256("garbage"))).isFalse();
+        assertThat(registry.get("auth.refresh_tokens.filter.lookups").tag("result", "absent").counter().count()).isEqualTo(1);
+        assertThat(registry.get("auth.refresh_tokens.filter.memory").gauge().value()).isPositive();
+    }
+
+    @Test
+    void tokensIssuedBeforeARebuild_surviveIt() {
+        when(repo.streamActiveTokenHashes(any())).thenAnswer(invocation -> Stream.empty());
+        filter.rebuild();
+
+        // Issued while the next rebuild scans, its row is not visible to that scan
+        filter.add(TokenHashing.sha256("issued-during-scan"));
+        filter.rebuild();
+
+        assertThat(filter.mightContain(TokenHashing.sha256("issued-during-scan"))).isTrue();
+    }
+
+    @Test
+    void tokensRevokedBeforeARebuild_areDropped() {
+        when(repo.streamActiveTokenHashes(any()))
+                .thenReturn(Stream.of(view(1L, "revoked-later")))
+                .thenAnswer(invocation -> Stream.empty());
+        filter.rebuild();
+        filter.rebuild();
+        filter.rebuild();
+
+        assertThat(filter.mightContain(TokenHashing.sha256("revoked-later"))).isFalse();
+    }
+
+    @Test
+    void syncRecent_addsActiveTokensCreatedSinceTheLastSync_minusTheOverlap() {
+        when(repo.streamActiveTokenHashes(any())).thenReturn(Stream.of(view(5_000L, "local")));
+        filter.rebuild();
+        clock.advance(Duration.ofSeconds(2));
+        // Rebuild started at 12:00:00, sync-overlap 5s
+        when(repo.findActiveTokenHashesCreatedAfter(LocalDateTime.of(2026, 2, 5, 11, 59, 55), LocalDateTime.of(2026, 2, 5, 12, 0, 2)))
+                .thenReturn(List.of(view(4_000L, "committed-late")));
+
+        filter.syncRecent();
+
+        assertThat(filter.mightContain(TokenHashing.sha256("committed-late"))).isTrue();
+        assertThat(registry.get("auth.refresh_tokens.filter.miss_syncs").counter().count()).isZero();
+    }
+
+    @Test
+    void miss_syncsBeforeRejecting_soATokenJustIssuedElsewhereIsFound() {
+        when(repo.streamActiveTokenHashes(any())).thenAnswer(invocation -> Stream.empty());
+        filter.rebuild();
+        clock.advance(Duration.ofMillis(500));
+        when(repo.findActiveTokenHashesCreatedAfter(any(), any()))
+                .thenReturn(List.of(view(1L, "issued-elsewhere")))
+                .thenReturn(List.of());
+
+        assertThat(filter.mightContain(TokenHashing.sha256("issued-elsewhere"))).isTrue();
+        assertThat(registry.get("auth.refresh_tokens.filter.miss_syncs").counter().count()).isEqualTo(1);
+
+        // Arrived just before that sync started (waited for the lock): rejected without another query
+        clock.advance(Duration.ofMillis(-1));
+        assertThat(filter.mightContain(TokenHashing.sha256("garbage"))).isFalse();
+        verify(repo, times(1)).findActiveTokenHashesCreatedAfter(any(), any());
+    }
+
+    @Test
+    void miss_whenTheSyncFails_goesToTheDatabase() {
+        when(repo.streamActiveTokenHashes(any())).thenAnswer(invocation -> Stream.empty());
+        filter.rebuild();
+        when(repo.findActiveTokenHashesCreatedAfter(any(), any())).thenThrow(new IllegalStateException("db down"));
+
+        assertThat(filter.mightContain(TokenHashing.sha256("garbage"))).isTrue();
+    }
+
+    @Test
+    void whenSyncIsOverdue_missesGoToTheDatabase_untilTheNextSync() {
+        when(repo.streamActiveTokenHashes(any())).thenAnswer(invocation -> Stream.empty());
+        filter.rebuild();
+        assertThat(filter.mightContain(TokenHashing.sha256("issued-elsewhere"))).isFalse();
+
+        // 3 sync intervals of 2s without a sync, e.g. the scheduler thread is busy
+        clock.advance(Duration.ofMillis(6_001));
+        assertThat(filter.mightContain(TokenHashing.sha256("issued-elsewhere"))).isTrue();
+        assertThat(registry.get("auth.refresh_tokens.filter.lookups").tag("result", "stale").counter().count()).isEqualTo(1);
+
+        filter.syncRecent();
+        assertThat(filter.mightContain(TokenHashing.sha256("issued-elsewhere"))).isFalse();
+    }
+
+    @Test
+    void disabled_neverRejects() {
+        properties.setEnabled(false);
+        filter.rebuild();
+
+        assertThat(filter.mightContain(TokenHashing.sha256("garbage"))).isTrue();
+        verifyNoInteractions(repo);
+    }
+
+    private static RefreshTokenRepository.TokenHashView view(long id, String rawToken) {
+        byte[] hash = TokenHashing.sha256(rawToken);
+        return new RefreshTokenRepository.TokenHashView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public byte[] getTokenHash() {
+                return hash;
+            }
+        };
+    }
+}
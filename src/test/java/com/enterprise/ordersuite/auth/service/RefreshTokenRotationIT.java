@@ -0,0 +1,110 @@
+package com.enterprise.ordersuite.auth.service;
+
+import com.enterprise.ordersuite.auth.dtos.RefreshRequest;
+import com.enterprise.ordersuite.auth.service.exceptions.InvalidRefreshTokenException;
+import com.enterprise.ordersuite.identity.domain.Role;
+import com.enterprise.ordersuite.identity.domain.User;
+import com.enterprise.ordersuite.identity.persistence.RoleRepository;
+import com.enterprise.ordersuite.identity.persistence.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class RefreshTokenRotationIT {
+
+    private static final int ROUNDS = 20;
+    private static final int CONCURRENT_REFRESHES = 8;
+
+    @Autowired AuthenticationService authenticationService;
+    @Autowired RefreshTokenService refreshTokenService;
+    @Autowired UserRepository userRepository;
+    @Autowired RoleRepository roleRepository;
+
+    @Test
+    void concurrentRefreshesWithOneToken_rotateExactlyOnce() throws Exception {
+        User user = createUser(true);
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REFRESHES);
+
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                String token = refreshTokenService.issueFor(user).rawToken();
+                CountDownLatch start = new CountDownLatch(1);
+
+                List<Future<Boolean>> results = new ArrayList<>();
+                for (int i = 0; i < CONCURRENT_REFRESHES; i++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        try {
+                            authenticationService.refresh(new RefreshRequest(token));
+                            return true;
+                        } catch (InvalidRefreshTokenException e) {
+                            return false;
+                        }
+                    }));
+                }
+                start.countDown();
+
+                int succeeded = 0;
+                for (Future<Boolean> result : results) {
+                    if (result.get(10, TimeUnit.SECONDS)) {
+                        succeeded++;
+                    }
+                }
+                assertThat(succeeded).as("round %d", round).isEqualTo(1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void rotatedToken_cannotBeReused() {
+        User user = createUser(true);
+        String token = refreshTokenService.issueFor(user).rawToken();
+
+        var rotated = authenticationService.refresh(new RefreshRequest(token));
+
+        assertThat(rotated.getRefreshToken()).isNotEqualTo(token);
+        assertThatThrownBy(() -> authenticationService.refresh(new RefreshRequest(token)))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+    }
+
+    @Test
+    void refreshByInactiveUser_revokesTheToken() {
+        User user = createUser(false);
+        String token = refreshTokenService.issueFor(user).rawToken();
+
+        assertThatThrownBy(() -> authenticationService.refresh(new RefreshRequest(token)))
+                .isInstanceOf(InvalidRefreshTokenException.class);
+
+        var stored = refreshTokenService.findByHashOrNull(refreshTokenService.hash(token));
+        assertThat(stored.getUsedAt()).isNotNull();
+        assertThat(stored.getRevokedAt()).isNotNull();
+    }
+
+    private User createUser(boolean active) {
+        Role role = roleRepository.findByName("USER").orElseThrow();
+
+        User user = new User();
+        user.setEmail("rotation-" + UUID.randomUUID() + "@test.com");
+        user.setPassword("not-used");
+        user.setRole(role);
+        user.setActive(active);
+        user.setFirstName("Token");
+        user.setLastName("Rotation");
+        return userRepository.save(user);
+    }
+}
@@ -2,8 +2,10 @@ package com.enterprise.ordersuite.auth.service;
 
 import com.enterprise.ordersuite.auth.domain.RefreshToken;
 import com.enterprise.ordersuite.auth.service.tokens.RefreshTokenGenerator;
+import com.enterprise.ordersuite.auth.service.tokens.TokenHashing;
 import com.enterprise.ordersuite.identity.domain.User;
 import com.enterprise.ordersuite.auth.persistence.RefreshTokenRepository;
+import com.enterprise.ordersuite.auth.persistence.RefreshTokenRotation.ConsumedRefreshToken;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,12 +15,14 @@ import java.time.*;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.Mockito.*;
 
 class RefreshTokenServiceTest {
 
     private RefreshTokenRepository repo;
     private RefreshTokenGenerator generator;
+    private RefreshTokenHashFilter filter;
     private Clock clock;
 
     private RefreshTokenService service;
@@ -27,10 +31,12 @@ class RefreshTokenServiceTest {
     void setUp() {
         repo = mock(RefreshTokenRepository.class);
         generator = mock(RefreshTokenGenerator.class);
+        filter = mock(RefreshTokenHashFilter.class);
+        when(filter.mightContain(any())).thenReturn(true);
 
         clock = Clock.fixed(Instant.parse("2026-01-28T12:00:00Z"), ZoneOffset.UTC);
 
-        service = new RefreshTokenService(repo, generator, clock);
+        service = new RefreshTokenService(repo, generator, filter, clock);
     }
 
     @Test
@@ -48,17 +54,63 @@ class RefreshTokenServiceTest {
         verify(repo).save(argThat(t ->
                 t.getUser() == user
                         && t.getTokenHash() != null
-                        && t.getTokenHash().length() == 64
+                        && t.getTokenHash().length == TokenHashing.SHA256_BYTES
                         && t.getExpiresAt().isAfter(now)
         ));
     }
 
     @Test
-    void getActiveTokenOrNull_shouldReturnNullWhenTokenNotFound() {
-        when(repo.findByTokenHash(anyString())).thenReturn(Optional.empty());
+    void consumeOrNull_shouldReturnNullWhenTokenIsNotActive() {
+        when(repo.consumeActive(any(byte[].class), any())).thenReturn(Optional.empty());
 
-        RefreshToken found = service.getActiveTokenOrNull("anything");
+        ConsumedRefreshToken consumed = service.consumeOrNull("anything");
 
-        assertThat(found).isNull();
+        assertThat(consumed).isNull();
+    }
+
+    @Test
+    void consumeOrNull_shouldConsumeByHashAtCurrentTime() {
+        when(repo.consumeActive(any(byte[].class), any())).thenReturn(Optional.of(new ConsumedRefreshToken(1L, 5L)));
+
+        ConsumedRefreshToken consumed = service.consumeOrNull("raw-refresh-token");
+
+        assertThat(consumed.userId()).isEqualTo(5L);
+        verify(repo).consumeActive(aryEq(TokenHashing.sha256("raw-refresh-token")), eq(LocalDateTime.now(clock)));
+    }
+
+    @Test
+    void consumeOrNull_shouldNotQueryForBlankToken() {
+        assertThat(service.consumeOrNull(" ")).isNull();
+
+        verifyNoInteractions(repo);
+    }
+
+    @Test
+    void issueFor_addsTheHashToTheFilter() {
+        when(generator.generate()).thenReturn("raw-refresh-token");
+
+        service.issueFor(new User());
+
+        verify(filter).add(aryEq(TokenHashing.sha256("raw-refresh-token")));
+    }
+
+    @Test
+    void consumeOrNull_skipsTheDatabase_whenTheFilterRulesTheTokenOut() {
+        when(filter.mightContain(any())).thenReturn(false);
+
+        assertThat(service.consumeOrNull("garbage")).isNull();
+
+        verifyNoInteractions(repo);
+    }
+
+    @Test
+    void findByHashOrNull_alwaysChecksTheDatabase() {
+        // Logout must revoke a token even if this node's filter has not seen it yet
+        when(filter.mightContain(any())).thenReturn(false);
+        RefreshToken token = new RefreshToken();
+        when(repo.findByTokenHash(any())).thenReturn(Optional.of(token));
+
+        assertThat(service.findByHashOrNull(service.hash("issued-elsewhere"))).isSameAs(token);
+        verify(filter, never()).mightContain(any());
     }
 }
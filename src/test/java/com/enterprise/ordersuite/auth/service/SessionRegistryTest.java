@@ -0,0 +1,69 @@
+package com.enterprise.ordersuite.auth.service;
+
+import com.enterprise.ordersuite.auth.persistence.RefreshTokenRepository;
+import com.enterprise.ordersuite.identity.domain.UserSecurityChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.*;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class SessionRegistryTest {
+
+    private RefreshTokenRepository repo;
+    private Clock clock;
+    private SessionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(RefreshTokenRepository.class);
+        clock = Clock.fixed(Instant.parse("2026-02-03T12:00:00Z"), ZoneOffset.UTC);
+        registry = new SessionRegistry(repo, clock);
+    }
+
+    @Test
+    void activeSessions_mapsTheActiveTokensOfTheUser() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        RefreshTokenRepository.ActiveSessionView view = mock(RefreshTokenRepository.ActiveSessionView.class);
+        when(view.getId()).thenReturn(11L);
+        when(view.getCreatedAt()).thenReturn(now.minusHours(1));
+        when(view.getExpiresAt()).thenReturn(now.plusDays(13));
+        when(repo.findActiveSessions(5L, now)).thenReturn(List.of(view));
+
+        var sessions = registry.activeSessions(5L);
+
+        assertThat(sessions).hasSize(1);
+        assertThat(sessions.get(0).id()).isEqualTo(11L);
+        assertThat(sessions.get(0).expiresAt()).isEqualTo(now.plusDays(13));
+    }
+
+    @Test
+    void revokeAll_isOneUpdateByUserId() {
+        when(repo.revokeAllActiveForUser(5L, LocalDateTime.now(clock))).thenReturn(3);
+
+        assertThat(registry.revokeAll(5L)).isEqualTo(3);
+        verify(repo).revokeAllActiveForUser(5L, LocalDateTime.now(clock));
+        verifyNoMoreInteractions(repo);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = UserSecurityChangedEvent.Change.class, names = {"DEACTIVATED", "ROLE_CHANGED", "PASSWORD_RESET"})
+    void securityChanges_revokeAllSessions(UserSecurityChangedEvent.Change change) {
+        registry.onUserSecurityChanged(new UserSecurityChangedEvent(5L, "jane@example.com", change));
+
+        verify(repo).revokeAllActiveForUser(5L, LocalDateTime.now(clock));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = UserSecurityChangedEvent.Change.class, names = {"REACTIVATED", "EMAIL_CHANGED"})
+    void otherChanges_keepSessions(UserSecurityChangedEvent.Change change) {
+        registry.onUserSecurityChanged(new UserSecurityChangedEvent(5L, "jane@example.com", change));
+
+        verifyNoInteractions(repo);
+    }
+}
@@ -0,0 +1,70 @@
+package com.enterprise.ordersuite.auth.service.tokens;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenHashBloomFilterTest {
+
+    @Test
+    void create_sizesBitsAndHashFunctionsFromRateAndInsertions() {
+        TokenHashBloomFilter filter = TokenHashBloomFilter.create(1_000_000, 0.01);
+
+        // 9.59 bits per entry and 7 hash functions for 1%
+        assertThat(filter.bitSize()).isBetween(9_585_000L, 9_586_000L);
+        assertThat(filter.hashFunctions()).isEqualTo(7);
+        assertThat(filter.memoryBytes()).isEqualTo(filter.bitSize() / 8);
+    }
+
+    @Test
+    void insertedHashes_areAlwaysFound() {
+        TokenHashBloomFilter filter = TokenHashBloomFilter.create(10_000, 0.01);
+        List<byte[]> hashes = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            byte[] hash = TokenHashing.sha256("token-" + i);
+            hashes.add(hash);
+            filter.put(hash);
+        }
+
+        assertThat(hashes).allMatch(filter::mightContain);
+        assertThat(filter.insertions()).isEqualTo(10_000);
+    }
+
+    @Test
+    void falsePositives_stayNearTheConfiguredRate() {
+        TokenHashBloomFilter filter = TokenHashBloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(TokenHashing.sha256("issued-" + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(TokenHashing.sha256("unknown-" + i))) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives / 100_000.0).isLessThan(0.015);
+        assertThat(filter.estimatedFalsePositiveRate()).isBetween(0.005, 0.015);
+    }
+
+    @Test
+    void emptyFilter_containsNothing() {
+        TokenHashBloomFilter filter = TokenHashBloomFilter.create(100, 0.01);
+
+        assertThat(filter.mightContain(TokenHashing.sha256("anything"))).isFalse();
+        assertThat(filter.estimatedFalsePositiveRate()).isZero();
+    }
+
+    @Test
+    void create_rejectsRatesOutsideZeroAndOne() {
+        assertThatThrownBy(() -> TokenHashBloomFilter.create(100, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TokenHashBloomFilter.create(100, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,41 @@
+package com.enterprise.ordersuite.auth.service.tokens;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenHashingTest {
+
+    @Test
+    void sha256_shouldMatchJdkDigestForAsciiTokens() throws Exception {
+        String token = new RefreshTokenGenerator().generate();
+
+        assertThat(TokenHashing.sha256(token))
+                .hasSize(TokenHashing.SHA256_BYTES)
+                .isEqualTo(jdkSha256(token));
+    }
+
+    @Test
+    void sha256_shouldFallBackToUtf8ForNonAsciiInput() throws Exception {
+        String token = "tökën-ü";
+
+        assertThat(TokenHashing.sha256(token)).isEqualTo(jdkSha256(token));
+        // scratch buffer must not leak state into the next ASCII hash
+        assertThat(TokenHashing.sha256("abc")).isEqualTo(jdkSha256("abc"));
+    }
+
+    @Test
+    void sha256_shouldHandleInputsLargerThanInitialBuffer() throws Exception {
+        String token = "a".repeat(4096);
+
+        assertThat(TokenHashing.sha256(token)).isEqualTo(jdkSha256(token));
+        assertThat(TokenHashing.sha256("short")).isEqualTo(jdkSha256("short"));
+    }
+
+    private static byte[] jdkSha256(String value) throws Exception {
+        return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
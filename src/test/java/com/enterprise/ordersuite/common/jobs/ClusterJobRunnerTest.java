@@ -0,0 +1,84 @@
+package com.enterprise.ordersuite.common.jobs;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.*;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ClusterJobRunnerTest {
+
+    private static final Instant NOW = Instant.parse("2026-04-02T03:15:00Z");
+    private static final LocalDateTime NOW_LOCAL = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC);
+
+    private JobLocks jobLocks;
+    private JobRunHistory history;
+    private ClusterJobProperties properties;
+    private SimpleMeterRegistry registry;
+    private ClusterJobRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        jobLocks = mock(JobLocks.class);
+        history = mock(JobRunHistory.class);
+        properties = new ClusterJobProperties();
+        properties.setNodeId("node-a");
+        registry = new SimpleMeterRegistry();
+        runner = new ClusterJobRunner(jobLocks, history, properties, Clock.fixed(NOW, ZoneOffset.UTC), registry);
+    }
+
+    @Test
+    void run_whenLeaseAcquired_runsTheJob_recordsRows_andReleases() {
+        when(jobLocks.tryAcquire("cleanup", "node-a", Duration.ofMinutes(30))).thenReturn(true);
+        when(history.started("cleanup", "node-a", NOW_LOCAL)).thenReturn(11L);
+
+        Optional<JobRun.Outcome> outcome = runner.run("cleanup", () -> 42);
+
+        assertThat(outcome).contains(JobRun.Outcome.SUCCEEDED);
+        verify(history).finished(11L, NOW_LOCAL, JobRun.Outcome.SUCCEEDED, 42L, null);
+        verify(jobLocks).release("cleanup", "node-a", Duration.ofMinutes(1));
+        assertThat(registry.get("jobs.runs").tag("job", "cleanup").tag("outcome", "succeeded").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void run_whenAnotherNodeHoldsTheLease_skips() {
+        when(jobLocks.tryAcquire(any(), any(), any())).thenReturn(false);
+        ClusterJob job = mock(ClusterJob.class);
+
+        Optional<JobRun.Outcome> outcome = runner.run("cleanup", job);
+
+        assertThat(outcome).isEmpty();
+        verifyNoInteractions(job, history);
+        verify(jobLocks, never()).release(any(), any(), any());
+        assertThat(registry.get("jobs.skipped").tag("job", "cleanup").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void run_whenTheJobThrows_recordsFailure_andStillReleases() {
+        when(jobLocks.tryAcquire(any(), any(), any())).thenReturn(true);
+        when(history.started(any(), any(), any())).thenReturn(12L);
+
+        Optional<JobRun.Outcome> outcome = runner.run("cleanup", () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertThat(outcome).contains(JobRun.Outcome.FAILED);
+        verify(history).finished(12L, NOW_LOCAL, JobRun.Outcome.FAILED, null, "boom");
+        verify(jobLocks).release("cleanup", "node-a", Duration.ofMinutes(1));
+    }
+
+    @Test
+    void run_whenTheLeaseCannotBeQueried_skipsWithoutThrowing() {
+        when(jobLocks.tryAcquire(any(), any(), any())).thenThrow(new DataAccessResourceFailureException("down"));
+        ClusterJob job = mock(ClusterJob.class);
+
+        assertThat(runner.run("cleanup", job)).isEmpty();
+        verifyNoInteractions(job);
+    }
+}
@@ -0,0 +1,84 @@
+package com.enterprise.ordersuite.common.jobs;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class JobLocksIT {
+
+    private static final String JOB = "it-job";
+
+    @Autowired JobLocks jobLocks;
+    @Autowired JobRunHistory history;
+    @Autowired ClusterJobRunner runner;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM scheduled_job_locks WHERE job_name = ?", JOB);
+        jdbcTemplate.update("DELETE FROM scheduled_job_runs WHERE job_name = ?", JOB);
+    }
+
+    @Test
+    void concurrentNodes_exactlyOneGetsTheLease() throws Exception {
+        int nodes = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(nodes);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < nodes; i++) {
+                String node = "node-" + i;
+                Callable<Boolean> acquire = () -> {
+                    start.await();
+                    return jobLocks.tryAcquire(JOB, node, Duration.ofMinutes(5));
+                };
+                results.add(executor.submit(acquire));
+            }
+            start.countDown();
+
+            int acquired = 0;
+            for (Future<Boolean> result : results) {
+                acquired += result.get() ? 1 : 0;
+            }
+            assertThat(acquired).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void release_keepsTheLeaseForLockAtLeast_andAnExpiredLeaseIsTakenOver() {
+        assertThat(jobLocks.tryAcquire(JOB, "node-a", Duration.ofMinutes(5))).isTrue();
+
+        jobLocks.release(JOB, "node-a", Duration.ofMinutes(1));
+        assertThat(jobLocks.tryAcquire(JOB, "node-b", Duration.ofMinutes(5))).isFalse();
+
+        jobLocks.release(JOB, "node-a", Duration.ZERO);
+        assertThat(jobLocks.tryAcquire(JOB, "node-b", Duration.ofMinutes(5))).isTrue();
+    }
+
+    @Test
+    void run_recordsTheRunInHistory() {
+        runner.run(JOB, () -> 7);
+
+        List<JobRun> runs = history.recentRuns(JOB, 5);
+        assertThat(runs).hasSize(1);
+        assertThat(runs.get(0).outcome()).isEqualTo(JobRun.Outcome.SUCCEEDED);
+        assertThat(runs.get(0).rowsAffected()).isEqualTo(7);
+        assertThat(runs.get(0).duration()).isNotNull();
+    }
+}
@@ -0,0 +1,104 @@
+package com.enterprise.ordersuite.common.reaper;
+
+import com.enterprise.ordersuite.support.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.*;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ExpiringTableReaperTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-10T08:00:00Z");
+
+    private static final ExpiringTable TOKENS = new ExpiringTable("password_reset_tokens", "expires_at", Duration.ofDays(1), 100);
+    private static final ExpiringTable OTHER = new ExpiringTable("other_tokens", "expires_at", Duration.ZERO, 50);
+
+    private JdbcTemplate jdbcTemplate;
+    private ExpiringTableReaperProperties properties;
+    private MutableClock clock;
+    private SimpleMeterRegistry registry;
+    private ExpiringTableReaper reaper;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        properties = new ExpiringTableReaperProperties();
+        clock = new MutableClock(NOW);
+        registry = new SimpleMeterRegistry();
+        reaper = new ExpiringTableReaper(List.of(TOKENS, OTHER), jdbcTemplate, properties, clock, registry);
+    }
+
+    @Test
+    void reap_deletesInBatches_untilAShortOne_usingTheRetentionCutoff() {
+        when(jdbcTemplate.update(contains("password_reset_tokens"), any(LocalDateTime.class), anyInt())).thenReturn(100, 100, 7);
+
+        var result = reaper.reap(TOKENS);
+
+        assertThat(result.rowsDeleted()).isEqualTo(207);
+        assertThat(result.batches()).isEqualTo(3);
+        assertThat(result.outcome()).isEqualTo(ExpiringTableReaper.Outcome.COMPLETED);
+
+        LocalDateTime cutoff = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC).minusDays(1);
+        verify(jdbcTemplate, times(3)).update(
+                eq("DELETE FROM password_reset_tokens WHERE id IN "
+                        + "(SELECT id FROM password_reset_tokens WHERE expires_at < ? LIMIT ?)"),
+                eq(cutoff), eq(100));
+        assertThat(registry.get("reaper.deleted").tag("table", "password_reset_tokens").counter().count()).isEqualTo(207);
+    }
+
+    @Test
+    void reap_stopsOnceTheTimeBudgetIsSpent() {
+        properties.setTimeBudget(Duration.ofSeconds(30));
+        when(jdbcTemplate.update(anyString(), any(LocalDateTime.class), anyInt())).thenAnswer(invocation -> {
+            clock.advance(Duration.ofSeconds(20));
+            return 100;
+        });
+
+        var result = reaper.reap(TOKENS);
+
+        assertThat(result.rowsDeleted()).isEqualTo(200);
+        assertThat(result.outcome()).isEqualTo(ExpiringTableReaper.Outcome.BUDGET_EXHAUSTED);
+        assertThat(result.duration()).isEqualTo(Duration.ofSeconds(40));
+        assertThat(registry.get("reaper.duration").tag("outcome", "budget_exhausted").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void reapAll_aFailingTable_doesNotStopTheOthers_andStatsAccumulate() {
+        when(jdbcTemplate.update(contains("password_reset_tokens"), any(LocalDateTime.class), anyInt()))
+                .thenReturn(100, 20)
+                .thenThrow(new QueryTimeoutException("canceling statement due to statement timeout"));
+        when(jdbcTemplate.update(contains("other_tokens"), any(LocalDateTime.class), anyInt())).thenReturn(3);
+
+        reaper.reapAll();
+        var second = reaper.reapAll();
+
+        assertThat(second).extracting(ExpiringTableReaper.RunResult::outcome)
+                .containsExactly(ExpiringTableReaper.Outcome.FAILED, ExpiringTableReaper.Outcome.COMPLETED);
+
+        var tokenStats = reaper.stats("password_reset_tokens");
+        assertThat(tokenStats.runs()).isEqualTo(2);
+        assertThat(tokenStats.totalRowsDeleted()).isEqualTo(120);
+        assertThat(tokenStats.lastRun().error()).contains("statement timeout");
+
+        assertThat(reaper.stats()).extracting(ExpiringTableReaper.TableStats::table)
+                .containsExactly("other_tokens", "password_reset_tokens");
+        assertThat(reaper.stats("other_tokens").totalRowsDeleted()).isEqualTo(6);
+    }
+
+    @Test
+    void expiringTable_rejectsNamesThatAreNotPlainIdentifiers() {
+        assertThatThrownBy(() -> new ExpiringTable("tokens; DROP TABLE users", "expires_at", Duration.ZERO, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ExpiringTable("tokens", "expires_at", Duration.ZERO, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
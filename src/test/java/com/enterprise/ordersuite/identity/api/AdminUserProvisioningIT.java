@@ -9,6 +9,8 @@ import com.enterprise.ordersuite.identity.domain.User;
 import com.enterprise.ordersuite.identity.persistence.IdentityAuditEventRepository;
 import com.enterprise.ordersuite.identity.persistence.RoleRepository;
 import com.enterprise.ordersuite.identity.persistence.UserRepository;
+import com.enterprise.ordersuite.notifications.persistence.OutboxMessageRepository;
+import com.enterprise.ordersuite.notifications.service.NotificationOutboxDispatcher;
 import com.enterprise.ordersuite.support.TestEmailServiceConfig;
 import com.enterprise.ordersuite.support.TestEmailServiceConfig.CapturingEmailService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -23,6 +25,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Comparator;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -44,6 +47,8 @@ class AdminUserProvisioningIT {
     @Autowired IdentityAuditEventRepository auditRepo;
 
     @Autowired CapturingEmailService emailService;
+    @Autowired NotificationOutboxDispatcher outboxDispatcher;
+    @Autowired OutboxMessageRepository outboxMessageRepository;
 
     private String adminEmail;
     private String adminPassword;
@@ -53,6 +58,7 @@ class AdminUserProvisioningIT {
     @BeforeEach
     void setup() {
         emailService.clear();
+        outboxMessageRepository.deleteAll();
         auditRepo.deleteAll();
 
         Role adminRole = roleRepository.findByName("ADMIN")
@@ -153,9 +159,9 @@ class AdminUserProvisioningIT {
         assertThat(evt.getTargetUserId()).isEqualTo(saved.getId());
         assertThat(evt.getMetadata()).contains(newEmail);
 
-        assertThat(emailService.sent()).hasSize(1);
-        assertThat(emailService.sent().get(0).toEmail()).isEqualTo(newEmail);
-        assertThat(emailService.sent().get(0).resetUrl()).contains("token=");
+        assertThat(sentEmails()).hasSize(1);
+        assertThat(sentEmails().get(0).toEmail()).isEqualTo(newEmail);
+        assertThat(sentEmails().get(0).resetUrl()).contains("token=");
     }
 
     @Test
@@ -189,7 +195,7 @@ class AdminUserProvisioningIT {
         assertThat(auditRepo.findAll().stream().anyMatch(e -> e.getType() == IdentityAuditEventType.USER_CREATED))
                 .isTrue();
 
-        assertThat(emailService.sent()).isEmpty();
+        assertThat(sentEmails()).isEmpty();
     }
 
     @Test
@@ -213,8 +219,8 @@ class AdminUserProvisioningIT {
                 .andDo(print())
                 .andExpect(status().isOk());
 
-        assertThat(emailService.sent()).hasSize(1);
-        assertThat(emailService.sent().get(0).toEmail()).isEqualTo(targetEmail);
+        assertThat(sentEmails()).hasSize(1);
+        assertThat(sentEmails().get(0).toEmail()).isEqualTo(targetEmail);
 
         IdentityAuditEvent evt = auditRepo.findAll().stream()
                 .filter(e -> e.getType() == IdentityAuditEventType.PASSWORD_SETUP_SENT)
@@ -246,7 +252,7 @@ class AdminUserProvisioningIT {
                 .andDo(print())
                 .andExpect(status().isBadRequest());
 
-        assertThat(emailService.sent()).isEmpty();
+        assertThat(sentEmails()).isEmpty();
         assertThat(auditRepo.findAll().stream().noneMatch(e -> e.getType() == IdentityAuditEventType.PASSWORD_SETUP_SENT))
                 .isTrue();
     }
@@ -280,4 +286,10 @@ class AdminUserProvisioningIT {
 
         return objectMapper.readTree(responseJson).get("accessToken").asText();
     }
-}
\ No newline at end of file
+
+    // Emails leave through the outbox, dispatch now instead of waiting for the poll
+    private List<CapturingEmailService.SentEmail> sentEmails() {
+        outboxDispatcher.dispatchDue();
+        return emailService.sent();
+    }
+}
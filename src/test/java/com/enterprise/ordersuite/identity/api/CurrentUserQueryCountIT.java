@@ -0,0 +1,104 @@
+package com.enterprise.ordersuite.identity.api;
+
+import com.enterprise.ordersuite.auth.dtos.AuthRequest;
+import com.enterprise.ordersuite.identity.domain.Role;
+import com.enterprise.ordersuite.identity.domain.User;
+import com.enterprise.ordersuite.identity.persistence.RoleRepository;
+import com.enterprise.ordersuite.identity.persistence.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class CurrentUserQueryCountIT {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired ObjectMapper objectMapper;
+
+    @Autowired UserRepository userRepository;
+    @Autowired RoleRepository roleRepository;
+    @Autowired PasswordEncoder passwordEncoder;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void me_loadsTheUserWithASingleQuery() throws Exception {
+        String email = "me-" + UUID.randomUUID() + "@test.com";
+        createUser(email, "USER");
+        String accessToken = loginAndGetAccessToken(email);
+
+        Statistics stats = statistics();
+        stats.clear();
+
+        mockMvc.perform(get("/me")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(email));
+
+        // Principal comes from the token, only MeService loads the entity (role fetched in the same query)
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void adminStatus_doesNotReloadTheActingAdmin() throws Exception {
+        String adminEmail = "admin-" + UUID.randomUUID() + "@test.com";
+        createUser(adminEmail, "ADMIN");
+        User target = createUser("target-" + UUID.randomUUID() + "@test.com", "USER");
+        String accessToken = loginAndGetAccessToken(adminEmail);
+
+        Statistics stats = statistics();
+        stats.clear();
+
+        mockMvc.perform(get("/admin/users/" + target.getId() + "/status")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(target.getId()));
+
+        // Only the target lookup, the actor comes from the request's principal
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private User createUser(String email, String roleName) {
+        Role role = roleRepository.findByName(roleName).orElseThrow();
+
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword(passwordEncoder.encode("Password123!"));
+        user.setRole(role);
+        user.setActive(true);
+        user.setFirstName("Query");
+        user.setLastName("Count");
+        return userRepository.save(user);
+    }
+
+    private String loginAndGetAccessToken(String email) throws Exception {
+        var payload = new AuthRequest(email, "Password123!");
+
+        var result = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(payload)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("accessToken").asText();
+    }
+}
@@ -0,0 +1,51 @@
+package com.enterprise.ordersuite.identity.application;
+
+import com.enterprise.ordersuite.identity.persistence.UserRepository;
+import com.enterprise.ordersuite.security.userdetails.CustomUserDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class CurrentUserServiceTest {
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getActiveUserId_readsPrincipal_withoutQueryingUsers() {
+        UserRepository repo = mock(UserRepository.class);
+        CurrentUserService service = new CurrentUserService(repo);
+
+        authenticate(new CustomUserDetails(11L, "jane@example.com", "ADMIN", true));
+
+        assertThat(service.getActiveUserId()).isEqualTo(11L);
+        assertThat(service.getEmail()).isEqualTo("jane@example.com");
+
+        verifyNoInteractions(repo);
+    }
+
+    @Test
+    void getActiveUserId_rejectsInactivePrincipal() {
+        UserRepository repo = mock(UserRepository.class);
+        CurrentUserService service = new CurrentUserService(repo);
+
+        authenticate(new CustomUserDetails(11L, "jane@example.com", "USER", false));
+
+        assertThatThrownBy(service::getActiveUserId)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("User is inactive");
+    }
+
+    private static void authenticate(CustomUserDetails principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())
+        );
+    }
+}
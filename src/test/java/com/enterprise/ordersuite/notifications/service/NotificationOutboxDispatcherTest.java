@@ -0,0 +1,145 @@
+package com.enterprise.ordersuite.notifications.service;
+
+import com.enterprise.ordersuite.notifications.domain.NotificationType;
+import com.enterprise.ordersuite.notifications.persistence.OutboxClaims.ClaimedMessage;
+import com.enterprise.ordersuite.notifications.persistence.OutboxMessageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationOutboxDispatcherTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 2, 10, 12, 0);
+
+    private OutboxMessageRepository repo;
+    private EmailService emailService;
+    private NotificationOutboxProperties properties;
+    private SimpleMeterRegistry registry;
+    private NotificationOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        repo = mock(OutboxMessageRepository.class);
+        emailService = mock(EmailService.class);
+        properties = new NotificationOutboxProperties();
+        properties.setBatchSize(2);
+        registry = new SimpleMeterRegistry();
+        Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        dispatcher = new NotificationOutboxDispatcher(repo, emailService, properties, clock, registry);
+
+        when(repo.backlog()).thenReturn(backlog(0, null));
+    }
+
+    @Test
+    void dispatchDue_sendsClaimedMessages_andDeletesThemInOneStatement() {
+        when(repo.claimDue(eq(NOW), eq(NOW.plusMinutes(2)), eq(2)))
+                .thenReturn(List.of(message(1, "a@test.com", 1), message(2, "b@test.com", 1)))
+                .thenReturn(List.of());
+
+        dispatcher.dispatchDue();
+
+        verify(emailService).sendPasswordResetEmail("a@test.com", "https://reset/1");
+        verify(emailService).sendPasswordResetEmail("b@test.com", "https://reset/2");
+        verify(repo).deleteSent(List.of(1L, 2L));
+        // Full batch, so a second claim found the queue empty
+        verify(repo, times(2)).claimDue(any(), any(), anyInt());
+    }
+
+    @Test
+    void failedSend_isRetriedWithBackoff_andNotDeleted() {
+        when(repo.claimDue(any(), any(), anyInt())).thenReturn(List.of(message(1, "a@test.com", 3)));
+        doThrow(new IllegalStateException("smtp down")).when(emailService).sendPasswordResetEmail(any(), any());
+
+        dispatcher.dispatchDue();
+
+        // 10s * 2^(3 - 1)
+        verify(repo).scheduleRetry(eq(1L), eq(NOW.plusSeconds(40)), contains("smtp down"));
+        verify(repo, never()).deleteSent(any());
+        assertThat(registry.get("notifications.outbox.send").tag("outcome", "retry").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failedSend_afterMaxAttempts_isMarkedFailed() {
+        when(repo.claimDue(any(), any(), anyInt())).thenReturn(List.of(message(1, "a@test.com", 8)));
+        doThrow(new IllegalStateException("mailbox unavailable")).when(emailService).sendPasswordResetEmail(any(), any());
+
+        dispatcher.dispatchDue();
+
+        verify(repo).markFailed(eq(1L), contains("mailbox unavailable"));
+        verify(repo, never()).scheduleRetry(any(), any(), any());
+    }
+
+    @Test
+    void expiredMessage_isDeletedWithoutSending() {
+        when(repo.claimDue(any(), any(), anyInt()))
+                .thenReturn(List.of(message(1, "a@test.com", 1, NOW), message(2, "b@test.com", 1)))
+                .thenReturn(List.of());
+
+        dispatcher.dispatchDue();
+
+        verify(emailService, never()).sendPasswordResetEmail(eq("a@test.com"), any());
+        verify(emailService).sendPasswordResetEmail("b@test.com", "https://reset/2");
+        verify(repo).deleteSent(List.of(1L, 2L));
+        assertThat(registry.get("notifications.outbox.send").tag("outcome", "expired").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failedSend_isDropped_whenTheNextRetryFallsAfterExpiry() {
+        // Next retry at NOW + 40s
+        when(repo.claimDue(any(), any(), anyInt())).thenReturn(List.of(message(1, "a@test.com", 3, NOW.plusSeconds(30))));
+        doThrow(new IllegalStateException("smtp down")).when(emailService).sendPasswordResetEmail(any(), any());
+
+        dispatcher.dispatchDue();
+
+        verify(repo, never()).scheduleRetry(any(), any(), any());
+        verify(repo).deleteSent(List.of(1L));
+        assertThat(registry.get("notifications.outbox.send").tag("outcome", "expired").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void backoff_doublesUpToTheCap() {
+        assertThat(dispatcher.backoff(1)).isEqualTo(Duration.ofSeconds(10));
+        assertThat(dispatcher.backoff(2)).isEqualTo(Duration.ofSeconds(20));
+        assertThat(dispatcher.backoff(50)).isEqualTo(Duration.ofHours(1));
+    }
+
+    @Test
+    void backlog_isReportedAsDepthAndLag() {
+        when(repo.claimDue(any(), any(), anyInt())).thenReturn(List.of());
+        when(repo.backlog()).thenReturn(backlog(7, NOW.minusSeconds(90)));
+
+        dispatcher.dispatchDue();
+
+        assertThat(registry.get("notifications.outbox.depth").gauge().value()).isEqualTo(7);
+        assertThat(registry.get("notifications.outbox.lag").gauge().value()).isEqualTo(90);
+    }
+
+    private static ClaimedMessage message(long id, String recipient, int attempts) {
+        return message(id, recipient, attempts, NOW.plusMinutes(15));
+    }
+
+    private static ClaimedMessage message(long id, String recipient, int attempts, LocalDateTime expiresAt) {
+        return new ClaimedMessage(id, NotificationType.PASSWORD_RESET_EMAIL, recipient, "https://reset/" + id, attempts, expiresAt);
+    }
+
+    private static OutboxMessageRepository.BacklogView backlog(long depth, LocalDateTime oldest) {
+        return new OutboxMessageRepository.BacklogView() {
+            @Override
+            public long getDepth() {
+                return depth;
+            }
+
+            @Override
+            public LocalDateTime getOldestCreatedAt() {
+                return oldest;
+            }
+        };
+    }
+}
@@ -0,0 +1,104 @@
+package com.enterprise.ordersuite.notifications.service;
+
+import com.enterprise.ordersuite.notifications.persistence.OutboxMessageRepository;
+import com.enterprise.ordersuite.support.TestEmailServiceConfig;
+import com.enterprise.ordersuite.support.TestEmailServiceConfig.CapturingEmailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Polling is pushed far out so only the dispatches started by the tests run
+@SpringBootTest(properties = "notifications.outbox.poll-interval-ms=3600000")
+@Import(TestEmailServiceConfig.class)
+class NotificationOutboxIT {
+
+    // Far enough out that no test message expires
+    private static final LocalDateTime LINK_EXPIRY = LocalDateTime.now().plusDays(1);
+
+    @Autowired NotificationOutbox notificationOutbox;
+    @Autowired NotificationOutboxDispatcher dispatcher;
+    @Autowired OutboxMessageRepository outboxMessageRepository;
+    @Autowired CapturingEmailService emailService;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        emailService.clear();
+        outboxMessageRepository.deleteAll();
+    }
+
+    @Test
+    void messagesOfARolledBackTransaction_areNeverSent() {
+        transactionTemplate.executeWithoutResult(status -> {
+            notificationOutbox.enqueuePasswordResetEmail("rolled-back@test.local", "https://reset/x", LINK_EXPIRY);
+            status.setRollbackOnly();
+        });
+
+        dispatcher.dispatchDue();
+
+        assertThat(emailService.sent()).isEmpty();
+    }
+
+    @Test
+    void concurrentDispatchers_sendEveryMessageExactlyOnce() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 500; i++) {
+                notificationOutbox.enqueuePasswordResetEmail("user" + i + "@test.local", "https://reset/" + i, LINK_EXPIRY);
+            }
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> runs = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                runs.add(executor.submit(() -> {
+                    start.await();
+                    dispatcher.dispatchDue();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> run : runs) {
+                run.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(emailService.sent()).hasSize(500);
+        assertThat(emailService.sent()).extracting(CapturingEmailService.SentEmail::toEmail).doesNotHaveDuplicates();
+        assertThat(outboxMessageRepository.count()).isZero();
+    }
+
+    @Test
+    void failedSend_staysQueuedForRetry() {
+        emailService.failNext(true);
+        transactionTemplate.executeWithoutResult(status ->
+                notificationOutbox.enqueuePasswordResetEmail("retry@test.local", "https://reset/r", LINK_EXPIRY));
+
+        dispatcher.dispatchDue();
+
+        assertThat(emailService.sent()).isEmpty();
+        assertThat(outboxMessageRepository.findAll())
+                .singleElement()
+                .satisfies(message -> {
+                    assertThat(message.getAttempts()).isEqualTo(1);
+                    assertThat(message.getLastError()).contains("Simulated email provider failure");
+                });
+    }
+}
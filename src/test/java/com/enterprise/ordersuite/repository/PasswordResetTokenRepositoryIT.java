@@ -3,14 +3,18 @@ package com.enterprise.ordersuite.repository;
 import com.enterprise.ordersuite.auth.domain.PasswordResetToken;
 import com.enterprise.ordersuite.identity.domain.User;
 import com.enterprise.ordersuite.auth.persistence.PasswordResetTokenRepository;
+import com.enterprise.ordersuite.auth.service.tokens.TokenHashing;
 import com.enterprise.ordersuite.identity.persistence.UserRepository;
 import com.enterprise.ordersuite.auth.service.PasswordResetLinkBuilder;
+import com.enterprise.ordersuite.auth.service.PasswordResetProperties;
 import com.enterprise.ordersuite.auth.service.PasswordResetService;
 import com.enterprise.ordersuite.auth.service.exceptions.InvalidPasswordResetTokenException;
-import com.enterprise.ordersuite.notifications.service.EmailService;
+import com.enterprise.ordersuite.notifications.service.NotificationOutbox;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.Clock;
@@ -33,8 +37,9 @@ class PasswordResetServiceTest {
     private Clock clock;
 
     // NEW deps introduced in step 1.5
-    private EmailService emailService;
+    private NotificationOutbox notificationOutbox;
     private PasswordResetLinkBuilder linkBuilder;
+    private ApplicationEventPublisher eventPublisher;
 
     private PasswordResetService service;
 
@@ -43,12 +48,13 @@ class PasswordResetServiceTest {
         userRepository = mock(UserRepository.class);
         tokenRepository = mock(PasswordResetTokenRepository.class);
         passwordEncoder = mock(PasswordEncoder.class);
-        emailService = mock(EmailService.class);
+        notificationOutbox = mock(NotificationOutbox.class);
         linkBuilder = mock(PasswordResetLinkBuilder.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
 
         clock = Clock.fixed(Instant.parse("2026-01-19T12:00:00Z"), ZoneOffset.UTC);
 
-        // Service will call linkBuilder.build(rawToken) and then emailService.sendPasswordResetEmail(...)
+        // Service will call linkBuilder.build(rawToken) and then notificationOutbox.enqueuePasswordResetEmail(...)
         when(linkBuilder.build(anyString())).thenReturn("http://localhost/reset-password?token=mock");
 
         service = new PasswordResetService(
@@ -56,8 +62,11 @@ class PasswordResetServiceTest {
                 tokenRepository,
                 passwordEncoder,
                 clock,
-                emailService,
-                linkBuilder
+                notificationOutbox,
+                linkBuilder,
+                eventPublisher,
+                new PasswordResetProperties(),
+                new SimpleMeterRegistry()
         );
     }
 
@@ -70,22 +79,25 @@ class PasswordResetServiceTest {
 
         assertThat(token).isEmpty();
         verify(tokenRepository, never()).save(any());
+        verify(tokenRepository, never()).upsertOutstanding(any(), any(), any(), any(), any());
 
         // Also ensure no email is attempted
-        verifyNoInteractions(emailService);
+        verifyNoInteractions(notificationOutbox);
         verifyNoInteractions(linkBuilder);
     }
 
     @Test
     void requestPasswordReset_whenUserFound_returnsRawToken_andSavesHashedToken_withExpiry_andSendsEmail() {
         User user = new User();
+        user.setId(7L);
         user.setEmail("gabriel@example.com");
         user.setActive(true);
 
         when(userRepository.findByEmailIgnoreCase("gabriel@example.com"))
                 .thenReturn(Optional.of(user));
+        when(tokenRepository.upsertOutstanding(any(), any(), any(), any(), any())).thenReturn(1);
 
-        ArgumentCaptor<PasswordResetToken> captor = ArgumentCaptor.forClass(PasswordResetToken.class);
+        ArgumentCaptor<byte[]> hashCaptor = ArgumentCaptor.forClass(byte[].class);
 
         Optional<String> rawTokenOpt = service.requestPasswordReset("gabriel@example.com");
 
@@ -93,23 +105,59 @@ class PasswordResetServiceTest {
         String rawToken = rawTokenOpt.get();
         assertThat(rawToken).isNotBlank();
 
-        verify(tokenRepository).save(captor.capture());
-        PasswordResetToken saved = captor.getValue();
-
-        // raw token should NOT be stored
-        assertThat(saved.getTokenHash()).isNotBlank();
-        assertThat(saved.getTokenHash()).isNotEqualTo(rawToken);
-        assertThat(saved.getTokenHash()).hasSize(64); // SHA-256 hex
-
-        // expiry should be now + 15 minutes (EXPIRY_MINUTES)
+        // expiry should be now + 15 minutes (EXPIRY_MINUTES), older tokens superseded after the 2 minute window
         LocalDateTime expectedNow = LocalDateTime.now(clock);
-        assertThat(saved.getExpiresAt()).isEqualTo(expectedNow.plusMinutes(15));
+        verify(tokenRepository).upsertOutstanding(
+                eq(7L),
+                hashCaptor.capture(),
+                eq(expectedNow.plusMinutes(15)),
+                eq(expectedNow),
+                eq(expectedNow.minusMinutes(2))
+        );
 
-        assertThat(saved.getUser()).isSameAs(user);
+        // raw token should NOT be stored
+        assertThat(hashCaptor.getValue()).hasSize(32); // raw SHA-256 digest
+        assertThat(hashCaptor.getValue()).isEqualTo(TokenHashing.sha256(rawToken));
 
         // Email should be triggered using the built link
         verify(linkBuilder).build(eq(rawToken));
-        verify(emailService).sendPasswordResetEmail(eq("gabriel@example.com"), anyString());
+        verify(notificationOutbox).enqueuePasswordResetEmail(eq("gabriel@example.com"), anyString(), eq(expectedNow.plusMinutes(15)));
+    }
+
+    @Test
+    void requestPasswordReset_whenRecentTokenOutstanding_coalesces_andDoesNotSendEmail() {
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("gabriel@example.com");
+        user.setActive(true);
+
+        when(userRepository.findByEmailIgnoreCase("gabriel@example.com"))
+                .thenReturn(Optional.of(user));
+        when(tokenRepository.upsertOutstanding(any(), any(), any(), any(), any())).thenReturn(0);
+
+        Optional<String> token = service.requestPasswordReset("gabriel@example.com");
+
+        assertThat(token).isEmpty();
+        verify(tokenRepository, never()).save(any());
+        verifyNoInteractions(notificationOutbox);
+        verifyNoInteractions(linkBuilder);
+    }
+
+    @Test
+    void sendPasswordSetupForNewUser_reportsWhetherALinkWasIssued() {
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("gabriel@example.com");
+        user.setActive(true);
+
+        when(userRepository.findByEmailIgnoreCase("gabriel@example.com"))
+                .thenReturn(Optional.of(user));
+        when(linkBuilder.build(anyString())).thenReturn("https://app.local/reset-password?token=abc");
+        when(tokenRepository.upsertOutstanding(any(), any(), any(), any(), any())).thenReturn(1, 0);
+
+        assertThat(service.sendPasswordSetupForNewUser("gabriel@example.com")).isTrue();
+        assertThat(service.sendPasswordSetupForNewUser("gabriel@example.com")).isFalse();
+        assertThat(service.sendPasswordSetupForNewUser("missing@example.com")).isFalse();
     }
 
     @Test
@@ -119,7 +167,7 @@ class PasswordResetServiceTest {
 
         verifyNoInteractions(tokenRepository);
         verifyNoInteractions(userRepository);
-        verifyNoInteractions(emailService);
+        verifyNoInteractions(notificationOutbox);
         verifyNoInteractions(linkBuilder);
     }
 
@@ -186,7 +234,7 @@ class PasswordResetServiceTest {
         verify(tokenRepository).save(prt);
 
         // Reset flow does not send email during reset, only during request
-        verifyNoInteractions(emailService);
+        verifyNoInteractions(notificationOutbox);
         verifyNoInteractions(linkBuilder);
     }
     @Test
@@ -203,7 +251,7 @@ class PasswordResetServiceTest {
         assertThat(token).isEmpty();
 
         verify(tokenRepository, never()).save(any());
-        verifyNoInteractions(emailService);
+        verifyNoInteractions(notificationOutbox);
         verifyNoInteractions(linkBuilder);
     }
 
@@ -228,7 +276,7 @@ class PasswordResetServiceTest {
         verify(tokenRepository, never()).save(any(PasswordResetToken.class));
         verify(prt, never()).setUsedAt(any());
 
-        verifyNoInteractions(emailService);
+        verifyNoInteractions(notificationOutbox);
         verifyNoInteractions(linkBuilder);
     }
 }
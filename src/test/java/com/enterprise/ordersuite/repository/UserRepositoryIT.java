@@ -54,4 +54,24 @@ class UserRepositoryIT extends AbstractPostgresRepositoryTest {
         assertThrows(DataIntegrityViolationException.class,
                 () -> userRepository.saveAndFlush(newValidUser("dup@example.com", "encoded2")));
     }
+
+    @Test
+    void caseInsensitiveLookups_matchNormalizedEmail() {
+        userRepository.saveAndFlush(newValidUser("Mixed.Case@Example.com", "encoded"));
+
+        var found = userRepository.findByEmailIgnoreCaseFetchingRole("  mixed.case@EXAMPLE.com ");
+        assertTrue(found.isPresent());
+        assertEquals("Mixed.Case@Example.com", found.get().getEmail());
+        assertEquals("mixed.case@example.com", found.get().getEmailNormalized());
+
+        assertTrue(userRepository.existsByEmailIgnoreCase("MIXED.CASE@example.com"));
+    }
+
+    @Test
+    void uniqueNormalizedEmail_enforced() {
+        userRepository.saveAndFlush(newValidUser("case@example.com", "encoded1"));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> userRepository.saveAndFlush(newValidUser("CASE@example.com", "encoded2")));
+    }
 }
@@ -0,0 +1,161 @@
+package com.enterprise.ordersuite.security.jwt;
+
+import com.enterprise.ordersuite.auth.service.tokens.TokenHashing;
+import com.enterprise.ordersuite.identity.domain.Role;
+import com.enterprise.ordersuite.identity.domain.User;
+import com.enterprise.ordersuite.support.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtServiceTest {
+
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("0123456789abcdef0123456789abcdef".getBytes());
+
+    private JwtProperties properties;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setExpiration(60_000);
+
+        Role role = new Role();
+        role.setName("ADMIN");
+
+        user = new User();
+        user.setId(42L);
+        user.setEmail("jane@example.com");
+        user.setRole(role);
+        user.setSecurityVersion(3L);
+    }
+
+    @Test
+    void verify_returnsSubjectAndExpiry_forValidToken() {
+        Clock clock = Clock.fixed(Instant.parse("2026-01-28T12:00:00Z"), ZoneOffset.UTC);
+        JwtService service = new JwtService(properties, clock);
+
+        String token = service.generateToken(user);
+
+        VerifiedToken verified = service.verify(token).orElseThrow();
+
+        assertThat(verified.subject()).isEqualTo("jane@example.com");
+        assertThat(verified.expiresAt()).isEqualTo(Instant.parse("2026-01-28T12:01:00Z"));
+        assertThat(verified.claims()).containsKey("sub");
+        assertThat(service.isTokenValid(verified, "jane@example.com")).isTrue();
+    }
+
+    @Test
+    void generateToken_embedsUserIdRoleAndSecurityVersion() {
+        Clock clock = Clock.fixed(Instant.parse("2026-01-28T12:00:00Z"), ZoneOffset.UTC);
+        JwtService service = new JwtService(properties, clock);
+
+        VerifiedToken verified = service.verify(service.generateToken(user)).orElseThrow();
+
+        assertThat(verified.hasPrincipalClaims()).isTrue();
+        assertThat(verified.userId()).isEqualTo(42L);
+        assertThat(verified.role()).isEqualTo("ADMIN");
+        assertThat(verified.securityVersion()).isEqualTo(3L);
+    }
+
+    @Test
+    void verify_returnsCachedInstance_forRepeatedToken() {
+        Clock clock = Clock.fixed(Instant.parse("2026-01-28T12:00:00Z"), ZoneOffset.UTC);
+        JwtService service = new JwtService(properties, clock);
+
+        String token = service.generateToken(user);
+
+        VerifiedToken first = service.verify(token).orElseThrow();
+        VerifiedToken second = service.verify(token).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void verify_rejectsMalformedAndTamperedTokens() {
+        Clock clock = Clock.fixed(Instant.parse("2026-01-28T12:00:00Z"), ZoneOffset.UTC);
+        JwtService service = new JwtService(properties, clock);
+
+        String token = service.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThat(service.verify(null)).isEmpty();
+        assertThat(service.verify("")).isEmpty();
+        assertThat(service.verify("not-a-jwt")).isEmpty();
+        assertThat(service.verify("a..b")).isEmpty();
+        assertThat(service.verify("a.b.c.d")).isEmpty();
+        assertThat(service.verify(tampered)).isEmpty();
+    }
+
+    @Test
+    void verify_rejectsExpiredToken_evenWhenCached() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-28T12:00:00Z"));
+        JwtService service = new JwtService(properties, clock);
+        String token = service.generateToken(user);
+
+        VerifiedToken first = service.verify(token).orElseThrow();
+        // Served from the cache from here on
+        assertThat(service.verify(token)).containsSame(first);
+
+        clock.advance(Duration.ofSeconds(61));
+        assertThat(service.verify(token)).isEmpty();
+    }
+
+    @Test
+    void verify_rejectsExpiredToken_withoutParsingItAgain() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-28T12:00:00Z"));
+        JwtService service = new JwtService(properties, clock);
+        String token = service.generateToken(user);
+        clock.advance(Duration.ofSeconds(61));
+
+        assertThat(service.verify(token)).isEmpty();
+        assertThat(service.rejectedCacheSize()).isEqualTo(1);
+        assertThat(service.verify(token)).isEmpty();
+        assertThat(service.rejectedCacheSize()).isEqualTo(1);
+    }
+
+    @Test
+    void verify_rejectsForgedSignatures_beforeTheParser_withoutRememberingThem() {
+        Clock clock = Clock.fixed(Instant.parse("2026-01-28T12:00:00Z"), ZoneOffset.UTC);
+        JwtService service = new JwtService(properties, clock);
+
+        String token = service.generateToken(user);
+        String payloadOnly = token.substring(0, token.lastIndexOf('.'));
+
+        assertThat(service.verify(payloadOnly + ".c2lnbmF0dXJl")).isEmpty();
+        assertThat(service.verify(payloadOnly + ".A")).isEmpty();
+        assertThat(service.rejectedCacheSize()).isZero();
+        assertThat(service.verify(token)).isPresent();
+    }
+
+    @Test
+    void cache_dropsEntriesOnceTokenExpires() {
+        Instant now = Instant.parse("2026-01-28T12:00:00Z");
+        Clock clock = Clock.fixed(now, ZoneOffset.UTC);
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, clock);
+
+        VerifiedToken expired = new VerifiedToken("a@example.com", now.minusSeconds(1), java.util.Map.of());
+        VerifiedToken live = new VerifiedToken("b@example.com", now.plusSeconds(60), java.util.Map.of());
+
+        cache.put(digest("expired"), expired);
+        cache.put(digest("live"), live);
+
+        assertThat(cache.get(digest("expired"))).isNull();
+        assertThat(cache.get(digest("live"))).isSameAs(live);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    private static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(TokenHashing.sha256(token));
+    }
+}
@@ -0,0 +1,43 @@
+package com.enterprise.ordersuite.security.password;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BCryptCostCalibratorTest {
+
+    @Test
+    void chooseStrength_picksHighestCostWithinBudget() {
+        // cost 10 = 50ms -> 11 = 100ms, 12 = 200ms, 13 = 400ms
+        int strength = BCryptCostCalibrator.chooseStrength(
+                Duration.ofMillis(50).toNanos(), 10, Duration.ofMillis(250), 16);
+
+        assertThat(strength).isEqualTo(12);
+    }
+
+    @Test
+    void chooseStrength_staysWithinMinAndMax() {
+        assertThat(BCryptCostCalibrator.chooseStrength(
+                Duration.ofMillis(900).toNanos(), 10, Duration.ofMillis(250), 16)).isEqualTo(10);
+
+        assertThat(BCryptCostCalibrator.chooseStrength(
+                Duration.ofMillis(1).toNanos(), 10, Duration.ofMillis(250), 12)).isEqualTo(12);
+    }
+
+    @Test
+    void upgradeEncoding_whenStoredCostDiffersInEitherDirection() {
+        CostAwareBCryptPasswordEncoder encoder = new CostAwareBCryptPasswordEncoder(5);
+
+        String weaker = new BCryptPasswordEncoder(4).encode("secret");
+        String same = encoder.encode("secret");
+        String stronger = new BCryptPasswordEncoder(6).encode("secret");
+
+        assertThat(encoder.upgradeEncoding(weaker)).isTrue();
+        assertThat(encoder.upgradeEncoding(same)).isFalse();
+        assertThat(encoder.upgradeEncoding(stronger)).isTrue();
+        assertThat(encoder.upgradeEncoding("not-a-bcrypt-hash")).isFalse();
+    }
+}
@@ -0,0 +1,55 @@
+package com.enterprise.ordersuite.security.password;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BCryptCostTargetTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PasswordHashingProperties properties;
+    private BCryptCostTarget target;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        properties = new PasswordHashingProperties();
+        // Cheapest costs, so a calibration in these tests is fast
+        properties.setBcryptMinStrength(4);
+        properties.setBcryptMaxStrength(5);
+        target = new BCryptCostTarget(jdbcTemplate, properties);
+    }
+
+    @Test
+    void pinnedStrength_skipsCalibrationAndTheDatabase() {
+        properties.setBcryptStrength(11);
+
+        assertThat(target.resolve()).isEqualTo(11);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void storedCost_isUsedByEveryNode_withoutCalibrating() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), any(), any(), any())).thenReturn(List.of(13));
+
+        assertThat(target.resolve()).isEqualTo(13);
+        verify(jdbcTemplate, never()).update(anyString(), any(), any(), any(), any());
+    }
+
+    @Test
+    void firstNode_calibratesAndStores_thenUsesWhatWasStored() {
+        // Another node stored 5 between our read and our insert
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), any(), any(), any()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(5));
+
+        assertThat(target.resolve()).isEqualTo(5);
+        verify(jdbcTemplate).update(contains("INSERT INTO bcrypt_cost_target"), anyInt(), eq(250L), eq(4), eq(5));
+    }
+}
@@ -0,0 +1,96 @@
+package com.enterprise.ordersuite.security.password;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    void delegatesEncodeAndMatches_andRecordsLatency() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new PrefixEncoder(null), properties(2, 4), registry)) {
+            String encoded = encoder.encode("secret");
+
+            assertThat(encoded).isEqualTo("enc:secret");
+            assertThat(encoder.matches("secret", encoded)).isTrue();
+            assertThat(encoder.matches("other", encoded)).isFalse();
+        }
+
+        assertThat(registry.get("security.password.hashing.duration").tag("operation", "encode").timer().count())
+                .isEqualTo(1);
+        assertThat(registry.get("security.password.hashing.duration").tag("operation", "matches").timer().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void failsFast_whenQueueIsFull() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new PrefixEncoder(release), properties(1, 1), registry)) {
+            // one running, one queued
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+            waitForQueueDepth(registry, 0);
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+            waitForQueueDepth(registry, 1);
+
+            assertThatThrownBy(() -> encoder.encode("c"))
+                    .isInstanceOf(PasswordHashingRejectedException.class)
+                    .satisfies(ex -> assertThat(((PasswordHashingRejectedException) ex).getRetryAfterSeconds()).isEqualTo(1));
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("enc:a");
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("enc:b");
+        }
+
+        assertThat(registry.get("security.password.hashing.rejected").counter().count()).isEqualTo(1);
+    }
+
+    private static void waitForQueueDepth(SimpleMeterRegistry registry, int expected) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            double active = registry.get("security.password.hashing.active").gauge().value();
+            double depth = registry.get("security.password.hashing.queue.depth").gauge().value();
+            if (active == 1 && depth == expected) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Hashing pool did not reach queue depth " + expected);
+    }
+
+    private static PasswordHashingProperties properties(int threads, int queueCapacity) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setThreads(threads);
+        properties.setQueueCapacity(queueCapacity);
+        return properties;
+    }
+
+    private record PrefixEncoder(CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "enc:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return ("enc:" + rawPassword).equals(encodedPassword);
+        }
+    }
+}
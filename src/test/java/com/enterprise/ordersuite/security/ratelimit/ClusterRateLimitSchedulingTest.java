@@ -0,0 +1,118 @@
+package com.enterprise.ordersuite.security.ratelimit;
+
+import com.enterprise.ordersuite.config.SchedulingConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A job hogging the default scheduler for longer than cluster-stale-after must not stop the flushes
+@SpringJUnitConfig(ClusterRateLimitSchedulingTest.Config.class)
+@TestPropertySource(properties = "security.rate-limit.cluster-flush-interval-ms=50")
+class ClusterRateLimitSchedulingTest {
+
+    @Autowired ClusterRateLimitCoordinator coordinator;
+    @Autowired CountingStore store;
+    @Autowired SlowJob slowJob;
+
+    @Test
+    void slowJobOnTheDefaultScheduler_doesNotDegradeClusterLimits() throws Exception {
+        ClusterRateLimiter limiter = (ClusterRateLimiter) coordinator.wrapIfEnabled(
+                "login", 10, 1, key -> new RateLimitDecision(true, 0, 9, 60));
+
+        try {
+            // The slow job holds the only default scheduler thread until released below
+            assertThat(slowJob.started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Thread.sleep(800);
+
+            assertThat(store.flushes.get()).isPositive();
+            assertThat(limiter.isDegraded()).isFalse();
+        } finally {
+            slowJob.release.countDown();
+        }
+    }
+
+    @Configuration
+    @EnableScheduling
+    @Import(SchedulingConfig.class)
+    static class Config {
+
+        // One default thread: the worst case for anything queued behind a long job
+        @Bean
+        ThreadPoolTaskSchedulerBuilder threadPoolTaskSchedulerBuilder() {
+            return new ThreadPoolTaskSchedulerBuilder().poolSize(1);
+        }
+
+        @Bean
+        RateLimitProperties rateLimitProperties() {
+            RateLimitProperties properties = new RateLimitProperties();
+            properties.setClusterEnabled(true);
+            properties.setClusterStaleAfter(Duration.ofMillis(300));
+            return properties;
+        }
+
+        @Bean
+        CountingStore countingStore() {
+            return new CountingStore();
+        }
+
+        @Bean
+        ClusterRateLimitCoordinator clusterRateLimitCoordinator(CountingStore store, RateLimitProperties properties) {
+            return new ClusterRateLimitCoordinator(store, properties, Clock.systemUTC(), new SimpleMeterRegistry());
+        }
+
+        @Bean
+        SlowJob slowJob() {
+            return new SlowJob();
+        }
+    }
+
+    static class SlowJob {
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Scheduled(fixedDelay = 60_000)
+        void run() throws InterruptedException {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    static class CountingStore implements RateLimitCounterStore {
+
+        final AtomicInteger flushes = new AtomicInteger();
+
+        @Override
+        public Map<String, WindowTotal> addAndRead(String limiter,
+                                                   long minute,
+                                                   Map<String, Long> deltas,
+                                                   Collection<String> keys,
+                                                   long windowStartMinuteExclusive) {
+            flushes.incrementAndGet();
+            return Map.of();
+        }
+
+        @Override
+        public void deleteUpTo(String limiter, long minuteInclusive) {
+        }
+    }
+}
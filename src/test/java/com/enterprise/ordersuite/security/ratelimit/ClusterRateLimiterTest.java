@@ -0,0 +1,163 @@
+package com.enterprise.ordersuite.security.ratelimit;
+
+import com.enterprise.ordersuite.support.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClusterRateLimiterTest {
+
+    private MutableClock clock;
+    private SharedStore store;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-23T12:00:10Z"), ZoneOffset.UTC);
+        store = new SharedStore();
+    }
+
+    @Test
+    void nodes_shareOneLimitAfterFlush() {
+        ClusterRateLimiter nodeA = node(4);
+        ClusterRateLimiter nodeB = node(4);
+        nodeA.flush(store);
+        nodeB.flush(store);
+
+        assertThat(nodeA.check("ip").allowed()).isTrue();
+        assertThat(nodeA.check("ip").allowed()).isTrue();
+        assertThat(nodeB.check("ip").allowed()).isTrue();
+
+        nodeA.flush(store);
+        nodeB.flush(store);
+        // B has not seen A's second flush yet
+        nodeA.flush(store);
+
+        assertThat(nodeA.check("ip").allowed()).isTrue();
+        assertThat(nodeA.check("ip").allowed()).isFalse();
+
+        nodeA.flush(store);
+        nodeB.flush(store);
+        assertThat(nodeB.check("ip").allowed()).isFalse();
+    }
+
+    @Test
+    void hitsBetweenFlushes_areCountedLocally() {
+        ClusterRateLimiter node = node(2);
+        node.flush(store);
+
+        assertThat(node.check("ip").allowed()).isTrue();
+        assertThat(node.check("ip").allowed()).isTrue();
+        assertThat(node.check("ip").allowed()).isFalse();
+        assertThat(store.writes).isZero();
+
+        node.flush(store);
+        assertThat(store.writes).isEqualTo(1);
+        assertThat(node.check("ip").allowed()).isFalse();
+    }
+
+    @Test
+    void staleStore_fallsBackToLocalLimiter_andRecovers() {
+        ClusterRateLimiter node = node(100);
+        node.flush(store);
+
+        store.failing = true;
+        assertThatThrownBy(() -> node.flush(store)).isInstanceOf(IllegalStateException.class);
+
+        clock.advance(Duration.ofSeconds(3));
+        assertThat(node.isDegraded()).isTrue();
+        // local limiter allows 2 per window
+        assertThat(node.check("ip").allowed()).isTrue();
+        assertThat(node.check("ip").allowed()).isTrue();
+        assertThat(node.check("ip").allowed()).isFalse();
+
+        store.failing = false;
+        node.flush(store);
+        assertThat(node.isDegraded()).isFalse();
+        assertThat(node.check("ip").allowed()).isTrue();
+    }
+
+    @Test
+    void failedFlush_keepsPendingHitsForNextFlush() {
+        ClusterRateLimiter node = node(100);
+        node.flush(store);
+        node.check("ip");
+        node.check("ip");
+
+        store.failing = true;
+        assertThatThrownBy(() -> node.flush(store)).isInstanceOf(IllegalStateException.class);
+
+        store.failing = false;
+        node.flush(store);
+        assertThat(store.total("ip")).isEqualTo(2);
+    }
+
+    @Test
+    void notSyncedYet_decidesLocally() {
+        ClusterRateLimiter node = node(100);
+
+        assertThat(node.isDegraded()).isTrue();
+        assertThat(node.check("ip").allowed()).isTrue();
+        assertThat(node.check("ip").allowed()).isTrue();
+        assertThat(node.check("ip").allowed()).isFalse();
+    }
+
+    private ClusterRateLimiter node(int clusterLimit) {
+        RateLimiter local = new AtomicBucketedSlidingWindowRateLimiter(2, 1, clock);
+        return new ClusterRateLimiter("refresh", clusterLimit, 1, local, clock, 2_000, 1_000);
+    }
+
+    // Stands in for rate_limit_counters shared by all nodes
+    private static final class SharedStore implements RateLimitCounterStore {
+        private final Map<String, Map<Long, Long>> countsByKey = new HashMap<>();
+        boolean failing;
+        int writes;
+
+        @Override
+        public Map<String, WindowTotal> addAndRead(String limiter,
+                                                   long minute,
+                                                   Map<String, Long> deltas,
+                                                   Collection<String> keys,
+                                                   long windowStartMinuteExclusive) {
+            if (failing) {
+                throw new IllegalStateException("statement timeout");
+            }
+            if (!deltas.isEmpty()) {
+                writes++;
+            }
+            deltas.forEach((key, delta) -> countsByKey.computeIfAbsent(key, k -> new HashMap<>()).merge(minute, delta, Long::sum));
+
+            Map<String, WindowTotal> totals = new HashMap<>();
+            for (String key : keys) {
+                long count = 0;
+                long oldest = Long.MAX_VALUE;
+                for (Map.Entry<Long, Long> bucket : countsByKey.getOrDefault(key, Map.of()).entrySet()) {
+                    if (bucket.getKey() > windowStartMinuteExclusive) {
+                        count += bucket.getValue();
+                        oldest = Math.min(oldest, bucket.getKey());
+                    }
+                }
+                if (count > 0) {
+                    totals.put(key, new WindowTotal(count, oldest));
+                }
+            }
+            return totals;
+        }
+
+        @Override
+        public void deleteUpTo(String limiter, long minuteInclusive) {
+        }
+
+        long total(String key) {
+            return countsByKey.getOrDefault(key, Map.of()).values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+}
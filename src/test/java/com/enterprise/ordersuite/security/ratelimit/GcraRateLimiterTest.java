@@ -0,0 +1,97 @@
+package com.enterprise.ordersuite.security.ratelimit;
+
+import com.enterprise.ordersuite.support.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GcraRateLimiterTest {
+
+    @Test
+    void burst_isAdmittedBackToBack_thenDenied() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-23T12:00:10Z"), ZoneOffset.UTC);
+
+        // 10 per minute, burst 3
+        RateLimiter limiter = new GcraRateLimiter(10, Duration.ofMinutes(1), 3, clock);
+
+        assertThat(limiter.check("k").allowed()).isTrue();
+        assertThat(limiter.check("k").allowed()).isTrue();
+        assertThat(limiter.check("k").allowed()).isTrue();
+        assertThat(limiter.check("k").allowed()).isFalse();
+    }
+
+    @Test
+    void retryAfter_isExactTimeUntilOneIntervalDrains() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-23T12:00:10Z"), ZoneOffset.UTC);
+
+        // emission interval 6s
+        RateLimiter limiter = new GcraRateLimiter(10, Duration.ofMinutes(1), 1, clock);
+
+        assertThat(limiter.check("k").allowed()).isTrue();
+        assertDenied(limiter.check("k"), 6);
+
+        clock.advance(Duration.ofMillis(4_500));
+        // 1.5s left, rounded up
+        assertDenied(limiter.check("k"), 2);
+
+        clock.advance(Duration.ofMillis(1_500));
+        assertThat(limiter.check("k").allowed()).isTrue();
+    }
+
+    @Test
+    void reportsRemainingBurstAndTimeUntilFull() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-23T12:00:10Z"), ZoneOffset.UTC);
+
+        // one every 6s, burst 3
+        RateLimiter limiter = new GcraRateLimiter(10, Duration.ofMinutes(1), 3, clock);
+
+        RateLimitDecision first = limiter.check("k");
+        assertThat(first.remaining()).isEqualTo(2);
+        assertThat(first.resetSeconds()).isEqualTo(6);
+
+        limiter.check("k");
+        RateLimitDecision third = limiter.check("k");
+        assertThat(third.remaining()).isZero();
+        assertThat(third.resetSeconds()).isEqualTo(18);
+    }
+
+    @Test
+    void replenishes_atSubSecondPrecision() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-23T12:00:10Z"), ZoneOffset.UTC);
+
+        // 10 per second, one token every 100ms
+        RateLimiter limiter = new GcraRateLimiter(10, Duration.ofSeconds(1), 1, clock);
+
+        assertThat(limiter.check("k").allowed()).isTrue();
+
+        clock.advance(Duration.ofMillis(99));
+        assertThat(limiter.check("k").allowed()).isFalse();
+
+        clock.advance(Duration.ofMillis(1));
+        assertThat(limiter.check("k").allowed()).isTrue();
+    }
+
+    @Test
+    void deniedRequests_doNotPushBackTheNextAdmission() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-23T12:00:10Z"), ZoneOffset.UTC);
+
+        RateLimiter limiter = new GcraRateLimiter(1, Duration.ofMinutes(1), 1, clock);
+
+        assertThat(limiter.check("k").allowed()).isTrue();
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.check("k").allowed()).isFalse();
+        }
+
+        clock.advance(Duration.ofMinutes(1));
+        assertThat(limiter.check("k").allowed()).isTrue();
+    }
+
+    private static void assertDenied(RateLimitDecision decision, long retryAfterSeconds) {
+        assertThat(decision.allowed()).isFalse();
+        assertThat(decision.retryAfterSeconds()).isEqualTo(retryAfterSeconds);
+    }
+}
@@ -0,0 +1,103 @@
+package com.enterprise.ordersuite.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeavyHittersTest {
+
+    @Test
+    void underCapacity_countsAreExact() {
+        HeavyHitters heavyHitters = new HeavyHitters(4);
+        record(heavyHitters, "a", 5);
+        record(heavyHitters, "b", 2);
+        record(heavyHitters, "c", 7);
+
+        assertThat(heavyHitters.top(2)).containsExactly(
+                new HeavyHitters.Entry("c", 7, 0),
+                new HeavyHitters.Entry("a", 5, 0)
+        );
+    }
+
+    @Test
+    void frequentKey_survivesAStreamOfOneOffKeys() {
+        HeavyHitters heavyHitters = new HeavyHitters(8);
+        for (int i = 0; i < 1_000; i++) {
+            heavyHitters.record("attacker");
+            heavyHitters.record("scan-" + i);
+        }
+
+        HeavyHitters.Entry top = heavyHitters.top(1).get(0);
+        assertThat(top.key()).isEqualTo("attacker");
+        assertThat(top.count() - top.maxOvercount()).isLessThanOrEqualTo(1_000);
+        assertThat(top.count()).isGreaterThanOrEqualTo(1_000);
+        assertThat(heavyHitters.top(100)).hasSize(8);
+    }
+
+    @Test
+    void newKey_inheritsTheEvictedCountAsOvercount() {
+        HeavyHitters heavyHitters = new HeavyHitters(2);
+        record(heavyHitters, "a", 3);
+        record(heavyHitters, "b", 1);
+
+        heavyHitters.record("c");
+
+        assertThat(heavyHitters.top(2)).containsExactly(
+                new HeavyHitters.Entry("a", 3, 0),
+                new HeavyHitters.Entry("c", 2, 1)
+        );
+    }
+
+    @Test
+    void concurrentRejectionsOfATrackedKey_areAllCounted() throws Exception {
+        HeavyHitters heavyHitters = new HeavyHitters(64);
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        heavyHitters.record("attacker");
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // The flooding key is exactly the one that must not be undercounted
+        assertThat(heavyHitters.top(1)).containsExactly(new HeavyHitters.Entry("attacker", (long) threads * perThread, 0));
+    }
+
+    @Test
+    void reset_forgetsAllKeys() {
+        HeavyHitters heavyHitters = new HeavyHitters(2);
+        record(heavyHitters, "a", 3);
+
+        heavyHitters.reset();
+
+        assertThat(heavyHitters.top(10)).isEmpty();
+    }
+
+    private static void record(HeavyHitters heavyHitters, String key, int times) {
+        for (int i = 0; i < times; i++) {
+            heavyHitters.record(key);
+        }
+    }
+}
@@ -1,19 +1,36 @@
 package com.enterprise.ordersuite.security.ratelimit;
 
+import com.enterprise.ordersuite.support.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+// Runs against every in-memory implementation, all must honour the same limit and window contract
 class InMemoryBucketedSlidingWindowRateLimiterTest {
 
-    @Test
-    void allowsUpToLimitWithinWindow_thenDenies() {
+    @ParameterizedTest
+    @EnumSource(RateLimitProperties.Implementation.class)
+    void allowsUpToLimitWithinWindow_thenDenies(RateLimitProperties.Implementation implementation) throws IOException {
         MutableClock clock = new MutableClock(Instant.parse("2026-01-23T12:00:10Z"), ZoneOffset.UTC);
 
-        RateLimiter limiter = new InMemoryBucketedSlidingWindowRateLimiter(3, 10, clock);
+        RateLimiter limiter = limiter(implementation, 3, 10, clock);
 
         assertThat(limiter.check("k").allowed()).isTrue();
         assertThat(limiter.check("k").allowed()).isTrue();
@@ -24,12 +41,30 @@ class InMemoryBucketedSlidingWindowRateLimiterTest {
         assertThat(denied.retryAfterSeconds()).isGreaterThanOrEqualTo(1);
     }
 
-    @Test
-    void afterWindowPasses_allowsAgain() {
+    @ParameterizedTest
+    @EnumSource(value = RateLimitProperties.Implementation.class, names = "MAPPED", mode = EnumSource.Mode.EXCLUDE)
+    void reportsRemainingRequestsInWindow(RateLimitProperties.Implementation implementation) throws IOException {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-23T12:00:10Z"), ZoneOffset.UTC);
+
+        RateLimiter limiter = limiter(implementation, 3, 10, clock);
+
+        assertThat(limiter.check("k").remaining()).isEqualTo(2);
+        assertThat(limiter.check("k").remaining()).isEqualTo(1);
+
+        RateLimitDecision last = limiter.check("k");
+        assertThat(last.remaining()).isZero();
+        assertThat(last.resetSeconds()).isPositive();
+
+        assertThat(limiter.check("k").remaining()).isZero();
+    }
+
+    @ParameterizedTest
+    @EnumSource(RateLimitProperties.Implementation.class)
+    void afterWindowPasses_allowsAgain(RateLimitProperties.Implementation implementation) throws IOException {
         // Window = 2 minutes, limit = 2
         MutableClock clock = new MutableClock(Instant.parse("2026-01-23T12:00:10Z"), ZoneOffset.UTC);
 
-        RateLimiter limiter = new InMemoryBucketedSlidingWindowRateLimiter(2, 2, clock);
+        RateLimiter limiter = limiter(implementation, 2, 2, clock);
 
         assertThat(limiter.check("k").allowed()).isTrue();
         assertThat(limiter.check("k").allowed()).isTrue();
@@ -45,11 +80,12 @@ class InMemoryBucketedSlidingWindowRateLimiterTest {
         assertThat(limiter.check("k").allowed()).isTrue();
     }
 
-    @Test
-    void differentKeys_areIndependent() {
+    @ParameterizedTest
+    @EnumSource(RateLimitProperties.Implementation.class)
+    void differentKeys_areIndependent(RateLimitProperties.Implementation implementation) throws IOException {
         MutableClock clock = new MutableClock(Instant.parse("2026-01-23T12:00:10Z"), ZoneOffset.UTC);
 
-        RateLimiter limiter = new InMemoryBucketedSlidingWindowRateLimiter(1, 10, clock);
+        RateLimiter limiter = limiter(implementation, 1, 10, clock);
 
         assertThat(limiter.check("a").allowed()).isTrue();
         assertThat(limiter.check("a").allowed()).isFalse();
@@ -58,11 +94,12 @@ class InMemoryBucketedSlidingWindowRateLimiterTest {
         assertThat(limiter.check("b").allowed()).isFalse();
     }
 
-    @Test
-    void retryAfter_isAtLeastOneSecond_whenDenied() {
+    @ParameterizedTest
+    @EnumSource(RateLimitProperties.Implementation.class)
+    void retryAfter_isAtLeastOneSecond_whenDenied(RateLimitProperties.Implementation implementation) throws IOException {
         MutableClock clock = new MutableClock(Instant.parse("2026-01-23T12:00:59Z"), ZoneOffset.UTC);
 
-        RateLimiter limiter = new InMemoryBucketedSlidingWindowRateLimiter(1, 1, clock);
+        RateLimiter limiter = limiter(implementation, 1, 1, clock);
 
         assertThat(limiter.check("k").allowed()).isTrue();
 
@@ -70,4 +107,63 @@ class InMemoryBucketedSlidingWindowRateLimiterTest {
         assertThat(denied.allowed()).isFalse();
         assertThat(denied.retryAfterSeconds()).isGreaterThanOrEqualTo(1);
     }
+
+    @ParameterizedTest
+    @EnumSource(RateLimitProperties.Implementation.class)
+    void concurrentCallsOnOneKey_allowExactlyLimit(RateLimitProperties.Implementation implementation) throws Exception {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-23T12:00:10Z"), ZoneOffset.UTC);
+
+        int limit = 500;
+        int threads = 8;
+        int callsPerThread = 200;
+        RateLimiter limiter = limiter(implementation, limit, 5, clock);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    int allowed = 0;
+                    for (int i = 0; i < callsPerThread; i++) {
+                        if (limiter.check("shared").allowed()) allowed++;
+                    }
+                    return allowed;
+                }));
+            }
+            start.countDown();
+
+            int allowed = 0;
+            for (Future<Integer> result : results) {
+                allowed += result.get(10, TimeUnit.SECONDS);
+            }
+            assertThat(allowed).isEqualTo(limit);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void atomicImplementation_matchesSynchronizedDecisionsAcrossMinutes() throws IOException {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-23T12:00:10Z"), ZoneOffset.UTC);
+
+        RateLimiter reference = limiter(RateLimitProperties.Implementation.SYNCHRONIZED, 4, 3, clock);
+        RateLimiter atomic = limiter(RateLimitProperties.Implementation.ATOMIC, 4, 3, clock);
+
+        // 3 calls per step, one step every 50s: buckets fill, roll over and fall out of the window
+        for (int step = 0; step < 12; step++) {
+            for (int i = 0; i < 3; i++) {
+                assertThat(atomic.check("k")).isEqualTo(reference.check("k"));
+            }
+            clock.advance(Duration.ofSeconds(50));
+        }
+    }
+
+    private static RateLimiter limiter(RateLimitProperties.Implementation implementation, int limit, int windowMinutes, Clock clock) throws IOException {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setImplementation(implementation);
+        properties.setMappedDirectory(Files.createTempDirectory("ratelimit"));
+        return new RateLimiterFactory(properties, clock, new SimpleMeterRegistry()).create("test", limit, windowMinutes);
+    }
 }
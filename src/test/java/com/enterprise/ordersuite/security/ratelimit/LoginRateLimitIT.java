@@ -8,11 +8,13 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.UUID;
+import java.util.function.IntFunction;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 
-@SpringBootTest
+// The test config switches the login rule off for the other ITs, this one runs with it on
+@SpringBootTest(properties = "security.rate-limit.disabled-rules=")
 @AutoConfigureMockMvc
 class LoginRateLimitIT {
 
@@ -20,21 +22,34 @@ class LoginRateLimitIT {
     MockMvc mockMvc;
 
     @Test
-    void login_eventuallyGetsRateLimited_orReturnsUnauthorized_whenDisabled() throws Exception {
+    void login_isRateLimited_perAddress() throws Exception {
+        // Unknown user: every attempt is a 401 until the limiter steps in
+        String email = "nonexistent-" + UUID.randomUUID() + "@test.com";
 
-        boolean saw401 = false;
-        boolean saw429 = false;
+        // limit: 5 per 5 minutes for one address
+        assertThat(attemptsUntilLimited("1.2.3.4", i -> email)).isEqualTo(5);
+    }
 
-        for (int i = 0; i < 20; i++) {
-            String email = "nonexistent-" + UUID.randomUUID() + "@test.com";
+    @Test
+    void login_fromOneAddress_isLimitedAcrossEmails() throws Exception {
+        // Password spraying: one address, a different account on every attempt
+        String run = UUID.randomUUID().toString();
+
+        assertThat(attemptsUntilLimited("5.6.7.8", i -> "spray-" + i + "-" + run + "@test.com")).isEqualTo(5);
+    }
+
+    // 401s before the first 429, fails if no 429 comes within 20 attempts
+    private int attemptsUntilLimited(String address, IntFunction<String> emailForAttempt) throws Exception {
+        int unauthorized = 0;
 
+        for (int i = 0; i < 20; i++) {
             var result = mockMvc.perform(post("/auth/login")
                             .contentType(MediaType.APPLICATION_JSON)
                             .content("""
                                 { "email": "%s", "password": "wrong" }
-                            """.formatted(email))
+                            """.formatted(emailForAttempt.apply(i)))
                             .with(request -> {
-                                request.setRemoteAddr("1.2.3.4");
+                                request.setRemoteAddr(address);
                                 return request;
                             }))
                     .andReturn();
@@ -42,20 +57,14 @@ class LoginRateLimitIT {
             int status = result.getResponse().getStatus();
 
             if (status == 401) {
-                saw401 = true;
+                unauthorized++;
             } else if (status == 429) {
-                saw429 = true;
-                break;
+                return unauthorized;
             } else {
-                // Temporary test: fail fast if login succeeds or anything unexpected happens
                 throw new AssertionError("Unexpected status from /auth/login: " + status
                         + " body=" + result.getResponse().getContentAsString());
             }
         }
-
-        // Pass if:
-        // - rate limit disabled: we will see 401s
-        // - rate limit enabled: we will eventually see 429
-        assertThat(saw401 || saw429).isTrue();
+        throw new AssertionError("No 429 from /auth/login after " + unauthorized + " attempts from " + address);
     }
 }
@@ -0,0 +1,105 @@
+package com.enterprise.ordersuite.security.ratelimit;
+
+import com.enterprise.ordersuite.support.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MappedGcraRateLimiterTest {
+
+    @TempDir
+    Path dir;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-23T12:00:10Z"), ZoneOffset.UTC);
+
+    @Test
+    void admitsBurst_thenDeniesWithExactRetryAfter() {
+        // one every 6s, burst 2
+        MappedGcraRateLimiter limiter = limiter(dir.resolve("login.rlt"), 1024, 10, 2);
+
+        assertThat(limiter.check("k").allowed()).isTrue();
+        assertThat(limiter.check("k").allowed()).isTrue();
+        assertDenied(limiter.check("k"), 6);
+
+        clock.advance(Duration.ofSeconds(6));
+        assertThat(limiter.check("k").allowed()).isTrue();
+    }
+
+    @Test
+    void stateSurvivesReopeningTheFile() {
+        Path file = dir.resolve("refresh.rlt");
+
+        MappedGcraRateLimiter first = limiter(file, 1024, 1, 1);
+        assertThat(first.check("k").allowed()).isTrue();
+        first.close();
+
+        MappedGcraRateLimiter restarted = limiter(file, 1024, 1, 1);
+        assertThat(restarted.check("k").allowed()).isFalse();
+        assertThat(restarted.check("other").allowed()).isTrue();
+    }
+
+    @Test
+    void incompatibleFile_isReplacedWithEmptyTable() throws IOException {
+        Path file = dir.resolve("logout.rlt");
+        Files.write(file, new byte[]{1, 2, 3});
+
+        MappedGcraRateLimiter limiter = limiter(file, 1024, 1, 1);
+
+        assertThat(limiter.check("k").allowed()).isTrue();
+        assertThat(limiter.mappedBytes()).isEqualTo(Files.size(file));
+
+        // a different slot count does not reuse the old layout either
+        MappedGcraRateLimiter resized = limiter(file, 2048, 1, 1);
+        assertThat(resized.check("k").allowed()).isTrue();
+    }
+
+    @Test
+    void fullTable_evictsLeastThrottledSlotWithoutResettingIt() {
+        // table is a single probe window
+        MappedGcraRateLimiter limiter = limiter(dir.resolve("tiny.rlt"), MappedGcraRateLimiter.MAX_PROBE, 1, 1);
+
+        for (int i = 0; i < MappedGcraRateLimiter.MAX_PROBE; i++) {
+            assertThat(limiter.check("ip-" + i).allowed()).isTrue();
+        }
+        assertThat(limiter.liveKeys()).isEqualTo(MappedGcraRateLimiter.MAX_PROBE);
+
+        // takes over a live slot and inherits its arrival time: denied, not a free pass
+        assertThat(limiter.check("newcomer").allowed()).isFalse();
+        assertThat(limiter.collisionEvictions()).isEqualTo(1);
+
+        // once everything has replenished, slots are reused without eviction
+        clock.advance(Duration.ofMinutes(2));
+        assertThat(limiter.check("later").allowed()).isTrue();
+        assertThat(limiter.collisionEvictions()).isEqualTo(1);
+    }
+
+    private MappedGcraRateLimiter limiter(Path file, int slots, int limitPerMinute, int burst) {
+        return new MappedGcraRateLimiter(file, slots, limitPerMinute, Duration.ofMinutes(1), burst, clock);
+    }
+
+    @Test
+    void factory_refusesMappedWithoutAnExplicitDirectory() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setImplementation(RateLimitProperties.Implementation.MAPPED);
+        RateLimiterFactory factory = new RateLimiterFactory(properties, clock, new SimpleMeterRegistry());
+
+        assertThatThrownBy(() -> factory.create("login", 5, 1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("mapped-directory");
+    }
+
+    private static void assertDenied(RateLimitDecision decision, long retryAfterSeconds) {
+        assertThat(decision.allowed()).isFalse();
+        assertThat(decision.retryAfterSeconds()).isEqualTo(retryAfterSeconds);
+    }
+}
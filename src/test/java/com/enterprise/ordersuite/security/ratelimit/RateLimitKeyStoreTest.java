@@ -0,0 +1,122 @@
+package com.enterprise.ordersuite.security.ratelimit;
+
+import com.enterprise.ordersuite.support.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitKeyStoreTest {
+
+    @ParameterizedTest
+    @EnumSource(value = RateLimitProperties.Implementation.class, names = "MAPPED", mode = EnumSource.Mode.EXCLUDE)
+    void idleKeys_areSweptOnceTheirWindowHasElapsed(RateLimitProperties.Implementation implementation) {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-23T12:00:10Z"), ZoneOffset.UTC);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RateLimiter limiter = limiter(implementation, 1_000, RateLimitProperties.OverflowPolicy.SHARED, clock, registry);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.check("ip-" + i);
+        }
+        assertThat(gauge(registry, "security.ratelimit.keys")).isEqualTo(50);
+        assertThat(gauge(registry, "security.ratelimit.memory.estimated")).isPositive();
+
+        // Still inside the 2 minute window: nothing is idle yet
+        clock.advance(Duration.ofSeconds(61));
+        limiter.check("active");
+        assertThat(gauge(registry, "security.ratelimit.keys")).isEqualTo(51);
+
+        clock.advance(Duration.ofSeconds(61));
+        limiter.check("active");
+
+        assertThat(gauge(registry, "security.ratelimit.keys")).isEqualTo(1);
+        assertThat(registry.get("security.ratelimit.keys.evicted").functionCounter().count()).isEqualTo(50);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = RateLimitProperties.Implementation.class, names = "MAPPED", mode = EnumSource.Mode.EXCLUDE)
+    void sweptKey_startsWithAFreshWindow(RateLimitProperties.Implementation implementation) {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-23T12:00:10Z"), ZoneOffset.UTC);
+        RateLimiter limiter = limiter(implementation, 10, RateLimitProperties.OverflowPolicy.SHARED, clock, new SimpleMeterRegistry());
+
+        assertThat(limiter.check("k").allowed()).isTrue();
+        assertThat(limiter.check("k").allowed()).isFalse();
+
+        clock.advance(Duration.ofMinutes(3));
+
+        assertThat(limiter.check("k").allowed()).isTrue();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = RateLimitProperties.Implementation.class, names = "MAPPED", mode = EnumSource.Mode.EXCLUDE)
+    void sharedOverflow_limitsAllUntrackedKeysTogether(RateLimitProperties.Implementation implementation) {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-23T12:00:10Z"), ZoneOffset.UTC);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RateLimiter limiter = limiter(implementation, 2, RateLimitProperties.OverflowPolicy.SHARED, clock, registry);
+
+        limiter.check("a");
+        limiter.check("b");
+
+        // limit 1 per key: the two overflow keys share one window
+        assertThat(limiter.check("c").allowed()).isTrue();
+        assertThat(limiter.check("d").allowed()).isFalse();
+
+        // tracked keys keep their own windows
+        assertThat(limiter.check("a").allowed()).isFalse();
+        assertThat(gauge(registry, "security.ratelimit.keys")).isEqualTo(2);
+        assertThat(registry.get("security.ratelimit.overflow").functionCounter().count()).isEqualTo(2);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = RateLimitProperties.Implementation.class, names = "MAPPED", mode = EnumSource.Mode.EXCLUDE)
+    void rejectOverflow_deniesNewKeysUntilIdleKeysAreSwept(RateLimitProperties.Implementation implementation) {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-23T12:00:10Z"), ZoneOffset.UTC);
+        RateLimiter limiter = limiter(implementation, 1, RateLimitProperties.OverflowPolicy.REJECT, clock, new SimpleMeterRegistry());
+
+        assertThat(limiter.check("a").allowed()).isTrue();
+
+        RateLimitDecision denied = limiter.check("b");
+        assertThat(denied.allowed()).isFalse();
+        assertThat(denied.retryAfterSeconds()).isEqualTo(1);
+
+        clock.advance(Duration.ofMinutes(3));
+
+        assertThat(limiter.check("b").allowed()).isTrue();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = RateLimitProperties.Implementation.class, names = "MAPPED", mode = EnumSource.Mode.EXCLUDE)
+    void allowOverflow_letsNewKeysThroughUntracked(RateLimitProperties.Implementation implementation) {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-23T12:00:10Z"), ZoneOffset.UTC);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RateLimiter limiter = limiter(implementation, 1, RateLimitProperties.OverflowPolicy.ALLOW, clock, registry);
+
+        limiter.check("a");
+
+        assertThat(limiter.check("b").allowed()).isTrue();
+        assertThat(limiter.check("b").allowed()).isTrue();
+        assertThat(gauge(registry, "security.ratelimit.keys")).isEqualTo(1);
+    }
+
+    private static RateLimiter limiter(RateLimitProperties.Implementation implementation,
+                                       int maxKeys,
+                                       RateLimitProperties.OverflowPolicy overflowPolicy,
+                                       MutableClock clock,
+                                       SimpleMeterRegistry registry) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setImplementation(implementation);
+        properties.setMaxKeysPerLimiter(maxKeys);
+        properties.setOverflowPolicy(overflowPolicy);
+        // limit 1 per key, 2 minute window
+        return new RateLimiterFactory(properties, clock, registry).create("test", 1, 2);
+    }
+
+    private static double gauge(SimpleMeterRegistry registry, String name) {
+        return registry.get(name).tag("limiter", "test").gauge().value();
+    }
+}
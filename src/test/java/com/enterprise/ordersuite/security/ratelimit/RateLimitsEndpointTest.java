@@ -0,0 +1,71 @@
+package com.enterprise.ordersuite.security.ratelimit;
+
+import com.enterprise.ordersuite.support.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitsEndpointTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-23T12:00:10Z"), ZoneOffset.UTC);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RateLimiterFactory factory = new RateLimiterFactory(new RateLimitProperties(), clock, registry);
+    private final RateLimitsEndpoint endpoint = new RateLimitsEndpoint(factory);
+
+    @Test
+    void decisions_areCountedAndTimedPerLimiter() {
+        RateLimiter limiter = factory.create("login", 2, 1);
+        limiter.check("1.2.3.4");
+        limiter.check("1.2.3.4");
+        limiter.check("1.2.3.4");
+
+        assertThat(registry.get("security.ratelimit.decisions").tags("limiter", "login", "outcome", "allowed").counter().count())
+                .isEqualTo(2);
+        assertThat(registry.get("security.ratelimit.decisions").tags("limiter", "login", "outcome", "denied").counter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("security.ratelimit.check").tag("limiter", "login").timer().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void report_listsMostRejectedKeysFirst() {
+        RateLimiter limiter = factory.create("login", 1, 1);
+        for (int i = 0; i < 5; i++) {
+            limiter.check("attacker");
+        }
+        limiter.check("user");
+        limiter.check("user");
+        factory.create("refresh", 10, 1).check("someone");
+
+        assertThat(endpoint.limiters(null))
+                .extracting(RateLimitsEndpoint.LimiterReport::name)
+                .containsExactly("login", "refresh");
+
+        RateLimitsEndpoint.LimiterReport login = endpoint.limiter("login", 1);
+        assertThat(login.allowed()).isEqualTo(2);
+        assertThat(login.denied()).isEqualTo(5);
+        assertThat(login.topRejectedKeys()).containsExactly(new RateLimitsEndpoint.RejectedKey("attacker", 4, 0));
+    }
+
+    @Test
+    void reset_clearsRejectedKeysButNotCounters() {
+        RateLimiter limiter = factory.create("login", 1, 1);
+        limiter.check("attacker");
+        limiter.check("attacker");
+
+        endpoint.resetRejectedKeys("login");
+
+        RateLimitsEndpoint.LimiterReport login = endpoint.limiter("login", null);
+        assertThat(login.topRejectedKeys()).isEmpty();
+        assertThat(login.denied()).isEqualTo(1);
+    }
+
+    @Test
+    void unknownLimiter_isNotFound() {
+        assertThat(endpoint.limiter("missing", null)).isNull();
+    }
+}
@@ -0,0 +1,84 @@
+package com.enterprise.ordersuite.security.userdetails;
+
+import com.enterprise.ordersuite.identity.domain.Role;
+import com.enterprise.ordersuite.identity.domain.User;
+import com.enterprise.ordersuite.identity.domain.UserSecurityChangedEvent;
+import com.enterprise.ordersuite.identity.persistence.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.DisabledException;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class CustomUserDetailsServiceTest {
+
+    private UserRepository userRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private CustomUserDetailsService service;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        Clock clock = Clock.fixed(Instant.parse("2026-01-28T12:00:00Z"), ZoneOffset.UTC);
+        service = new CustomUserDetailsService(userRepository, new PrincipalCacheProperties(), clock, meterRegistry);
+    }
+
+    @Test
+    void loadUserByUsername_hitsDatabaseOnce_forRepeatedLookups() {
+        User user = user(7L, "jane@example.com", true);
+        when(userRepository.findByEmailIgnoreCaseFetchingRole("jane@example.com")).thenReturn(Optional.of(user));
+
+        CustomUserDetails first = (CustomUserDetails) service.loadUserByUsername("jane@example.com");
+        CustomUserDetails second = (CustomUserDetails) service.loadUserByUsername("Jane@Example.com");
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.id()).isEqualTo(7L);
+        assertThat(first.roleName()).isEqualTo("USER");
+        assertThat(first.getPassword()).isNull();
+
+        verify(userRepository, times(1)).findByEmailIgnoreCaseFetchingRole(anyString());
+        assertThat(meterRegistry.get("security.principal.cache.gets").tag("result", "hit").functionCounter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void onUserSecurityChanged_evictsEntry_soNextLookupReloads() {
+        User user = user(7L, "jane@example.com", true);
+        when(userRepository.findByEmailIgnoreCaseFetchingRole("jane@example.com")).thenReturn(Optional.of(user));
+
+        service.loadUserByUsername("jane@example.com");
+
+        user.setActive(false);
+        service.onUserSecurityChanged(new UserSecurityChangedEvent(
+                7L, "jane@example.com", UserSecurityChangedEvent.Change.DEACTIVATED));
+
+        assertThatThrownBy(() -> service.loadUserByUsername("jane@example.com"))
+                .isInstanceOf(DisabledException.class);
+
+        verify(userRepository, times(2)).findByEmailIgnoreCaseFetchingRole("jane@example.com");
+        assertThat(meterRegistry.get("security.principal.cache.evictions").tag("cause", "invalidated").functionCounter().count())
+                .isEqualTo(1.0);
+    }
+
+    private static User user(Long id, String email, boolean active) {
+        Role role = new Role();
+        role.setName("USER");
+
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        user.setActive(active);
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,106 @@
+package com.enterprise.ordersuite.security.web;
+
+import com.enterprise.ordersuite.security.ratelimit.RateLimitProperties;
+import com.enterprise.ordersuite.security.ratelimit.RateLimiterFactory;
+import com.enterprise.ordersuite.security.userdetails.CustomUserDetails;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiQuotaFilterTest {
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-01-23T12:00:10Z"), ZoneOffset.UTC);
+
+    private ApiQuotaFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ApiQuotaProperties properties = new ApiQuotaProperties();
+        properties.setLimits(Map.of("USER", 2, "ADMIN", 4));
+        properties.setDefaultLimit(1);
+
+        RateLimiterFactory factory = new RateLimiterFactory(new RateLimitProperties(), clock, new SimpleMeterRegistry());
+        filter = new ApiQuotaFilter(properties, factory, new ObjectMapper(), clock);
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void userTier_setsRateLimitHeaders_thenDenies() throws Exception {
+        authenticate(1L, "USER");
+
+        MockHttpServletResponse first = perform("/users");
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(first.getHeader("RateLimit-Limit")).isEqualTo("2");
+        assertThat(first.getHeader("RateLimit-Remaining")).isEqualTo("1");
+        assertThat(first.getHeader("RateLimit-Policy")).isEqualTo("2;w=60");
+        assertThat(first.getHeader("RateLimit-Reset")).isEqualTo("50");
+
+        assertThat(perform("/users").getHeader("RateLimit-Remaining")).isEqualTo("0");
+
+        MockHttpServletResponse denied = perform("/users");
+        assertThat(denied.getStatus()).isEqualTo(429);
+        assertThat(denied.getHeader("Retry-After")).isEqualTo("50");
+        assertThat(denied.getContentAsString()).contains("\"code\":\"RATE_LIMITED\"");
+    }
+
+    @Test
+    void quotas_arePerUser_andTieredByRole() throws Exception {
+        authenticate(1L, "USER");
+        perform("/users");
+        perform("/users");
+        assertThat(perform("/users").getStatus()).isEqualTo(429);
+
+        authenticate(2L, "ADMIN");
+        for (int i = 0; i < 4; i++) {
+            assertThat(perform("/admin/identity-audit").getStatus()).isEqualTo(200);
+        }
+        assertThat(perform("/admin/identity-audit").getStatus()).isEqualTo(429);
+
+        authenticate(3L, "AUDITOR");
+        assertThat(perform("/users").getHeader("RateLimit-Limit")).isEqualTo("1");
+    }
+
+    @Test
+    void anonymousAndExcludedRequests_areNotCounted() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse anonymous = perform("/users");
+            assertThat(anonymous.getStatus()).isEqualTo(200);
+            assertThat(anonymous.getHeader("RateLimit-Limit")).isNull();
+        }
+
+        authenticate(1L, "USER");
+        for (int i = 0; i < 5; i++) {
+            assertThat(perform("/auth/logout").getStatus()).isEqualTo(200);
+        }
+    }
+
+    private MockHttpServletResponse perform(String path) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", path), response, new MockFilterChain());
+        return response;
+    }
+
+    private static void authenticate(long userId, String role) {
+        CustomUserDetails user = new CustomUserDetails(userId, "u" + userId + "@example.com", role, true);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
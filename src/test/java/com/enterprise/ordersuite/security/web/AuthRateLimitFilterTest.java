@@ -0,0 +1,165 @@
+package com.enterprise.ordersuite.security.web;
+
+import com.enterprise.ordersuite.security.ratelimit.RateLimitProperties;
+import com.enterprise.ordersuite.security.ratelimit.RateLimiterFactory;
+import com.enterprise.ordersuite.security.userdetails.CustomUserDetails;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuthRateLimitFilterTest {
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-01-23T12:00:10Z"), ZoneOffset.UTC);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void requestsWithoutRule_areNotLimited() throws Exception {
+        AuthRateLimitFilter filter = filter(rule("refresh", "POST", "/auth/refresh", 1, RateLimitProperties.KeyPart.IP));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(perform(filter, request("GET", "/auth/refresh", "1.2.3.4", null)).getStatus()).isEqualTo(200);
+            assertThat(perform(filter, request("POST", "/auth/login", "1.2.3.4", null)).getStatus()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void ipRule_limitsPerClientAddress() throws Exception {
+        AuthRateLimitFilter filter = filter(rule("refresh", "POST", "/auth/refresh", 1, RateLimitProperties.KeyPart.IP));
+
+        assertThat(perform(filter, request("POST", "/auth/refresh", "1.2.3.4", null)).getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse denied = perform(filter, request("POST", "/auth/refresh", "1.2.3.4", null));
+        assertThat(denied.getStatus()).isEqualTo(429);
+        assertThat(denied.getHeader("Retry-After")).isNotBlank();
+        assertThat(denied.getContentAsString()).contains("\"code\":\"RATE_LIMITED\"");
+
+        assertThat(perform(filter, request("POST", "/auth/refresh", "5.6.7.8", null)).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void compositeIpAndEmailRule_keysOnNormalizedEmail_andReplaysBody() throws Exception {
+        AuthRateLimitFilter filter = filter(rule("login", "POST", "/auth/login", 1,
+                RateLimitProperties.KeyPart.IP, RateLimitProperties.KeyPart.EMAIL));
+
+        String body = "{\"password\":\"x\",\"email\":\"Alice@Example.com \"}";
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("POST", "/auth/login", "1.2.3.4", body), new MockHttpServletResponse(), chain);
+
+        // controller still sees the full body
+        byte[] replayed = chain.getRequest().getInputStream().readAllBytes();
+        assertThat(new String(replayed, StandardCharsets.UTF_8)).isEqualTo(body);
+
+        // same account, different case: same key
+        assertThat(perform(filter, request("POST", "/auth/login", "1.2.3.4", "{\"email\":\"alice@example.com\"}")).getStatus())
+                .isEqualTo(429);
+        // other account from the same address is not affected
+        assertThat(perform(filter, request("POST", "/auth/login", "1.2.3.4", "{\"email\":\"bob@example.com\"}")).getStatus())
+                .isEqualTo(200);
+    }
+
+    @Test
+    void userRule_keysOnAuthenticatedUser_andFallsBackToIp() throws Exception {
+        AuthRateLimitFilter filter = filter(rule("logout", "POST", "/auth/logout", 1, RateLimitProperties.KeyPart.USER));
+
+        authenticate(42L);
+        assertThat(perform(filter, request("POST", "/auth/logout", "1.2.3.4", null)).getStatus()).isEqualTo(200);
+        assertThat(perform(filter, request("POST", "/auth/logout", "5.6.7.8", null)).getStatus()).isEqualTo(429);
+
+        authenticate(43L);
+        assertThat(perform(filter, request("POST", "/auth/logout", "1.2.3.4", null)).getStatus()).isEqualTo(200);
+
+        SecurityContextHolder.clearContext();
+        assertThat(perform(filter, request("POST", "/auth/logout", "1.2.3.4", null)).getStatus()).isEqualTo(200);
+        assertThat(perform(filter, request("POST", "/auth/logout", "1.2.3.4", null)).getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void disabledRules_areSkipped_andDuplicatesFailStartup() {
+        RateLimitProperties.Rule disabled = rule("login", "POST", "/auth/login", 1, RateLimitProperties.KeyPart.IP);
+        disabled.setEnabled(false);
+        RateLimitRuleTable table = table(disabled);
+        assertThat(table.match(request("POST", "/auth/login", "1.2.3.4", null))).isNull();
+
+        assertThatThrownBy(() -> table(
+                rule("a", "POST", "/auth/login", 1, RateLimitProperties.KeyPart.IP),
+                rule("b", "post", "/auth/login", 1, RateLimitProperties.KeyPart.IP)
+        )).isInstanceOf(IllegalStateException.class).hasMessageContaining("both match POST /auth/login");
+    }
+
+    @Test
+    void rulesNamedInDisabledRules_areSkipped() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(
+                rule("login", "POST", "/auth/login", 1, RateLimitProperties.KeyPart.IP),
+                rule("refresh", "POST", "/auth/refresh", 1, RateLimitProperties.KeyPart.IP)
+        ));
+        properties.setDisabledRules(List.of("login"));
+        RateLimitRuleTable table = new RateLimitRuleTable(properties, new RateLimiterFactory(properties, clock, new SimpleMeterRegistry()));
+
+        assertThat(table.match(request("POST", "/auth/login", "1.2.3.4", null))).isNull();
+        assertThat(table.match(request("POST", "/auth/refresh", "1.2.3.4", null))).isNotNull();
+    }
+
+    private MockHttpServletResponse perform(AuthRateLimitFilter filter, MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String ip, String json) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(ip);
+        if (json != null) {
+            request.setContentType("application/json");
+            request.setContent(json.getBytes(StandardCharsets.UTF_8));
+        }
+        return request;
+    }
+
+    private static void authenticate(long userId) {
+        CustomUserDetails user = new CustomUserDetails(userId, "u" + userId + "@example.com", "USER", true);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private AuthRateLimitFilter filter(RateLimitProperties.Rule... rules) {
+        return new AuthRateLimitFilter(table(rules), objectMapper, clock);
+    }
+
+    private RateLimitRuleTable table(RateLimitProperties.Rule... rules) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(rules));
+        return new RateLimitRuleTable(properties, new RateLimiterFactory(properties, clock, new SimpleMeterRegistry()));
+    }
+
+    private static RateLimitProperties.Rule rule(String name, String method, String path, int limit, RateLimitProperties.KeyPart... key) {
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setName(name);
+        rule.setMethod(method);
+        rule.setPath(path);
+        rule.setLimit(limit);
+        rule.setWindowMinutes(1);
+        rule.setKey(List.of(key));
+        return rule;
+    }
+}
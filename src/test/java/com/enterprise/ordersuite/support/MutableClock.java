@@ -1,24 +1,35 @@
-package com.enterprise.ordersuite.security.ratelimit;
+package com.enterprise.ordersuite.support;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.Objects;
 
-final class MutableClock extends Clock {
+// Test clock that only moves when told to, shared by tests that need time to pass within one test
+public final class MutableClock extends Clock {
 
     private Instant instant;
     private final ZoneId zone;
 
-    MutableClock(Instant initialInstant, ZoneId zone) {
+    public MutableClock(Instant initialInstant) {
+        this(initialInstant, ZoneOffset.UTC);
+    }
+
+    public MutableClock(Instant initialInstant, ZoneId zone) {
         this.instant = Objects.requireNonNull(initialInstant);
         this.zone = Objects.requireNonNull(zone);
     }
 
-    void plusSeconds() {
+    public void plusSeconds() {
         instant = instant.plusSeconds(121);
     }
 
+    public void advance(Duration duration) {
+        instant = instant.plus(duration);
+    }
+
     @Override
     public ZoneId getZone() {
         return zone;